@@ -0,0 +1,12 @@
+package com.kjr.rfp.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveResumeApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveResumeApplication.class, args);
+    }
+}
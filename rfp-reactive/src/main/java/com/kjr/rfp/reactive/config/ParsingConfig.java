@@ -0,0 +1,46 @@
+package com.kjr.rfp.reactive.config;
+
+import com.kjr.rfp.config.ParserProperties;
+import com.kjr.rfp.service.parser.ParseGuard;
+import com.kjr.rfp.service.parser.ResumeFieldExtractor;
+import com.kjr.rfp.service.parser.ResumeParser;
+import com.kjr.rfp.service.parser.SkillTaxonomy;
+import com.kjr.rfp.service.parser.extractor.TextExtractors;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+
+/** The servlet application's parse path, which has no MongoDB or GridFS collaborators. */
+@Configuration
+@EnableConfigurationProperties(ParserProperties.class)
+public class ParsingConfig {
+
+    @Bean
+    public SkillTaxonomy skillTaxonomy(ParserProperties properties) throws IOException {
+        return new SkillTaxonomy(properties);
+    }
+
+    @Bean
+    public ParseGuard parseGuard(ParserProperties properties) {
+        return new ParseGuard(properties);
+    }
+
+    @Bean
+    public ResumeParser resumeParser(ParserProperties properties, SkillTaxonomy skillTaxonomy, ParseGuard parseGuard,
+                                     MeterRegistry meterRegistry) {
+        return new ResumeParser(new ResumeFieldExtractor(meterRegistry, skillTaxonomy),
+                TextExtractors.standard(properties, meterRegistry), parseGuard, properties, meterRegistry);
+    }
+
+    /** Parsing blocks on PDFBox and POI, so it never runs on the event loop. */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler parseScheduler(ReactiveProperties properties) {
+        return Schedulers.newBoundedElastic(properties.getParseThreads(), properties.getParseQueueCapacity(),
+                "resume-parse");
+    }
+}
@@ -0,0 +1,17 @@
+package com.kjr.rfp.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rfp.reactive")
+public class ReactiveProperties {
+    /** Threads of the bounded scheduler that runs the blocking text extraction and field parsing. */
+    private int parseThreads = Runtime.getRuntime().availableProcessors();
+    /** Parse tasks allowed to wait for a thread; further uploads fail fast instead of queueing. */
+    private int parseQueueCapacity = 256;
+    /** Buffers requested at a time from GridFS while the parser reads a stored file. */
+    private int parseReadAhead = 4;
+}
@@ -0,0 +1,88 @@
+package com.kjr.rfp.reactive.controller;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.model.ResumeSummary;
+import com.kjr.rfp.reactive.service.ReactiveResumeService;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The upload, preview and download endpoints of the servlet application, answered with JSON
+ * instead of views.
+ */
+@RestController
+@RequestMapping("/resumes")
+public class ReactiveResumeController {
+    private static final String FILE_PART = "file";
+
+    private final ReactiveResumeService resumeService;
+
+    public ReactiveResumeController(ReactiveResumeService resumeService) {
+        this.resumeService = resumeService;
+    }
+
+    /**
+     * Reads the multipart body as part events rather than {@code FilePart}s, so the file is passed
+     * to GridFS as it arrives instead of being spooled to a temporary file first.
+     */
+    @PostMapping(path = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<Resume>> upload(@RequestBody Flux<PartEvent> parts) {
+        return parts.windowUntil(PartEvent::isLast)
+                .concatMap(part -> part.switchOnFirst((first, events) -> {
+                    if (first.get() instanceof FilePartEvent file && FILE_PART.equals(file.name())) {
+                        return resumeService.upload(file.filename(), file.headers().getContentType(),
+                                events.map(PartEvent::content));
+                    }
+                    return events.doOnNext(event -> DataBufferUtils.release(event.content())).then(Mono.<Resume>empty());
+                }))
+                .next()
+                .map(resume -> ResponseEntity.status(HttpStatus.CREATED).body(resume))
+                .defaultIfEmpty(ResponseEntity.badRequest().build());
+    }
+
+    @GetMapping("/preview/{id}")
+    public Mono<ResponseEntity<Resume>> preview(@PathVariable String id) {
+        return resumeService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/download/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> download(@PathVariable String id) {
+        return resumeService.download(id)
+                .map(download -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                    .filename(download.fileName(), StandardCharsets.UTF_8).build().toString())
+                            .contentType(MediaType.parseMediaType(download.contentType()))
+                            .contentLength(download.length());
+                    if (download.sha256() != null) {
+                        response.eTag(download.sha256());
+                    }
+                    return response.body(download.content());
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/api/summaries")
+    public Flux<ResumeSummary> summaries() {
+        return resumeService.streamSummaries();
+    }
+}
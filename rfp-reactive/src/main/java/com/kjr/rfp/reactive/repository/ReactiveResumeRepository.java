@@ -0,0 +1,11 @@
+package com.kjr.rfp.reactive.repository;
+
+import com.kjr.rfp.model.Resume;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveResumeRepository extends ReactiveMongoRepository<Resume, String> {
+    Mono<Resume> findFirstByContentHash(String contentHash);
+}
@@ -0,0 +1,186 @@
+package com.kjr.rfp.reactive.service;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.model.ResumeSummary;
+import com.kjr.rfp.reactive.config.ReactiveProperties;
+import com.kjr.rfp.reactive.repository.ReactiveResumeRepository;
+import com.kjr.rfp.service.StorageCodec;
+import com.kjr.rfp.service.ingest.QuarantinedDocument;
+import com.kjr.rfp.service.parser.ResumeParser;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsResource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Upload and download without a thread per request. An upload is streamed into GridFS as the
+ * client sends it, with back-pressure, and hashed on the way; only the parse step, which blocks
+ * on PDFBox and POI, is handed to the bounded parse scheduler, reading the stored file back from
+ * GridFS a few chunks at a time. Files and resumes are stored exactly as the servlet application
+ * stores them, so either application can serve them; the servlet application's indexes pick up
+ * the new resumes by polling the collection. Uploads are stored uncompressed; files the servlet
+ * application compressed are decompressed for download on the bounded elastic scheduler.
+ * <p>
+ * Parsing has the same time budget as in the servlet application. A document that runs over it
+ * is saved with its contact fields only and listed in the {@code parse_quarantine} collection.
+ */
+@Slf4j
+@Service
+public class ReactiveResumeService {
+    // GridFS keeps the content type under this metadata key, and the servlet app the SHA-256 under the other
+    private static final String CONTENT_TYPE_FIELD = "_contentType";
+    private static final String SHA256_FIELD = "sha256";
+    // Files collection of the default bucket; the hash is only known once the upload has been stored
+    private static final String FILES_COLLECTION = "fs.files";
+    private static final int DECODE_BUFFER_SIZE = 8192;
+
+    /** The stored original of a resume, streamed from GridFS as the client reads it. */
+    public record Download(String fileName, String contentType, long length, String sha256, Flux<DataBuffer> content) {
+    }
+
+    private final ReactiveGridFsOperations gridFs;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReactiveResumeRepository repository;
+    private final ResumeParser parser;
+    private final Scheduler parseScheduler;
+    private final ReactiveProperties properties;
+
+    public ReactiveResumeService(ReactiveGridFsOperations gridFs, ReactiveMongoTemplate mongoTemplate,
+                                 ReactiveResumeRepository repository, ResumeParser parser,
+                                 Scheduler parseScheduler, ReactiveProperties properties) {
+        this.gridFs = gridFs;
+        this.mongoTemplate = mongoTemplate;
+        this.repository = repository;
+        this.parser = parser;
+        this.parseScheduler = parseScheduler;
+        this.properties = properties;
+    }
+
+    /**
+     * Stores and parses an uploaded file. A file whose content was uploaded before is not parsed
+     * again: the new copy is deleted and the stored resume returned.
+     */
+    public Mono<Resume> upload(String fileName, MediaType contentType, Flux<DataBuffer> content) {
+        MessageDigest digest = sha256();
+        Flux<DataBuffer> hashed = content.doOnNext(buffer -> {
+            try (DataBuffer.ByteBufferIterator it = buffer.readableByteBuffers()) {
+                it.forEachRemaining(digest::update);
+            }
+        });
+        return gridFs.store(hashed, fileName, contentType != null ? contentType.toString() : null)
+                .flatMap(fileId -> {
+                    String hash = HexFormat.of().formatHex(digest.digest());
+                    return repository.findFirstByContentHash(hash)
+                            .flatMap(existing -> gridFs.delete(byId(fileId)).thenReturn(existing))
+                            .switchIfEmpty(Mono.defer(() -> store(fileName, fileId, hash)));
+                });
+    }
+
+    private Mono<Resume> store(String fileName, ObjectId fileId, String hash) {
+        return mongoTemplate.updateFirst(byId(fileId), Update.update("metadata." + SHA256_FIELD, hash), FILES_COLLECTION)
+                .then(gridFs.findOne(byId(fileId)))
+                .flatMap(file -> parse(fileName, file).flatMap(parsed -> {
+                    Resume resume = parsed.resume();
+                    resume.setFileId(fileId.toHexString());
+                    resume.setContentHash(hash);
+                    if (!parsed.timedOut()) {
+                        return repository.save(resume);
+                    }
+                    // The quarantine entry is keyed by the resume id, so assign it before the save
+                    resume.setId(new ObjectId().toHexString());
+                    return repository.save(resume)
+                            .flatMap(saved -> quarantine(QuarantinedDocument.of(saved, file.getLength(), parsed.timeout()))
+                                    .thenReturn(saved));
+                }))
+                .onErrorResume(e -> gridFs.delete(byId(fileId)).then(Mono.error(e)));
+    }
+
+    // A contact-only parse needs the file again, so each parse attempt opens its own download
+    private Mono<ResumeParser.Result> parse(String fileName, GridFSFile file) {
+        return Mono.fromCallable(() -> parser.parse(fileName, file.getLength(),
+                        () -> DataBufferUtils.subscriberInputStream(
+                                gridFs.getResource(file).flatMapMany(ReactiveGridFsResource::getDownloadStream),
+                                properties.getParseReadAhead())))
+                .subscribeOn(parseScheduler);
+    }
+
+    // The upload itself still succeeds with its partial resume
+    private Mono<Void> quarantine(QuarantinedDocument document) {
+        log.warn("Quarantined {} ({} bytes): {}", document.getFileName(), document.getSize(), document.getReason());
+        return mongoTemplate.save(document)
+                .onErrorResume(e -> {
+                    log.warn("Could not record quarantined document {}", document.getFileName(), e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    public Mono<Resume> findById(String id) {
+        return repository.findById(id);
+    }
+
+    public Mono<Download> download(String resumeId) {
+        Query query = new Query(Criteria.where("_id").is(resumeId));
+        query.fields().include("fileId", "fileName");
+        return mongoTemplate.findOne(query, Resume.class)
+                .filter(resume -> resume.getFileId() != null)
+                .flatMap(resume -> gridFs.findOne(byId(resume.getFileId()))
+                        .flatMap(file -> gridFs.getResource(file).map(resource -> {
+                            Document metadata = file.getMetadata() != null ? file.getMetadata() : new Document();
+                            StorageCodec codec = StorageCodec.of(metadata);
+                            boolean compressed = codec != StorageCodec.NONE;
+                            return new Download(resume.getFileName(),
+                                    metadata.get(CONTENT_TYPE_FIELD, MediaType.APPLICATION_OCTET_STREAM_VALUE),
+                                    compressed ? metadata.get(StorageCodec.ORIGINAL_LENGTH_FIELD, Number.class).longValue()
+                                            : file.getLength(),
+                                    metadata.getString(SHA256_FIELD),
+                                    compressed ? decode(codec, resource.getDownloadStream()) : resource.getDownloadStream());
+                        })));
+    }
+
+    // The JDK inflaters only read from a blocking stream, so the chunks are bridged to one off the event loop
+    private Flux<DataBuffer> decode(StorageCodec codec, Flux<DataBuffer> stored) {
+        return DataBufferUtils.readInputStream(
+                        () -> codec.decode(DataBufferUtils.subscriberInputStream(stored, properties.getParseReadAhead())),
+                        DefaultDataBufferFactory.sharedInstance, DECODE_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Flux<ResumeSummary> streamSummaries() {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id"));
+        query.fields().include(ResumeSummary.FIELDS);
+        return mongoTemplate.find(query, ResumeSummary.class, mongoTemplate.getCollectionName(Resume.class));
+    }
+
+    private static Query byId(Object id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
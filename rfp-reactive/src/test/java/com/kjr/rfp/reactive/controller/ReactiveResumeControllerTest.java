@@ -0,0 +1,63 @@
+package com.kjr.rfp.reactive.controller;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.reactive.service.ReactiveResumeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveResumeControllerTest {
+
+    @Test
+    void uploadPassesOnlyTheFilePartToTheService() {
+        byte[] content = "%PDF-1.4 resume body".getBytes(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        ReactiveResumeService service = mock(ReactiveResumeService.class);
+        when(service.upload(eq("cv.pdf"), eq(MediaType.APPLICATION_PDF), any())).thenAnswer(call ->
+                call.<Flux<DataBuffer>>getArgument(2)
+                        .doOnNext(buffer -> {
+                            byte[] bytes = new byte[buffer.readableByteCount()];
+                            buffer.read(bytes);
+                            received.writeBytes(bytes);
+                            DataBufferUtils.release(buffer);
+                        })
+                        .then(Mono.fromSupplier(() -> {
+                            Resume resume = new Resume();
+                            resume.setName("Jane Doe");
+                            return resume;
+                        })));
+
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("note", "not a file");
+        body.part("file", new ByteArrayResource(content) {
+            @Override
+            public String getFilename() {
+                return "cv.pdf";
+            }
+        }).contentType(MediaType.APPLICATION_PDF);
+
+        WebTestClient.bindToController(new ReactiveResumeController(service)).build()
+                .post().uri("/resumes/upload")
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.name").isEqualTo("Jane Doe");
+        assertThat(received.toByteArray()).isEqualTo(content);
+    }
+}
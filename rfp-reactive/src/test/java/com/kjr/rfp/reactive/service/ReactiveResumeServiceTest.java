@@ -0,0 +1,191 @@
+package com.kjr.rfp.reactive.service;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.reactive.config.ReactiveProperties;
+import com.kjr.rfp.reactive.repository.ReactiveResumeRepository;
+import com.kjr.rfp.service.StorageCodec;
+import com.kjr.rfp.service.ingest.QuarantinedDocument;
+import com.kjr.rfp.service.parser.ParseTimeoutException;
+import com.kjr.rfp.service.parser.ResumeParser;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsResource;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveResumeServiceTest {
+    private static final byte[] CONTENT = "%PDF-1.4 Jane Doe resume".getBytes(StandardCharsets.US_ASCII);
+    private static final ObjectId FILE_ID = new ObjectId();
+
+    private final ReactiveGridFsOperations gridFs = mock(ReactiveGridFsOperations.class);
+    private final ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+    private final ReactiveResumeRepository repository = mock(ReactiveResumeRepository.class);
+    private final ResumeParser parser = mock(ResumeParser.class);
+    private final Scheduler parseScheduler = Schedulers.newBoundedElastic(1, 4, "test-parse");
+    private ReactiveResumeService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(gridFs.store(any(Publisher.class), eq("cv.pdf"), eq("application/pdf"))).thenAnswer(call ->
+                Flux.from(call.<Publisher<DataBuffer>>getArgument(0)).doOnNext(DataBufferUtils::release)
+                        .then(Mono.just(FILE_ID)));
+        when(gridFs.delete(any(Query.class))).thenReturn(Mono.empty());
+        GridFSFile file = new GridFSFile(new BsonObjectId(FILE_ID), "cv.pdf", CONTENT.length, 255 * 1024,
+                new Date(), new Document());
+        ReactiveGridFsResource resource = mock(ReactiveGridFsResource.class);
+        when(resource.getDownloadStream()).thenAnswer(call -> chunks());
+        when(gridFs.findOne(any(Query.class))).thenReturn(Mono.just(file));
+        when(gridFs.getResource(file)).thenReturn(Mono.just(resource));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq("fs.files")))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(repository.save(any(Resume.class))).thenAnswer(call -> Mono.just(call.getArgument(0)));
+        service = new ReactiveResumeService(gridFs, mongoTemplate, repository, parser, parseScheduler,
+                new ReactiveProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        parseScheduler.dispose();
+    }
+
+    @Test
+    void storesThenParsesOffTheEventLoop() throws Exception {
+        AtomicReference<String> parseThread = new AtomicReference<>();
+        when(repository.findFirstByContentHash(any())).thenReturn(Mono.empty());
+        when(parser.parse(eq("cv.pdf"), eq((long) CONTENT.length), any())).thenAnswer(call -> {
+            parseThread.set(Thread.currentThread().getName());
+            try (InputStream in = call.<ResumeParser.Content>getArgument(2).open()) {
+                assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+            }
+            Resume parsed = new Resume();
+            parsed.setName("Jane Doe");
+            return new ResumeParser.Result(parsed, "Jane Doe", null);
+        });
+
+        String hash = sha256();
+        StepVerifier.create(service.upload("cv.pdf", MediaType.APPLICATION_PDF, chunks()))
+                .assertNext(resume -> {
+                    assertThat(resume.getName()).isEqualTo("Jane Doe");
+                    assertThat(resume.getFileId()).isEqualTo(FILE_ID.toHexString());
+                    assertThat(resume.getContentHash()).isEqualTo(hash);
+                })
+                .verifyComplete();
+        assertThat(parseThread.get()).startsWith("test-parse");
+    }
+
+    @Test
+    void duplicateContentReturnsTheStoredResumeAndDropsTheCopy() throws Exception {
+        Resume existing = new Resume();
+        existing.setId("r1");
+        when(repository.findFirstByContentHash(sha256())).thenReturn(Mono.just(existing));
+
+        StepVerifier.create(service.upload("cv.pdf", MediaType.APPLICATION_PDF, chunks()))
+                .expectNext(existing)
+                .verifyComplete();
+        verify(gridFs).delete(any(Query.class));
+        verify(parser, never()).parse(any(), anyLong(), any());
+    }
+
+    @Test
+    void documentOverItsBudgetIsSavedWithContactFieldsAndQuarantined() throws Exception {
+        when(repository.findFirstByContentHash(any())).thenReturn(Mono.empty());
+        Resume contact = new Resume();
+        contact.setEmail("jane@example.com");
+        ParseTimeoutException timeout = new ParseTimeoutException(Duration.ofSeconds(10), null);
+        when(parser.parse(eq("cv.pdf"), anyLong(), any())).thenReturn(new ResumeParser.Result(contact, null, timeout));
+        when(mongoTemplate.save(any(QuarantinedDocument.class))).thenAnswer(call -> Mono.just(call.getArgument(0)));
+
+        Resume saved = service.upload("cv.pdf", MediaType.APPLICATION_PDF, chunks()).block();
+
+        assertThat(saved.getId()).isNotNull();
+        assertThat(saved.getEmail()).isEqualTo("jane@example.com");
+        ArgumentCaptor<QuarantinedDocument> quarantined = ArgumentCaptor.forClass(QuarantinedDocument.class);
+        verify(mongoTemplate).save(quarantined.capture());
+        assertThat(quarantined.getValue().getId()).isEqualTo(saved.getId());
+        assertThat(quarantined.getValue().getFileId()).isEqualTo(FILE_ID.toHexString());
+        assertThat(quarantined.getValue().getBudgetMillis()).isEqualTo(10_000);
+        verify(gridFs, never()).delete(any(Query.class));
+    }
+
+    @Test
+    void compressedFileIsDownloadedDecompressed() throws Exception {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (OutputStream out = StorageCodec.GZIP.encode(gzipped)) {
+            out.write(CONTENT);
+        }
+        GridFSFile file = new GridFSFile(new BsonObjectId(FILE_ID), "cv.pdf", gzipped.size(), 255 * 1024, new Date(),
+                new Document("_contentType", "application/pdf")
+                        .append(StorageCodec.METADATA_FIELD, "gzip")
+                        .append(StorageCodec.ORIGINAL_LENGTH_FIELD, (long) CONTENT.length));
+        ReactiveGridFsResource resource = mock(ReactiveGridFsResource.class);
+        when(resource.getDownloadStream()).thenAnswer(call ->
+                Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(gzipped.toByteArray())));
+        when(gridFs.findOne(any(Query.class))).thenReturn(Mono.just(file));
+        when(gridFs.getResource(file)).thenReturn(Mono.just(resource));
+        Resume stored = new Resume();
+        stored.setFileId(FILE_ID.toHexString());
+        stored.setFileName("cv.pdf");
+        when(mongoTemplate.findOne(any(Query.class), eq(Resume.class))).thenReturn(Mono.just(stored));
+
+        ReactiveResumeService.Download download = service.download("r1").block();
+
+        assertThat(download.length()).isEqualTo(CONTENT.length);
+        assertThat(download.contentType()).isEqualTo("application/pdf");
+        StepVerifier.create(DataBufferUtils.join(download.content()).map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    return bytes;
+                }))
+                .assertNext(bytes -> assertThat(bytes).isEqualTo(CONTENT))
+                .verifyComplete();
+    }
+
+    private static Flux<DataBuffer> chunks() {
+        int half = CONTENT.length / 2;
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(CONTENT, 0, half)),
+                DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(CONTENT, half, CONTENT.length)));
+    }
+
+    private static String sha256() throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT));
+    }
+}
@@ -0,0 +1,103 @@
+package com.kjr.rfp.benchmark;
+
+import com.kjr.rfp.model.Education;
+import com.kjr.rfp.model.Experience;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.ResumeFieldExtractor;
+import com.kjr.rfp.service.parser.ResumeSections;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each field extractor on already extracted text, plus the section split itself and the old
+ * regex implementation for comparison. {@code matchSkillDictionary} and
+ * {@code legacySkillKeywordScan} compare the skill lookup for resumes without a skills section.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldExtractionBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "LARGE"})
+    public ResumeCorpus.Size size;
+
+    private final ResumeFieldExtractor extractor = new ResumeFieldExtractor();
+    private String text;
+    private ResumeSections sections;
+    // The same resume without its skills heading, so skills are found by dictionary matching
+    private String unsectionedText;
+    private ResumeSections unsectioned;
+
+    @Setup
+    public void setUp() {
+        text = ResumeCorpus.text(size);
+        sections = ResumeSections.of(text);
+        unsectionedText = text.replace("Technical Skills\n", "");
+        unsectioned = ResumeSections.of(unsectionedText);
+    }
+
+    @Benchmark
+    public ResumeSections splitSections() {
+        return ResumeSections.of(text);
+    }
+
+    @Benchmark
+    public String extractName() {
+        return extractor.extractName(sections);
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return extractor.extractEmail(sections);
+    }
+
+    @Benchmark
+    public String extractPhone() {
+        return extractor.extractPhone(sections);
+    }
+
+    @Benchmark
+    public String extractSummary() {
+        return extractor.extractSummary(sections);
+    }
+
+    @Benchmark
+    public List<String> extractSkills() {
+        return extractor.extractSkills(sections);
+    }
+
+    @Benchmark
+    public List<String> matchSkillDictionary() {
+        return extractor.extractSkills(unsectioned);
+    }
+
+    @Benchmark
+    public List<String> legacySkillKeywordScan() {
+        return LegacyRegexExtractors.extractSkills(unsectionedText);
+    }
+
+    @Benchmark
+    public List<Experience> extractExperiences() {
+        return extractor.extractExperiences(sections);
+    }
+
+    @Benchmark
+    public List<Education> extractEducations() {
+        return extractor.extractEducations(sections);
+    }
+
+    @Benchmark
+    public Resume extractAll() {
+        return extractor.extract(ResumeSections.of(text));
+    }
+
+    @Benchmark
+    public Resume legacyExtractAll() {
+        return LegacyRegexExtractors.parse(text);
+    }
+}
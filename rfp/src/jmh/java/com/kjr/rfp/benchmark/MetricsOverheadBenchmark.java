@@ -0,0 +1,75 @@
+package com.kjr.rfp.benchmark;
+
+import com.kjr.rfp.config.ParserProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.ResumeFieldExtractor;
+import com.kjr.rfp.service.parser.ResumeParser;
+import com.kjr.rfp.service.parser.ResumeSections;
+import com.kjr.rfp.service.parser.SkillTaxonomy;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the parse-path timers: the same work with meters that record nowhere and with a
+ * Prometheus registry that keeps percentile histograms, as configured in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    public enum Registry {NONE, PROMETHEUS}
+
+    @Param({"NONE", "PROMETHEUS"})
+    public Registry registry;
+
+    @Param({"SMALL", "TYPICAL"})
+    public ResumeCorpus.Size size;
+
+    private ResumeFieldExtractor extractor;
+    private ResumeParser parser;
+    private ResumeSections sections;
+    private byte[] document;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry meterRegistry = registry == Registry.NONE ? new CompositeMeterRegistry() : prometheus();
+        extractor = new ResumeFieldExtractor(meterRegistry, SkillTaxonomy.standard());
+        parser = StandaloneParser.create(new ParserProperties(), extractor, meterRegistry);
+        sections = ResumeSections.of(ResumeCorpus.text(size));
+        document = ResumeCorpus.document(ResumeCorpus.Format.PDF, size);
+    }
+
+    private static MeterRegistry prometheus() {
+        PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        prometheus.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        return prometheus;
+    }
+
+    @Benchmark
+    public Resume extractFields() {
+        return extractor.extract(sections);
+    }
+
+    @Benchmark
+    public Resume parseResume() throws Exception {
+        return parser.parseResume("resume.pdf", new ByteArrayInputStream(document));
+    }
+}
@@ -0,0 +1,144 @@
+package com.kjr.rfp.benchmark;
+
+import com.kjr.rfp.config.ParserProperties;
+import com.kjr.rfp.service.parser.ResumeFieldExtractor;
+import com.kjr.rfp.service.parser.ResumeParser;
+import com.kjr.rfp.service.parser.ResumeSections;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Peak live heap of PDF text extraction, measured as the smallest {@code -Xmx} in which a child
+ * JVM can extract the same document three times in a row. Every mode pays the same JVM baseline,
+ * so the differences between modes are the extraction itself. With a second argument each page
+ * also gets an incompressible image of that many KB, like a scanned portfolio.
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.main=com.kjr.rfp.benchmark.PdfPeakHeapProbe \
+ *     -Djmh.args="PORTFOLIO 256"
+ * </pre>
+ */
+public final class PdfPeakHeapProbe {
+
+    enum Mode {
+        /** {@code PDDocument.load(is)} and one {@code getText} string, as extraction used to work. */
+        WHOLE_DOCUMENT,
+        /** Page-by-page extraction into the section scanner with the caps lifted. */
+        STREAMED,
+        /** Page-by-page extraction with the default {@code rfp.parser.*} caps. */
+        STREAMED_CAPPED
+    }
+
+    private PdfPeakHeapProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--run")) {
+            run(Mode.valueOf(args[1]), Path.of(args[2]));
+            return;
+        }
+        ResumeCorpus.Size size = args.length > 0 ? ResumeCorpus.Size.valueOf(args[0]) : ResumeCorpus.Size.PORTFOLIO;
+        int imageKb = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        Path pdf = Files.createTempFile("rfp-probe-", ".pdf");
+        try {
+            byte[] document = ResumeCorpus.document(ResumeCorpus.Format.PDF, size);
+            Files.write(pdf, imageKb > 0 ? withScans(document, imageKb) : document);
+            System.out.printf("%s PDF, %d KB%n", size, Files.size(pdf) / 1024);
+            for (Mode mode : Mode.values()) {
+                System.out.printf("%-16s min -Xmx %d MB%n", mode, minimumHeapMb(mode, pdf));
+            }
+        } finally {
+            Files.deleteIfExists(pdf);
+        }
+    }
+
+    private static byte[] withScans(byte[] pdf, int imageKb) throws IOException {
+        int side = (int) Math.sqrt(imageKb * 1024 / 3.0);
+        Random random = new Random(42);
+        try (PDDocument document = PDDocument.load(pdf); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (PDPage page : document.getPages()) {
+                BufferedImage noise = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+                for (int y = 0; y < side; y++) {
+                    for (int x = 0; x < side; x++) {
+                        noise.setRGB(x, y, random.nextInt());
+                    }
+                }
+                PDImageXObject image = LosslessFactory.createFromImage(document, noise);
+                try (PDPageContentStream stream = new PDPageContentStream(document, page,
+                        PDPageContentStream.AppendMode.APPEND, true)) {
+                    stream.drawImage(image, 400, 50, 150, 150);
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static int minimumHeapMb(Mode mode, Path pdf) throws Exception {
+        int low = 4;
+        int high = 1024;
+        if (!fits(mode, pdf, high)) {
+            return -1;
+        }
+        while (low < high) {
+            int mid = (low + high) / 2;
+            if (fits(mode, pdf, mid)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static boolean fits(Mode mode, Path pdf, int heapMb) throws Exception {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx" + heapMb + "m", "-XX:+UseSerialGC",
+                "-cp", System.getProperty("java.class.path"),
+                PdfPeakHeapProbe.class.getName(), "--run", mode.name(), pdf.toString()));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        return process.waitFor() == 0;
+    }
+
+    private static void run(Mode mode, Path pdf) throws IOException {
+        ParserProperties properties = new ParserProperties();
+        if (mode == Mode.STREAMED) {
+            properties.setMaxPages(Integer.MAX_VALUE);
+            properties.setMaxCharacters(Integer.MAX_VALUE);
+        }
+        ResumeParser parser = StandaloneParser.create(properties, new ResumeFieldExtractor(),
+                new CompositeMeterRegistry());
+        for (int i = 0; i < 3; i++) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(pdf))) {
+                ResumeSections sections;
+                if (mode == Mode.WHOLE_DOCUMENT) {
+                    try (PDDocument document = PDDocument.load(in)) {
+                        sections = ResumeSections.of(new PDFTextStripper().getText(document));
+                    }
+                } else {
+                    sections = parser.extractSections("probe.pdf", in);
+                }
+                if (sections.text().isEmpty()) {
+                    throw new IllegalStateException("No text extracted");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.kjr.rfp.benchmark;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic resumes for the benchmarks, rendered as plain text, PDF and DOCX.
+ */
+public final class ResumeCorpus {
+
+    public enum Size {
+        /** One page: contact block, short summary, two jobs. */
+        SMALL(2, 1),
+        /** Two to three pages, the shape of most uploads. */
+        TYPICAL(6, 3),
+        /** About thirty pages, like the long portfolios that cause trouble in production. */
+        LARGE(150, 6),
+        /** About two hundred pages, for the bounded-memory PDF mode. */
+        PORTFOLIO(1000, 6);
+
+        final int jobs;
+        final int bulletsPerJob;
+
+        Size(int jobs, int bulletsPerJob) {
+            this.jobs = jobs;
+            this.bulletsPerJob = bulletsPerJob;
+        }
+    }
+
+    public enum Format {PDF, DOCX}
+
+    private static final String[] FIRST_NAMES = {"Jane", "Arjun", "Maria", "Wei", "Olu", "Sven"};
+    private static final String[] LAST_NAMES = {"Doe", "Sharma", "Garcia", "Chen", "Adeyemi", "Larsen"};
+    private static final String[] SKILLS = {"Java", "Spring Boot", "Kubernetes", "Docker", "MongoDB", "Kafka",
+            "Python", "React", "AWS", "Terraform", "PostgreSQL", "Microservices"};
+    private static final String[] WORDS = {"designed", "built", "scaled", "migrated", "payment", "platform",
+            "latency", "services", "team", "customers", "pipeline", "reliability", "reduced", "cost", "data"};
+
+    private ResumeCorpus() {
+    }
+
+    public static List<String> lines(Size size) {
+        return lines(size, size.ordinal());
+    }
+
+    /** A resume of the given size whose content differs for every seed. */
+    public static List<String> lines(Size size, long seed) {
+        Random random = new Random(seed);
+        List<String> lines = new ArrayList<>();
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        lines.add(first + " " + last);
+        lines.add(first.toLowerCase() + "." + last.toLowerCase() + "@example.com | +91 98765" + (10000 + random.nextInt(89999)));
+        lines.add("");
+        lines.add("Professional Summary");
+        lines.add(sentence(random, 24));
+        lines.add("");
+        lines.add("Technical Skills");
+        lines.add(String.join(", ", SKILLS));
+        lines.add("");
+        lines.add("Work Experience");
+        for (int job = 0; job < size.jobs; job++) {
+            lines.add("Company " + job + " Pvt Ltd");
+            lines.add("Senior Software Engineer");
+            lines.add((2000 + job % 20) + " - " + (2001 + job % 20));
+            for (int bullet = 0; bullet < size.bulletsPerJob; bullet++) {
+                lines.add(sentence(random, 14));
+            }
+            lines.add("");
+        }
+        lines.add("Education");
+        lines.add("Bachelor of Technology in Computer Science 2010");
+        lines.add("State University");
+        lines.add("Computer Science");
+        lines.add("First class with distinction");
+        return lines;
+    }
+
+    public static String text(Size size) {
+        return String.join("\n", lines(size)) + "\n";
+    }
+
+    public static byte[] document(Format format, Size size) {
+        return document(format, size, size.ordinal());
+    }
+
+    public static byte[] document(Format format, Size size, long seed) {
+        try {
+            return format == Format.PDF ? pdf(lines(size, seed)) : docx(lines(size, seed));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String fileName(Format format) {
+        return format == Format.PDF ? "resume.pdf" : "resume.docx";
+    }
+
+    private static byte[] pdf(List<String> lines) throws IOException {
+        float fontSize = 11;
+        float leading = 14;
+        float margin = 50;
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPageContentStream stream = null;
+            float y = 0;
+            for (String line : lines) {
+                if (stream == null || y < margin) {
+                    if (stream != null) {
+                        stream.endText();
+                        stream.close();
+                    }
+                    PDPage page = new PDPage(PDRectangle.A4);
+                    document.addPage(page);
+                    stream = new PDPageContentStream(document, page);
+                    stream.beginText();
+                    stream.setFont(PDType1Font.HELVETICA, fontSize);
+                    stream.setLeading(leading);
+                    y = page.getMediaBox().getHeight() - margin;
+                    stream.newLineAtOffset(margin, y);
+                }
+                stream.showText(line);
+                stream.newLine();
+                y -= leading;
+            }
+            if (stream != null) {
+                stream.endText();
+                stream.close();
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] docx(List<String> lines) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (String line : lines) {
+                document.createParagraph().createRun().setText(line);
+            }
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            sentence.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word).append(' ');
+        }
+        return sentence.toString().trim() + ".";
+    }
+}
@@ -0,0 +1,125 @@
+package com.kjr.rfp.benchmark;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.SkillTaxonomy;
+import com.kjr.rfp.service.search.ResumeOrdinals;
+import com.kjr.rfp.service.search.SimilarityIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "More like this" lookups through the MinHash/LSH index, against an exact Jaccard scan over every
+ * resume's feature set. Resumes draw skills from {@link SkillFacetBenchmark}'s skewed skill list
+ * and summary words from a skewed vocabulary, so popular skills and words land in large buckets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class SimilarityBenchmark {
+    private static final String[] SKILLS = {"Java", "Python", "SQL", "Git", "Docker", "AWS", "Spring Boot",
+            "Kubernetes", "JavaScript", "React", "Linux", "REST API", "Microservices", "MongoDB", "PostgreSQL",
+            "Kafka", "TypeScript", "Angular", "Node.js", "Jenkins", "Terraform", "Azure", "Google Cloud", "Redis",
+            "PHP", "Golang", "Scala", "Kotlin", "C#", ".NET", "C++", "Ruby", "Django", "Flask", "Hibernate",
+            "Elasticsearch", "RabbitMQ", "GraphQL", "Ansible", "Helm Charts", "Prometheus", "Grafana", "Jira",
+            "Agile", "Scrum", "TDD", "JUnit", "Selenium", "Pandas", "NumPy", "TensorFlow", "PyTorch",
+            "Machine Learning", "Apache Spark", "Hadoop", "Snowflake", "Tableau", "Power BI", "Rust", "Vue.js"};
+    private static final int SKILLS_PER_RESUME = 10;
+    private static final int WORDS_PER_RESUME = 30;
+    private static final int VOCABULARY = 5000;
+    private static final int QUERIES = 1024;
+
+    @Param({"100000", "1000000"})
+    public int resumes;
+
+    private SimilarityIndex index;
+    // Sorted feature codes per resume, for the exact scan
+    private int[][] features;
+    private String[] queryIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new SimilarityIndex(new ResumeOrdinals(), SkillTaxonomy.standard());
+        features = new int[resumes][];
+        for (int i = 0; i < resumes; i++) {
+            Set<String> skills = new LinkedHashSet<>();
+            while (skills.size() < SKILLS_PER_RESUME) {
+                double r = random.nextDouble();
+                skills.add(SKILLS[(int) (SKILLS.length * r * r)]);
+            }
+            StringBuilder summary = new StringBuilder();
+            Set<Integer> codes = new LinkedHashSet<>();
+            for (String skill : skills) {
+                codes.add(-1 - Arrays.asList(SKILLS).indexOf(skill));
+            }
+            for (int w = 0; w < WORDS_PER_RESUME; w++) {
+                double r = random.nextDouble();
+                int word = (int) (VOCABULARY * r * r);
+                summary.append("term").append(word).append(' ');
+                codes.add(word);
+            }
+            Resume resume = new Resume();
+            resume.setId("resume-" + i);
+            resume.setSkills(List.copyOf(skills));
+            resume.setSummary(summary.toString());
+            index.index(resume);
+            features[i] = codes.stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+        index.onRebuildComplete();
+        queryIds = new String[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            queryIds[q] = "resume-" + random.nextInt(resumes);
+        }
+    }
+
+    @Benchmark
+    public List<SimilarityIndex.Match> lshLookup() {
+        return index.similar(queryIds[next++ & (QUERIES - 1)], 10);
+    }
+
+    @Benchmark
+    public PriorityQueue<double[]> exactJaccardScan() {
+        int query = Integer.parseInt(queryIds[next++ & (QUERIES - 1)].substring("resume-".length()));
+        int[] target = features[query];
+        PriorityQueue<double[]> top = new PriorityQueue<>(Comparator.comparingDouble(m -> m[1]));
+        for (int i = 0; i < features.length; i++) {
+            if (i != query) {
+                top.add(new double[]{i, jaccard(target, features[i])});
+                if (top.size() > 10) {
+                    top.poll();
+                }
+            }
+        }
+        return top;
+    }
+
+    private static double jaccard(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (a.length + b.length - shared);
+    }
+}
@@ -0,0 +1,92 @@
+package com.kjr.rfp.benchmark;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.SkillTaxonomy;
+import com.kjr.rfp.service.search.ResumeOrdinals;
+import com.kjr.rfp.service.search.SkillFacetIndex;
+import com.kjr.rfp.service.search.SkillQuery;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill filters and facet counts over a large synthetic population, against the old approach of
+ * lower-casing every resume's skill list and checking it with {@code contains}. Skill popularity
+ * is skewed, so common skills such as Java produce large, dense bitmaps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SkillFacetBenchmark {
+    private static final String[] SKILLS = {"Java", "Python", "SQL", "Git", "Docker", "AWS", "Spring Boot",
+            "Kubernetes", "JavaScript", "React", "Linux", "REST API", "Microservices", "MongoDB", "PostgreSQL",
+            "Kafka", "TypeScript", "Angular", "Node.js", "Jenkins", "Terraform", "Azure", "Google Cloud", "Redis",
+            "PHP", "Golang", "Scala", "Kotlin", "C#", ".NET", "C++", "Ruby", "Django", "Flask", "Hibernate",
+            "Elasticsearch", "RabbitMQ", "GraphQL", "Ansible", "Helm Charts", "Prometheus", "Grafana", "Jira",
+            "Agile", "Scrum", "TDD", "JUnit", "Selenium", "Pandas", "NumPy", "TensorFlow", "PyTorch",
+            "Machine Learning", "Apache Spark", "Hadoop", "Snowflake", "Tableau", "Power BI", "Rust", "Vue.js"};
+    private static final int SKILLS_PER_RESUME = 10;
+
+    @Param({"100000", "1000000"})
+    public int resumes;
+
+    private SkillFacetIndex index;
+    private List<List<String>> skillLists;
+    private final SkillQuery javaKubernetesNotPhp = new SkillQuery(List.of("Java", "Kubernetes"), null, List.of("PHP"));
+    private final SkillQuery java = new SkillQuery(List.of("Java"), null, null);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new SkillFacetIndex(new ResumeOrdinals(), SkillTaxonomy.standard());
+        skillLists = new ArrayList<>(resumes);
+        for (int i = 0; i < resumes; i++) {
+            Set<String> skills = new LinkedHashSet<>();
+            while (skills.size() < SKILLS_PER_RESUME) {
+                double r = random.nextDouble();
+                skills.add(SKILLS[(int) (SKILLS.length * r * r)]);
+            }
+            Resume resume = new Resume();
+            resume.setId("resume-" + i);
+            resume.setSkills(List.copyOf(skills));
+            index.index(resume);
+            skillLists.add(resume.getSkills());
+        }
+        index.onRebuildComplete();
+    }
+
+    @Benchmark
+    public SkillFacetIndex.Result booleanQuery() {
+        return index.search(javaKubernetesNotPhp, null, 20, 0);
+    }
+
+    @Benchmark
+    public SkillFacetIndex.Result booleanQueryWithFacets() {
+        return index.search(javaKubernetesNotPhp, null, 20, 10);
+    }
+
+    @Benchmark
+    public SkillFacetIndex.Result facetsOfCommonSkill() {
+        return index.search(java, null, 20, 10);
+    }
+
+    @Benchmark
+    public int legacyContainsScan() {
+        int matches = 0;
+        for (List<String> skills : skillLists) {
+            String text = skills.toString().toLowerCase();
+            if (text.contains("java") && text.contains("kubernetes") && !text.contains("php")) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,173 @@
+package com.kjr.rfp.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Many slow clients at once, like phones on a poor connection: each uploads a resume, or reads a
+ * download, at a fixed byte rate. While they run the server's live threads, heap and in-flight
+ * requests are sampled from its actuator, so the servlet application ({@code rfp}, port 8080)
+ * and the WebFlux one ({@code rfp-reactive}, port 8081) can be compared under the same load.
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.main=com.kjr.rfp.benchmark.SlowClientLoadTest \
+ *     -Djmh.args="http://localhost:8081 1000 16 upload"
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.main=com.kjr.rfp.benchmark.SlowClientLoadTest \
+ *     -Djmh.args="http://localhost:8081 1000 16 download 65f0c0ffee0000000000abcd"
+ * </pre>
+ * Arguments: base URL, concurrent clients, KB per second per client, {@code upload} or
+ * {@code download}, and for downloads the id of a stored resume.
+ */
+public final class SlowClientLoadTest {
+    private static final Pattern MEASUREMENT =
+            Pattern.compile("\"statistic\":\"(VALUE|ACTIVE_TASKS)\",\"value\":([0-9.Ee+-]+)");
+
+    private SlowClientLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int bytesPerSecond = (args.length > 2 ? Integer.parseInt(args[2]) : 16) * 1024;
+        boolean upload = args.length <= 3 || args[3].equals("upload");
+        String resumeId = args.length > 4 ? args[4] : null;
+        if (!upload && resumeId == null) {
+            throw new IllegalArgumentException("Downloads need the id of a stored resume");
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        long runSeed = UUID.randomUUID().getMostSignificantBits();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Sampler sampler = new Sampler(client, baseUrl);
+        Thread sampling = new Thread(() -> sampler.run(running), "sampler");
+        sampling.start();
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            int i = c;
+            pool.execute(() -> {
+                try {
+                    if (upload) {
+                        byte[] document = ResumeCorpus.document(ResumeCorpus.Format.PDF, ResumeCorpus.Size.TYPICAL, runSeed + i);
+                        String boundary = "rfp-" + UUID.randomUUID();
+                        byte[] body = UploadLoadTest.multipartBody(boundary, "slow-" + i + ".pdf", document);
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/resumes/upload"))
+                                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                                .POST(HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofInputStream(
+                                        () -> new ThrottledInputStream(body, bytesPerSecond)), body.length))
+                                .build();
+                        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400) {
+                            failures.incrementAndGet();
+                        }
+                    } else {
+                        HttpResponse<InputStream> response = client.send(
+                                HttpRequest.newBuilder(URI.create(baseUrl + "/resumes/download/" + resumeId)).build(),
+                                HttpResponse.BodyHandlers.ofInputStream());
+                        try (InputStream in = response.body()) {
+                            readSlowly(in, bytesPerSecond);
+                        }
+                        if (response.statusCode() >= 400) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+        running.set(false);
+        sampling.join();
+
+        System.out.printf("%s clients=%d rate=%d KB/s failures=%d time=%.1f s%n", upload ? "upload" : "download",
+                clients, bytesPerSecond / 1024, failures.get(), (System.nanoTime() - start) / 1e9);
+        System.out.printf("server peak: live threads=%.0f heap=%.0f MB in-flight requests=%.0f%n",
+                sampler.maxThreads, sampler.maxHeap / (1024 * 1024), sampler.maxActive);
+    }
+
+    private static void readSlowly(InputStream in, int bytesPerSecond) throws IOException, InterruptedException {
+        byte[] chunk = new byte[Math.max(1, bytesPerSecond / 10)];
+        while (in.read(chunk) >= 0) {
+            Thread.sleep(100);
+        }
+    }
+
+    /** Polls the server's actuator until the run ends, keeping the peak of each gauge. */
+    private static final class Sampler {
+        private final HttpClient client;
+        private final String baseUrl;
+        private volatile double maxThreads;
+        private volatile double maxHeap;
+        private volatile double maxActive;
+
+        Sampler(HttpClient client, String baseUrl) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+        }
+
+        void run(AtomicBoolean running) {
+            while (running.get()) {
+                maxThreads = Math.max(maxThreads, metric("jvm.threads.live"));
+                maxHeap = Math.max(maxHeap, metric("jvm.memory.used?tag=area:heap"));
+                maxActive = Math.max(maxActive, metric("http.server.requests.active"));
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private double metric(String name) {
+            try {
+                String body = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name)).build(),
+                        HttpResponse.BodyHandlers.ofString()).body();
+                Matcher matcher = MEASUREMENT.matcher(body);
+                return matcher.find() ? Double.parseDouble(matcher.group(2)) : 0;
+            } catch (Exception e) {
+                return 0;
+            }
+        }
+    }
+
+    /** Hands out its bytes no faster than the given rate. */
+    private static final class ThrottledInputStream extends ByteArrayInputStream {
+        private final int bytesPerSecond;
+        private final long start = System.nanoTime();
+
+        ThrottledInputStream(byte[] content, int bytesPerSecond) {
+            super(content);
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            long due = start + (long) pos * 1_000_000_000L / bytesPerSecond;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.read(b, off, Math.min(len, Math.max(1, bytesPerSecond / 10)));
+        }
+    }
+}
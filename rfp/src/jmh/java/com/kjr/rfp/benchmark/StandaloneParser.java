@@ -0,0 +1,26 @@
+package com.kjr.rfp.benchmark;
+
+import com.kjr.rfp.config.ParserProperties;
+import com.kjr.rfp.service.parser.ParseGuard;
+import com.kjr.rfp.service.parser.ResumeFieldExtractor;
+import com.kjr.rfp.service.parser.ResumeParser;
+import com.kjr.rfp.service.parser.extractor.TextExtractors;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/** Builds the parse path without a Spring context or MongoDB. */
+final class StandaloneParser {
+
+    private StandaloneParser() {
+    }
+
+    static ResumeParser create() {
+        return create(new ParserProperties(), new ResumeFieldExtractor(), new CompositeMeterRegistry());
+    }
+
+    static ResumeParser create(ParserProperties properties, ResumeFieldExtractor fieldExtractor,
+                               MeterRegistry meterRegistry) {
+        return new ResumeParser(fieldExtractor, TextExtractors.standard(properties, meterRegistry),
+                new ParseGuard(properties), properties, meterRegistry);
+    }
+}
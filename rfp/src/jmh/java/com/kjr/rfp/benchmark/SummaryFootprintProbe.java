@@ -0,0 +1,135 @@
+package com.kjr.rfp.benchmark;
+
+import com.kjr.rfp.model.Education;
+import com.kjr.rfp.model.Experience;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.model.ResumeSummary;
+import com.kjr.rfp.service.search.ResumeOrdinals;
+import com.kjr.rfp.service.search.ResumeSummaryStore;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Retained memory per resume of the ways search results can be held: fully hydrated
+ * {@link Resume} objects, projected {@link ResumeSummary} objects, and the off-heap
+ * {@link ResumeSummaryStore}. Strings are created per resume, as Mongo decoding creates them.
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.main=com.kjr.rfp.benchmark.SummaryFootprintProbe \
+ *     -Djmh.args="200000"
+ * </pre>
+ */
+public final class SummaryFootprintProbe {
+    private static final String[] SKILLS = {"Java", "Python", "SQL", "Git", "Docker", "AWS", "Spring Boot",
+            "Kubernetes", "JavaScript", "React", "Linux", "REST API", "Microservices", "MongoDB", "PostgreSQL",
+            "Kafka", "TypeScript", "Angular", "Node.js", "Jenkins", "Terraform", "Azure", "Redis", "Scala"};
+    private static final String[] FIRST = {"Jane", "John", "Priya", "Wei", "Maria", "Ahmed", "Olga", "Kofi"};
+    private static final String[] LAST = {"Doe", "Smith", "Sharma", "Zhang", "Garcia", "Hassan", "Ivanova", "Mensah"};
+
+    private SummaryFootprintProbe() {
+    }
+
+    public static void main(String[] args) {
+        int resumes = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        System.out.printf("%d resumes%n", resumes);
+
+        long baseline = usedHeap();
+        List<Resume> hydrated = new ArrayList<>(resumes);
+        for (int i = 0; i < resumes; i++) {
+            hydrated.add(resume(i));
+        }
+        report("Resume (hydrated)", usedHeap() - baseline, 0, resumes);
+        hydrated = null;
+
+        baseline = usedHeap();
+        List<ResumeSummary> summaries = new ArrayList<>(resumes);
+        for (int i = 0; i < resumes; i++) {
+            Resume resume = resume(i);
+            summaries.add(new ResumeSummary(resume.getId(), resume.getName(), resume.getEmail(), resume.getSkills()));
+        }
+        report("ResumeSummary", usedHeap() - baseline, 0, resumes);
+        summaries = null;
+
+        // The ordinals are shared with the search and facet indexes, so they are counted separately
+        baseline = usedHeap();
+        ResumeOrdinals ordinals = new ResumeOrdinals();
+        for (int i = 0; i < resumes; i++) {
+            ordinals.ordinalOf(String.format("%024x", i));
+        }
+        report("ResumeOrdinals", usedHeap() - baseline, 0, resumes);
+
+        baseline = usedHeap();
+        ResumeSummaryStore store = new ResumeSummaryStore(ordinals);
+        for (int i = 0; i < resumes; i++) {
+            store.index(resume(i));
+        }
+        store.onRebuildComplete();
+        report("ResumeSummaryStore", usedHeap() - baseline, store.offHeapBytes(), resumes);
+        if (store.page(null, 1).items().isEmpty()) {
+            throw new IllegalStateException("Store is empty");
+        }
+    }
+
+    private static void report(String holder, long heapBytes, long offHeapBytes, int resumes) {
+        System.out.printf("%-20s heap %6.1f B/resume   off-heap %6.1f B/resume%n", holder,
+                (double) heapBytes / resumes, (double) offHeapBytes / resumes);
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static Resume resume(int i) {
+        Random random = new Random(i);
+        String first = FIRST[random.nextInt(FIRST.length)];
+        String last = LAST[random.nextInt(LAST.length)];
+        Resume resume = new Resume();
+        resume.setId(String.format("%024x", i));
+        resume.setFileName(new String(first + "_" + last + "_resume.pdf"));
+        resume.setName(new String(first + " " + last));
+        resume.setEmail(new String((first + "." + last + i + "@example.com").toLowerCase()));
+        resume.setPhone(new String("+1 555 " + (1000000 + random.nextInt(9000000))));
+        resume.setSummary(new String("Software engineer with " + (2 + random.nextInt(15))
+                + " years of experience building distributed systems, APIs and data pipelines. "
+                + "Focused on reliability, observability and mentoring."));
+        Set<String> skills = new LinkedHashSet<>();
+        while (skills.size() < 10) {
+            double r = random.nextDouble();
+            skills.add(new String(SKILLS[(int) (SKILLS.length * r * r)]));
+        }
+        resume.setSkills(new ArrayList<>(skills));
+        List<Experience> experiences = new ArrayList<>();
+        for (int e = 0; e < 3; e++) {
+            Experience experience = new Experience();
+            experience.setCompany(new String("Company " + random.nextInt(1000)));
+            experience.setPosition(new String("Senior Software Engineer"));
+            experience.setDuration(new String("2019 - 2023"));
+            experience.setDescription(new String("Built and operated services handling millions of requests a day."));
+            experiences.add(experience);
+        }
+        resume.setExperiences(experiences);
+        List<Education> educations = new ArrayList<>();
+        for (int e = 0; e < 2; e++) {
+            Education education = new Education();
+            education.setInstitution(new String("University " + random.nextInt(200)));
+            education.setDegree(new String("B.Sc."));
+            education.setFieldOfStudy(new String("Computer Science"));
+            education.setYear(new String("2015"));
+            educations.add(education);
+        }
+        resume.setEducations(educations);
+        resume.setFileId(String.format("%024x", i + 1_000_000_000L));
+        resume.setContentHash(Long.toHexString(random.nextLong()).repeat(4));
+        resume.setParserVersion(1);
+        return resume;
+    }
+}
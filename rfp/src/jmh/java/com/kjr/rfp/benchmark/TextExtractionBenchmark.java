@@ -0,0 +1,42 @@
+package com.kjr.rfp.benchmark;
+
+import com.kjr.rfp.service.parser.ResumeParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Format-specific text extraction (PDFBox for PDF, POI for DOCX) without any field parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextExtractionBenchmark {
+
+    @Param({"PDF", "DOCX"})
+    public ResumeCorpus.Format format;
+
+    @Param({"SMALL", "TYPICAL", "LARGE"})
+    public ResumeCorpus.Size size;
+
+    private ResumeParser parser;
+    private byte[] document;
+    private String fileName;
+
+    @Setup
+    public void setUp() {
+        parser = StandaloneParser.create();
+        document = ResumeCorpus.document(format, size);
+        fileName = ResumeCorpus.fileName(format);
+    }
+
+    @Benchmark
+    public String extractText() throws IOException {
+        return parser.extractTextFromFile(fileName, new ByteArrayInputStream(document));
+    }
+}
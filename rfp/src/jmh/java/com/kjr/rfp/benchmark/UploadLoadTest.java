@@ -0,0 +1,106 @@
+package com.kjr.rfp.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load test of {@code POST /resumes/upload} against a running instance: a fixed number
+ * of clients upload distinct generated resumes back to back, then throughput and latency
+ * percentiles are printed. Start the app once normally and once with {@code -Pjava21} to compare
+ * platform and virtual threads.
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.main=com.kjr.rfp.benchmark.UploadLoadTest \
+ *     -Djmh.args="http://localhost:8080 64 2000 TYPICAL"
+ * </pre>
+ * Arguments: base URL, concurrent clients, total uploads, resume size.
+ */
+public final class UploadLoadTest {
+
+    private UploadLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int uploads = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        ResumeCorpus.Size size = args.length > 3 ? ResumeCorpus.Size.valueOf(args[3]) : ResumeCorpus.Size.TYPICAL;
+
+        // Distinct content per upload so duplicate detection does not short-circuit the pipeline;
+        // the run id keeps repeated runs from colliding with resumes stored by earlier ones
+        long runSeed = UUID.randomUUID().getMostSignificantBits();
+        byte[][] documents = new byte[uploads][];
+        for (int i = 0; i < uploads; i++) {
+            documents[i] = ResumeCorpus.document(ResumeCorpus.Format.PDF, size, runSeed + i);
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        URI uri = URI.create(baseUrl + "/resumes/upload");
+        long[] latencies = new long[uploads];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            pool.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < uploads) {
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(multipart(uri, "resume-" + i + ".pdf", documents[i]),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - begin;
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("uploads=%d clients=%d size=%s failures=%d%n", uploads, clients, size, failures.get());
+        System.out.printf("throughput=%.1f uploads/s%n", uploads / seconds);
+        System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    private static HttpRequest multipart(URI uri, String fileName, byte[] content) {
+        String boundary = "rfp-" + UUID.randomUUID();
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipartBody(boundary, fileName, content)))
+                .build();
+    }
+
+    static byte[] multipartBody(String boundary, String fileName, byte[] content) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 256);
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+}
@@ -0,0 +1,17 @@
+package com.kjr.rfp.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the resume caches: resumes by id and by email, and the original-file metadata that
+ * downloads are answered from. Their size and expiry come from {@code spring.cache.caffeine.spec};
+ * they are declared in {@code spring.cache.cache-names} so their metrics are bound at startup.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String RESUMES = "resumes";
+    public static final String RESUMES_BY_EMAIL = "resumesByEmail";
+    public static final String RESUME_FILES = "resumeFiles";
+}
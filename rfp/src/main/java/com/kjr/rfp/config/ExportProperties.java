@@ -0,0 +1,24 @@
+package com.kjr.rfp.config;
+
+import com.kjr.rfp.service.export.ExportFormat;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rfp.export")
+public class ExportProperties {
+    /** Mongo cursors read at the same time, each over its own {@code _id} range. */
+    private int parallelism = 4;
+    /** Documents fetched per cursor round trip. */
+    private int batchSize = 1000;
+    /** When set, every resume is exported to this file at startup. */
+    private Path output;
+    /** Format of the startup export. */
+    private ExportFormat format = ExportFormat.NDJSON;
+    /** Whether the startup export is gzip-compressed. */
+    private boolean gzip = true;
+}
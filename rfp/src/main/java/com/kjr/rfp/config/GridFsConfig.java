@@ -0,0 +1,17 @@
+package com.kjr.rfp.config;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+@Configuration
+public class GridFsConfig {
+
+    /** The default "fs" bucket, the same one {@code GridFsTemplate} writes to. */
+    @Bean
+    public GridFSBucket gridFsBucket(MongoDatabaseFactory mongoDatabaseFactory) {
+        return GridFSBuckets.create(mongoDatabaseFactory.getMongoDatabase());
+    }
+}
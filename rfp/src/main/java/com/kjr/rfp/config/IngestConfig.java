@@ -0,0 +1,78 @@
+package com.kjr.rfp.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class IngestConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor storeExecutor(IngestProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getStoreThreads());
+        executor.setMaxPoolSize(properties.getStoreThreads());
+        executor.setQueueCapacity(properties.getStoreQueueCapacity());
+        executor.setThreadNamePrefix("gridfs-store-");
+        // When saturated the request thread stores the file itself rather than failing the upload
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    // GridFS writes mostly wait on the socket, so with virtual threads each store gets its own
+    // thread and the Mongo connection pool is what bounds concurrency
+    @Bean(name = "storeExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualStoreExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("gridfs-store-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    @Bean(name = "uploadParseExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public SyncTaskExecutor inlineUploadParseExecutor() {
+        return new SyncTaskExecutor();
+    }
+
+    @Bean(name = "uploadParseExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ThreadPoolTaskExecutor platformUploadParseExecutor(IngestProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getUploadParseThreads());
+        executor.setMaxPoolSize(properties.getUploadParseThreads());
+        executor.setQueueCapacity(properties.getUploadParseQueueCapacity());
+        executor.setThreadNamePrefix("upload-parse-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor bulkParseExecutor(IngestProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getParseThreads());
+        executor.setMaxPoolSize(properties.getParseThreads());
+        executor.setQueueCapacity(properties.getParseQueueCapacity());
+        executor.setThreadNamePrefix("bulk-parse-");
+        // A full queue makes the job dispatcher parse the next document itself, which stops it
+        // from reading further ahead: that is the back-pressure on ZIP and multi-file jobs
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor bulkDispatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setThreadNamePrefix("bulk-dispatch-");
+        return executor;
+    }
+}
@@ -0,0 +1,43 @@
+package com.kjr.rfp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rfp.ingest")
+public class IngestProperties {
+    /** Uploads up to this size are buffered on the heap; larger ones are memory-mapped from a temp file. */
+    private DataSize inMemoryThreshold = DataSize.ofMegabytes(2);
+    /** Threads that write uploaded files to GridFS while the request thread extracts text. */
+    private int storeThreads = 4;
+    private int storeQueueCapacity = 64;
+    /**
+     * Platform threads that parse single uploads when request handling runs on virtual threads,
+     * so CPU-bound extraction cannot occupy the carriers that GridFS I/O needs.
+     */
+    private int uploadParseThreads = Runtime.getRuntime().availableProcessors();
+    private int uploadParseQueueCapacity = 256;
+    /** Worker threads that parse documents of bulk ingestion jobs. */
+    private int parseThreads = Runtime.getRuntime().availableProcessors();
+    /** Documents allowed to wait for a parse worker before the job dispatcher has to slow down. */
+    private int parseQueueCapacity = 32;
+    /** Number of parsed resumes written per {@code saveAll} call. */
+    private int batchSize = 100;
+    /**
+     * Largest file and request accepted by bulk ingestion; every other endpoint keeps the
+     * {@code spring.servlet.multipart} limits.
+     */
+    private DataSize maxBulkFileSize = DataSize.ofMegabytes(512);
+    private DataSize maxBulkRequestSize = DataSize.ofGigabytes(1);
+    /** Largest single entry accepted from a ZIP archive. */
+    private DataSize maxArchiveEntrySize = DataSize.ofMegabytes(20);
+    /** Number of recent content hashes kept in memory for duplicate detection. */
+    private int dedupCacheSize = 10_000;
+    /** How long finished bulk jobs stay queryable. */
+    private Duration jobRetention = Duration.ofHours(6);
+}
@@ -0,0 +1,87 @@
+package com.kjr.rfp.config;
+
+import com.kjr.rfp.controller.BulkIngestController;
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.List;
+
+/**
+ * Multipart limits per endpoint. The servlet container parses every request under the bulk
+ * ingestion limits ({@code rfp.ingest.max-bulk-*}), and the resolver holds every other endpoint to
+ * the {@code spring.servlet.multipart} limits: from {@code Content-Length} before the body is read,
+ * and from the part sizes when the length is not known up front.
+ */
+@Configuration
+public class MultipartConfig {
+
+    @Bean
+    public MultipartConfigElement multipartConfigElement(MultipartProperties multipart, IngestProperties ingest) {
+        MultipartConfigElement single = multipart.createMultipartConfig();
+        return new MultipartConfigElement(single.getLocation(),
+                Math.max(single.getMaxFileSize(), ingest.getMaxBulkFileSize().toBytes()),
+                Math.max(single.getMaxRequestSize(), ingest.getMaxBulkRequestSize().toBytes()),
+                single.getFileSizeThreshold());
+    }
+
+    @Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    public StandardServletMultipartResolver multipartResolver(MultipartProperties multipart) {
+        return new EndpointLimitMultipartResolver(multipart);
+    }
+
+    static class EndpointLimitMultipartResolver extends StandardServletMultipartResolver {
+        private final long maxFileSize;
+        private final long maxRequestSize;
+
+        EndpointLimitMultipartResolver(MultipartProperties multipart) {
+            this.maxFileSize = multipart.getMaxFileSize().toBytes();
+            this.maxRequestSize = multipart.getMaxRequestSize().toBytes();
+            setResolveLazily(multipart.isResolveLazily());
+            setStrictServletCompliance(multipart.isStrictServletCompliance());
+        }
+
+        @Override
+        public MultipartHttpServletRequest resolveMultipart(HttpServletRequest request) throws MultipartException {
+            if (isBulkIngestion(request)) {
+                return super.resolveMultipart(request);
+            }
+            if (exceeds(request.getContentLengthLong(), maxRequestSize)) {
+                throw new MaxUploadSizeExceededException(maxRequestSize);
+            }
+            MultipartHttpServletRequest resolved = super.resolveMultipart(request);
+            long total = 0;
+            for (List<MultipartFile> files : resolved.getMultiFileMap().values()) {
+                for (MultipartFile file : files) {
+                    total += file.getSize();
+                    long exceeded = exceeds(file.getSize(), maxFileSize) ? maxFileSize
+                            : exceeds(total, maxRequestSize) ? maxRequestSize : -1;
+                    if (exceeded >= 0) {
+                        cleanupMultipart(resolved);
+                        throw new MaxUploadSizeExceededException(exceeded);
+                    }
+                }
+            }
+            return resolved;
+        }
+
+        // A negative limit means unlimited, as in MultipartConfigElement
+        private static boolean exceeds(long size, long limit) {
+            return limit >= 0 && size > limit;
+        }
+
+        private static boolean isBulkIngestion(HttpServletRequest request) {
+            String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+            return path.equals(BulkIngestController.PATH) || path.startsWith(BulkIngestController.PATH + "/");
+        }
+    }
+}
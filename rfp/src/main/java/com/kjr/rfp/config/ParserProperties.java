@@ -0,0 +1,37 @@
+package com.kjr.rfp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rfp.parser")
+public class ParserProperties {
+    /** Pages of a PDF that are read; the rest of a longer document is ignored. */
+    private int maxPages = 50;
+    /** Characters of text kept per document; extraction stops once this many have been read. */
+    private int maxCharacters = 200_000;
+    /** Heap PDFBox may use for a document's bytes before it spills them to a scratch file. */
+    private DataSize pdfMainMemory = DataSize.ofMegabytes(4);
+    /** Directory for PDFBox scratch files; the system temp directory when unset. */
+    private File pdfScratchDirectory;
+    /** Skill dictionary of canonical names and synonyms, one skill per line. */
+    private Resource skillTaxonomy = new ClassPathResource("skill-taxonomy.txt");
+    /** Time a document may take to parse before it is stopped and only its contact fields are kept. */
+    private Duration timeout = Duration.ofSeconds(10);
+    /** Extra parse time allowed for each full megabyte of the document. */
+    private Duration timeoutPerMegabyte = Duration.ofSeconds(2);
+    /** Upper bound of the parse budget, however large the document. */
+    private Duration maxTimeout = Duration.ofSeconds(30);
+    /** Budget of the contact-only parse of a document whose full parse timed out. */
+    private Duration contactTimeout = Duration.ofSeconds(2);
+    /** Characters read from the start of a document for the contact-only parse. */
+    private int contactCharacters = 4_000;
+}
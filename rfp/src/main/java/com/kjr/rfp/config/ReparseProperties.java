@@ -0,0 +1,28 @@
+package com.kjr.rfp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rfp.reparse")
+public class ReparseProperties {
+    /** Start re-parsing resumes from an older parser version as soon as the application is ready. */
+    private boolean runOnStartup = true;
+    /** Fork-join workers that parse in parallel; kept low so live uploads keep the CPU. */
+    private int parallelism = 1;
+    /** Upper bound on re-parsed documents per second. */
+    private double maxDocumentsPerSecond = 10;
+    /** Documents parsed and written back per bulk write, and between checkpoints. */
+    private int batchSize = 50;
+    /** Longest the job waits for in-progress uploads to finish before it takes its next document. */
+    private Duration uploadBackoff = Duration.ofSeconds(1);
+    /**
+     * How long a run holds the lease that keeps other instances from re-parsing at the same time;
+     * extended after every batch, so it has to outlast one batch.
+     */
+    private Duration leaseDuration = Duration.ofMinutes(10);
+}
@@ -0,0 +1,17 @@
+package com.kjr.rfp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rfp.search")
+public class SearchProperties {
+    /** How often to look for resumes inserted by other applications, such as rfp-reactive; zero turns it off. */
+    private Duration tailInterval = Duration.ofSeconds(5);
+    /** How far before the previous look the next one reaches, for inserts that became visible late. */
+    private Duration tailLookback = Duration.ofMinutes(1);
+}
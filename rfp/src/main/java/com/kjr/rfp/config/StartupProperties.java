@@ -0,0 +1,13 @@
+package com.kjr.rfp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rfp.startup")
+public class StartupProperties {
+    /** Parse the bundled sample PDF and DOCX while the context starts, before any request is accepted. */
+    private boolean warmUp = true;
+}
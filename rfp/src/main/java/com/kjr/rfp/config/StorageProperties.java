@@ -0,0 +1,23 @@
+package com.kjr.rfp.config;
+
+import com.kjr.rfp.service.StorageCodec;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rfp.storage")
+public class StorageProperties {
+    /**
+     * Compression of newly stored files; content that is already compressed (PDF, DOCX, ZIP, images)
+     * is stored as is. Off by default: a range of a compressed file is only reached by decompressing
+     * everything before it.
+     */
+    private StorageCodec codec = StorageCodec.NONE;
+    /** GridFS chunk size of newly stored files. */
+    private DataSize chunkSize = DataSize.ofKilobytes(255);
+    /** Whether the extracted plain text of every upload is stored next to the original file. */
+    private boolean storeText = true;
+}
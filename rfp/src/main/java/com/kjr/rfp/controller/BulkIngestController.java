@@ -0,0 +1,44 @@
+package com.kjr.rfp.controller;
+
+import com.kjr.rfp.service.ingest.BulkIngestJob;
+import com.kjr.rfp.service.ingest.BulkIngestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping(BulkIngestController.PATH)
+public class BulkIngestController {
+    public static final String PATH = "/resumes/batch";
+
+    private final BulkIngestService bulkIngestService;
+
+    @Autowired
+    public BulkIngestController(BulkIngestService bulkIngestService) {
+        this.bulkIngestService = bulkIngestService;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkIngestJob.Status> submit(@RequestParam("files") List<MultipartFile> files) throws IOException {
+        if (files.stream().allMatch(MultipartFile::isEmpty)) {
+            return ResponseEntity.badRequest().build();
+        }
+        BulkIngestJob job = bulkIngestService.submit(files);
+        return ResponseEntity.accepted()
+                .location(URI.create(PATH + "/" + job.getId()))
+                .body(job.status());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BulkIngestJob.Status> status(@PathVariable String jobId) {
+        return bulkIngestService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(job.status()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
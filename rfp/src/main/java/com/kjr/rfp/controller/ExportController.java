@@ -0,0 +1,44 @@
+package com.kjr.rfp.controller;
+
+import com.kjr.rfp.service.export.ExportFormat;
+import com.kjr.rfp.service.export.ResumeExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/resumes/export")
+public class ExportController {
+    private final ResumeExportService exportService;
+
+    @Autowired
+    public ExportController(ResumeExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /** Every resume as an NDJSON or CSV attachment, optionally gzipped, written while the cursors are read. */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        Optional<ExportFormat> exportFormat = ExportFormat.of(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        ExportFormat selected = exportFormat.get();
+        String fileName = "resumes." + selected.extension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> exportService.export(selected, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : selected.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,23 @@
+package com.kjr.rfp.controller;
+
+import com.kjr.rfp.service.ingest.ContentHashCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/resumes/ingest")
+public class IngestStatsController {
+    private final ContentHashCache contentHashCache;
+
+    @Autowired
+    public IngestStatsController(ContentHashCache contentHashCache) {
+        this.contentHashCache = contentHashCache;
+    }
+
+    @GetMapping("/dedup-stats")
+    public ContentHashCache.Stats dedupStats() {
+        return contentHashCache.stats();
+    }
+}
@@ -0,0 +1,37 @@
+package com.kjr.rfp.controller;
+
+import com.kjr.rfp.service.ingest.ParseQuarantine;
+import com.kjr.rfp.service.ingest.QuarantinedDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/resumes/quarantine")
+public class QuarantineController {
+    private static final int MAX_LIMIT = 500;
+
+    private final ParseQuarantine quarantine;
+
+    @Autowired
+    public QuarantineController(ParseQuarantine quarantine) {
+        this.quarantine = quarantine;
+    }
+
+    @GetMapping
+    public List<QuarantinedDocument> list(@RequestParam(defaultValue = "50") int limit) {
+        return quarantine.list(Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> release(@PathVariable String id) {
+        return quarantine.release(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.kjr.rfp.controller;
+
+import com.kjr.rfp.service.reparse.ReparseService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/resumes/reparse")
+public class ReparseController {
+    private final ReparseService reparseService;
+
+    @Autowired
+    public ReparseController(ReparseService reparseService) {
+        this.reparseService = reparseService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ReparseService.Status> start() {
+        boolean started = reparseService.start();
+        return (started ? ResponseEntity.accepted() : ResponseEntity.status(409)).body(reparseService.status());
+    }
+
+    @GetMapping
+    public ReparseService.Status status() {
+        return reparseService.status();
+    }
+}
@@ -0,0 +1,80 @@
+package com.kjr.rfp.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kjr.rfp.model.ResumePage;
+import com.kjr.rfp.model.ResumeSummary;
+import com.kjr.rfp.model.SimilarResume;
+import com.kjr.rfp.model.SkillSearchPage;
+import com.kjr.rfp.service.parser.ResumeParserService;
+import com.kjr.rfp.service.search.SkillQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/resumes/api")
+public class ResumeApiController {
+    private final ResumeParserService resumeParserService;
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ResumeApiController(ResumeParserService resumeParserService, ObjectMapper objectMapper) {
+        this.resumeParserService = resumeParserService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/search")
+    public ResumePage search(@RequestParam(defaultValue = "") String query,
+                             @RequestParam(required = false) String cursor,
+                             @RequestParam(defaultValue = "20") int size) {
+        return resumeParserService.searchResumes(query, cursor, size);
+    }
+
+    /**
+     * Resumes with every skill in {@code all}, at least one in {@code any} and none in {@code none},
+     * with the total count and the skills that co-occur most often among them.
+     */
+    @GetMapping("/skills")
+    public SkillSearchPage searchBySkills(@RequestParam(required = false) List<String> all,
+                                          @RequestParam(required = false) List<String> any,
+                                          @RequestParam(required = false) List<String> none,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int size) {
+        return resumeParserService.searchBySkills(new SkillQuery(all, any, none), cursor, size);
+    }
+
+    /** The resumes most similar to the given one in skills, summary and experience, most similar first. */
+    @GetMapping("/{id}/similar")
+    public List<SimilarResume> similar(@PathVariable String id, @RequestParam(defaultValue = "10") int size) {
+        return resumeParserService.findSimilar(id, size);
+    }
+
+    /** Every resume summary as one JSON array, written while the Mongo cursor is read. */
+    @GetMapping("/summaries")
+    public ResponseEntity<StreamingResponseBody> summaries() {
+        StreamingResponseBody body = out -> {
+            try (Stream<ResumeSummary> summaries = resumeParserService.streamResumeSummaries();
+                 JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                Iterator<ResumeSummary> it = summaries.iterator();
+                while (it.hasNext()) {
+                    json.writeObject(it.next());
+                }
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
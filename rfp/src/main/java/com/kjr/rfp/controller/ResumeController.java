@@ -1,21 +1,29 @@
 package com.kjr.rfp.controller;
 
 import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.model.ResumePage;
+import com.kjr.rfp.model.SkillSearchPage;
 import com.kjr.rfp.service.FileStorageService;
+import com.kjr.rfp.service.ResumeFileCache;
+import com.kjr.rfp.service.StoredFile;
+import com.kjr.rfp.service.ingest.ResumeIngestService;
 import com.kjr.rfp.service.parser.ResumeParserService;
+import com.kjr.rfp.service.search.SkillQuery;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
-import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Optional;
 
 @Controller
 @RequestMapping("/resumes")
@@ -24,10 +32,17 @@ public class ResumeController {
 
     private final FileStorageService fileStorageService;
 
+    private final ResumeIngestService resumeIngestService;
+
+    private final ResumeFileCache resumeFileCache;
+
     @Autowired
-    public ResumeController(ResumeParserService resumeParserService, FileStorageService fileStorageService) {
+    public ResumeController(ResumeParserService resumeParserService, FileStorageService fileStorageService,
+                            ResumeIngestService resumeIngestService, ResumeFileCache resumeFileCache) {
         this.resumeParserService = resumeParserService;
         this.fileStorageService = fileStorageService;
+        this.resumeIngestService = resumeIngestService;
+        this.resumeFileCache = resumeFileCache;
     }
 
     @GetMapping("/upload")
@@ -39,10 +54,7 @@ public class ResumeController {
     @PostMapping("/upload")
     public String uploadResume(@RequestParam("file") MultipartFile file, Model model) {
         try {
-            String fileId = resumeParserService.storeFile(file);
-            Resume resume = resumeParserService.parseResume(file);
-            resume.setFileId(fileId);
-            Resume savedResume = resumeParserService.saveResume(resume);
+            Resume savedResume = resumeIngestService.ingest(file);
             model.addAttribute("resume", savedResume);
             return "preview-resume";
         } catch (Exception e) {
@@ -58,43 +70,70 @@ public class ResumeController {
     }
 
     @GetMapping("/search/results")
-    public String searchResumes(@RequestParam String query, Model model) {
-        List<List<Resume>> allResumes = resumeParserService.getResumes();
-        // Simple search implementation - you might want to enhance this
-        List<Resume> filteredResumes = allResumes.stream()
-                .flatMap(List::stream)
-                .filter(r -> r.getName().toLowerCase().contains(query.toLowerCase()) ||
-                        r.getEmail().toLowerCase().contains(query.toLowerCase()) ||
-                        r.getSkills().toString().toLowerCase().contains(query.toLowerCase()))
-                .toList();
-
-        model.addAttribute("resumes", filteredResumes);
+    public String searchResumes(@RequestParam(defaultValue = "") String query,
+                                @RequestParam(required = false) List<String> all,
+                                @RequestParam(required = false) List<String> any,
+                                @RequestParam(required = false) List<String> none,
+                                @RequestParam(required = false) String cursor,
+                                @RequestParam(defaultValue = "20") int size, Model model) {
+        SkillQuery skills = new SkillQuery(all, any, none);
+        if (skills.isEmpty()) {
+            ResumePage page = resumeParserService.searchResumes(query, cursor, size);
+            model.addAttribute("resumes", page.items());
+            model.addAttribute("nextCursor", page.nextCursor());
+        } else {
+            SkillSearchPage page = resumeParserService.searchBySkills(skills, cursor, size);
+            model.addAttribute("resumes", page.items());
+            model.addAttribute("nextCursor", page.nextCursor());
+            model.addAttribute("total", page.total());
+            model.addAttribute("facets", page.facets());
+        }
+        model.addAttribute("pageSize", size);
         model.addAttribute("searchQuery", query);
+        model.addAttribute("skillQuery", skills);
         return "search-results";
     }
 
     @GetMapping("/preview/{id}")
     public String previewResume(@PathVariable String id, Model model) {
-        // You'll need to implement findById in your service/repository
-        Optional<Optional<Resume>> resume = resumeParserService.getResumeById(id);
+        Resume resume = resumeParserService.getResumeById(id).orElseThrow(
+                () -> new RuntimeException("Resume not found")
+        );
         model.addAttribute("resume", resume);
         return "preview-resume";
     }
 
+    @GetMapping("/{id}/similar")
+    public String similarResumes(@PathVariable String id, @RequestParam(defaultValue = "10") int size, Model model) {
+        Resume resume = resumeParserService.getResumeById(id).orElseThrow(
+                () -> new RuntimeException("Resume not found")
+        );
+        model.addAttribute("resume", resume);
+        model.addAttribute("similar", resumeParserService.findSimilar(id, size));
+        return "similar-resumes";
+    }
+
     @GetMapping("/download/{id}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String id) {
-        Resume resume = resumeParserService.findById(id).orElseThrow(
+    public ResponseEntity<Resource> downloadFile(@PathVariable String id, WebRequest request) {
+        ResumeFileCache.Entry download = resumeFileCache.get(id).orElseThrow(
                 () -> new RuntimeException("Resume not found")
         );
+        StoredFile file = download.file();
 
-        GridFsResource resource = fileStorageService.getFileResource(resume.getFileId());
-        if (resource == null) {
-            throw new RuntimeException("File not found");
+        // Answered from the cached metadata alone: GridFS is not touched for a 304
+        if (request.checkNotModified(file.etag(), file.uploadDate().toEpochMilli())) {
+            return null;
         }
 
+        // Spring turns a Range header into a 206 with only the requested regions of the resource
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resume.getFileName() + "\"")
-                .contentType(MediaType.parseMediaType(resource.getContentType()))
-                .body(resource);
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(download.fileName(), StandardCharsets.UTF_8).build().toString())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(MediaType.parseMediaType(file.contentType()))
+                .cacheControl(CacheControl.noCache())
+                .eTag(file.etag())
+                .lastModified(file.uploadDate())
+                .body(fileStorageService.openLazily(file, download.fileName()));
     }
 }
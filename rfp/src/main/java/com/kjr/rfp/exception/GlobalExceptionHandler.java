@@ -12,7 +12,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MaxUploadSizeExceededException.class)
     public ResponseEntity<String> handleMaxSizeException(MaxUploadSizeExceededException exc) {
         return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
-                .body("File too large! Maximum size allowed is 10MB");
+                .body("File too large! Maximum upload size exceeded");
     }
 
     @ExceptionHandler(UnsupportedOperationException.class)
@@ -21,6 +21,12 @@ public class GlobalExceptionHandler {
                 .body(exc.getMessage());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursor(InvalidCursorException exc) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(exc.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralException(Exception exc) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,9 @@
+package com.kjr.rfp.exception;
+
+/** A page cursor sent by a client is malformed; answered with 400 Bad Request. */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String cursor) {
+        super("Malformed page cursor: " + cursor);
+    }
+}
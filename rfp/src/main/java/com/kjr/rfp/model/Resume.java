@@ -2,6 +2,9 @@ package com.kjr.rfp.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.HashIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -12,13 +15,22 @@ public class Resume {
     @Id
     private String id;
     private String fileName;
+    @TextIndexed(weight = 4)
     private String name;
+    @HashIndexed
     private String email;
     private String phone;
+    @TextIndexed
     private String summary;
+    @TextIndexed(weight = 3)
     private List<String> skills;
     private List<Experience> experiences;
     private List<Education> educations;
+    @Indexed
     private String fileId;  // Add this field to store GridFS file ID
+    private String textFileId;  // GridFS file holding the extracted plain text, so re-parsing skips the original
+    @Indexed
+    private String contentHash;  // SHA-256 of the original file, used to skip re-uploads
+    private Integer parserVersion;  // ResumeParserService.PARSER_VERSION that produced the parsed fields
 }
 
@@ -0,0 +1,10 @@
+package com.kjr.rfp.model;
+
+import java.util.List;
+
+/**
+ * One page of search results. {@code nextCursor} is passed back to fetch the following page and is
+ * {@code null} on the last page.
+ */
+public record ResumePage(List<ResumeSummary> items, String nextCursor) {
+}
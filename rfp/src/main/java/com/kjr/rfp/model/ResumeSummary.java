@@ -0,0 +1,25 @@
+package com.kjr.rfp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+import java.util.List;
+
+/**
+ * The fields of a {@link Resume} shown in search results; read with a Mongo projection so the
+ * experience and education lists are never loaded for listings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeSummary {
+    public static final String[] FIELDS = {"name", "email", "skills"};
+
+    @Id
+    private String id;
+    private String name;
+    private String email;
+    private List<String> skills;
+}
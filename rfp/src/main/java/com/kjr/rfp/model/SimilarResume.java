@@ -0,0 +1,5 @@
+package com.kjr.rfp.model;
+
+/** A resume found similar to another one, with the estimated similarity between 0 and 1. */
+public record SimilarResume(ResumeSummary resume, double similarity) {
+}
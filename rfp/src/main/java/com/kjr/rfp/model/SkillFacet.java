@@ -0,0 +1,5 @@
+package com.kjr.rfp.model;
+
+/** A skill and the number of matching resumes that list it. */
+public record SkillFacet(String skill, long count) {
+}
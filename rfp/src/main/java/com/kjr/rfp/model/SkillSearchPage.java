@@ -0,0 +1,10 @@
+package com.kjr.rfp.model;
+
+import java.util.List;
+
+/**
+ * One page of a skill filter: the summaries, the cursor of the next page, the number of resumes
+ * matching in total and the skills most often found among them.
+ */
+public record SkillSearchPage(List<ResumeSummary> items, String nextCursor, long total, List<SkillFacet> facets) {
+}
@@ -10,6 +10,7 @@ import java.util.Optional;
 public interface ResumeRepository extends MongoRepository<Resume, String> {
     Resume findByEmail(String email);
     Optional<Resume> findById(String id);
+    Optional<Resume> findFirstByContentHash(String contentHash);
 }
 
 
@@ -1,32 +1,179 @@
 package com.kjr.rfp.service;
 
+import com.kjr.rfp.config.StorageProperties;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSUploadStream;
 import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.gridfs.GridFsOperations;
-import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 
+/**
+ * Original files and their extracted text in GridFS. Content is compressed with the configured
+ * {@link StorageCodec} as it is written, unless its magic bytes show it is compressed already, and
+ * decompressed again wherever it is read.
+ */
 @Service
 public class FileStorageService {
+    // GridFsTemplate keeps the content type it was given under this metadata key
+    private static final String CONTENT_TYPE_FIELD = "_contentType";
+    private static final String SHA256_FIELD = "sha256";
+    private static final String TEXT_VERSION_FIELD = "textVersion";
+    private static final String TEXT_CONTENT_TYPE = "text/plain;charset=UTF-8";
+    // ZIP (DOCX, XLSX, ...), gzip, JPEG and PNG gain nothing from another round of compression. PDF
+    // streams are mostly compressed already, and PDF viewers read the file in ranges
+    private static final List<byte[]> COMPRESSED_MAGIC = List.of(
+            new byte[]{'P', 'K', 3, 4}, new byte[]{0x1f, (byte) 0x8b}, new byte[]{(byte) 0xff, (byte) 0xd8, (byte) 0xff},
+            new byte[]{(byte) 0x89, 'P', 'N', 'G'}, new byte[]{'%', 'P', 'D', 'F'});
+    private static final int MAGIC_LENGTH = 4;
+
     @Autowired
     private GridFsOperations gridFsOperations;
 
+    @Autowired
+    private GridFSBucket gridFsBucket;
+
+    @Autowired
+    private StorageProperties properties;
+
     public String storeFile(MultipartFile file) throws IOException {
-        return gridFsOperations.store(
-                file.getInputStream(),
-                file.getOriginalFilename(),
-                file.getContentType()
-        ).toString();
+        try (InputStream content = file.getInputStream()) {
+            return storeFile(file.getOriginalFilename(), file.getContentType(), content, file.getSize(), null);
+        }
     }
 
-    public GridFsResource getFileResource(String fileId) {
-        GridFSFile file = gridFsOperations.findOne(new Query(Criteria.where("_id").is(fileId)));
-        return file != null ? gridFsOperations.getResource(file) : null;
+    /** Stores {@code length} bytes of content; the content type and hash are kept in the file's metadata. */
+    public String storeFile(String fileName, String contentType, InputStream content, long length, String sha256) {
+        BufferedInputStream in = new BufferedInputStream(content);
+        Document metadata = new Document();
+        if (contentType != null) {
+            metadata.append(CONTENT_TYPE_FIELD, contentType);
+        }
+        if (sha256 != null) {
+            metadata.append(SHA256_FIELD, sha256);
+        }
+        StorageCodec codec = isCompressed(in) ? StorageCodec.NONE : properties.getCodec();
+        return store(fileName, in, length, codec, metadata);
+    }
+
+    /**
+     * Stores text extracted from a document. {@code version} identifies the extraction rules, so
+     * {@link #readText} can ignore text that an older extractor produced. Returns the file id, or
+     * {@code null} when {@code rfp.storage.store-text} is off.
+     */
+    public String storeText(String fileName, String text, int version) {
+        if (!properties.isStoreText()) {
+            return null;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        Document metadata = new Document(CONTENT_TYPE_FIELD, TEXT_CONTENT_TYPE).append(TEXT_VERSION_FIELD, version);
+        return store(fileName, new ByteArrayInputStream(bytes), bytes.length, properties.getCodec(), metadata);
+    }
+
+    /** The stored text, unless it is missing or was extracted by another {@code version}. */
+    public Optional<String> readText(String fileId, int version) {
+        GridFSFile file = find(fileId);
+        if (file == null || file.getMetadata() == null
+                || !Integer.valueOf(version).equals(file.getMetadata().getInteger(TEXT_VERSION_FIELD))) {
+            return Optional.empty();
+        }
+        try (InputStream in = StorageCodec.of(file.getMetadata()).decode(gridFsBucket.openDownloadStream(file.getObjectId()))) {
+            return Optional.of(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read stored text " + fileId, e);
+        }
+    }
+
+    public void deleteFile(String fileId) {
+        gridFsOperations.delete(new Query(Criteria.where("_id").is(fileId)));
+    }
+
+    /** The original content of a stored file, decompressed as it is read. */
+    public Resource getFileResource(String fileId) {
+        GridFSFile file = find(fileId);
+        return file != null ? new GridFsDownloadResource(gridFsBucket, describe(fileId, file), file.getFilename()) : null;
+    }
+
+    public Optional<StoredFile> describeFile(String fileId) {
+        GridFSFile file = find(fileId);
+        return file != null ? Optional.of(describe(fileId, file)) : Optional.empty();
+    }
+
+    public Resource openLazily(StoredFile file, String fileName) {
+        return new GridFsDownloadResource(gridFsBucket, file, fileName);
+    }
+
+    private GridFSFile find(String fileId) {
+        return gridFsOperations.findOne(new Query(Criteria.where("_id").is(fileId)));
     }
-}
 
+    private static StoredFile describe(String fileId, GridFSFile file) {
+        Document metadata = file.getMetadata() != null ? file.getMetadata() : new Document();
+        String contentType = metadata.get(CONTENT_TYPE_FIELD, MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        StorageCodec codec = StorageCodec.of(metadata);
+        long length = codec != StorageCodec.NONE
+                ? metadata.get(StorageCodec.ORIGINAL_LENGTH_FIELD, Number.class).longValue()
+                : file.getLength();
+        return new StoredFile(fileId, contentType, length, file.getUploadDate().toInstant(),
+                metadata.getString(SHA256_FIELD), codec);
+    }
+
+    private String store(String fileName, InputStream in, long length, StorageCodec codec, Document metadata) {
+        if (codec != StorageCodec.NONE) {
+            metadata.append(StorageCodec.METADATA_FIELD, codec.metadataValue())
+                    .append(StorageCodec.ORIGINAL_LENGTH_FIELD, length);
+        }
+        GridFSUploadOptions options = new GridFSUploadOptions()
+                .chunkSizeBytes(Math.toIntExact(properties.getChunkSize().toBytes()))
+                .metadata(metadata);
+        GridFSUploadStream upload = gridFsBucket.openUploadStream(fileName, options);
+        try {
+            OutputStream out = codec.encode(upload);
+            long copied = in.transferTo(out);
+            if (copied != length) {
+                throw new IOException("Expected " + length + " bytes of " + fileName + " but read " + copied);
+            }
+            // Writes the last compressed block and chunk, then the files document
+            out.close();
+        } catch (IOException | RuntimeException e) {
+            try {
+                upload.abort();
+            } catch (RuntimeException abortFailure) {
+                e.addSuppressed(abortFailure);
+            }
+            throw e instanceof IOException io ? new UncheckedIOException("Could not store " + fileName, io)
+                    : (RuntimeException) e;
+        }
+        return upload.getObjectId().toHexString();
+    }
+
+    private static boolean isCompressed(BufferedInputStream in) {
+        try {
+            in.mark(MAGIC_LENGTH);
+            byte[] head = in.readNBytes(MAGIC_LENGTH);
+            in.reset();
+            return COMPRESSED_MAGIC.stream().anyMatch(magic -> head.length >= magic.length
+                    && Arrays.equals(head, 0, magic.length, magic, 0, magic.length));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.kjr.rfp.service;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A GridFS file that is only opened when its content is read. Unlike {@code GridFsResource} it can
+ * be read more than once and reports its length up front, so Spring MVC can answer Range requests
+ * from it; chunks are fetched as the response is written and skipped chunks are never loaded.
+ * <p>
+ * Compressed files are decompressed as they are read. A range of such a file is reached by
+ * decompressing and discarding what comes before it, so every chunk up to the range is loaded.
+ */
+public class GridFsDownloadResource extends AbstractResource {
+    private final GridFSBucket bucket;
+    private final StoredFile file;
+    private final String fileName;
+
+    public GridFsDownloadResource(GridFSBucket bucket, StoredFile file, String fileName) {
+        this.bucket = bucket;
+        this.file = file;
+        this.fileName = fileName;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return file.codec().decode(bucket.openDownloadStream(new ObjectId(file.fileId())));
+    }
+
+    @Override
+    public long contentLength() {
+        return file.length();
+    }
+
+    @Override
+    public long lastModified() {
+        return file.uploadDate().toEpochMilli();
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getFilename() {
+        return fileName;
+    }
+
+    @Override
+    public String getDescription() {
+        return "GridFS file [" + file.fileId() + "]";
+    }
+}
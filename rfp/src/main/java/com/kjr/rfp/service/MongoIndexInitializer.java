@@ -0,0 +1,125 @@
+package com.kjr.rfp.service;
+
+import com.kjr.rfp.model.Resume;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared on {@link Resume} once the application has started, on a
+ * background thread so startup does not wait for index builds on a large collection.
+ * <p>
+ * Indexes missing at startup are logged before they are built. Afterwards the query planner is
+ * asked how it would run each indexed lookup, and any that would still scan the whole collection
+ * is reported.
+ */
+@Slf4j
+@Component
+public class MongoIndexInitializer {
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 @Value("${rfp.mongo.ensure-indexes:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexesOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::ensureIndexes, "mongo-index-init");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void ensureIndexes() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(Resume.class);
+            List<IndexInfo> existing = indexOps.getIndexInfo();
+            IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+            for (IndexDefinition definition : resolver.resolveIndexFor(Resume.class)) {
+                if (existing.stream().anyMatch(index -> covers(index, definition))) {
+                    continue;
+                }
+                log.info("Index {} on {} is missing; creating it", definition.getIndexKeys().toJson(), collectionName());
+                try {
+                    indexOps.createIndex(definition);
+                } catch (RuntimeException e) {
+                    log.warn("Could not create index {} on {}", definition.getIndexKeys().toJson(), collectionName(), e);
+                }
+            }
+            explainLookups();
+        } catch (RuntimeException e) {
+            log.warn("Could not check the indexes of {}; lookups may scan the collection", collectionName(), e);
+        }
+    }
+
+    private void explainLookups() {
+        Map<String, Document> lookups = new LinkedHashMap<>();
+        lookups.put("email", new Document("email", "probe@example.com"));
+        lookups.put("fileId", new Document("fileId", "000000000000000000000000"));
+        lookups.put("contentHash", new Document("contentHash", "0"));
+        lookups.put("text search", new Document("$text", new Document("$search", "java")));
+
+        for (Map.Entry<String, Document> lookup : lookups.entrySet()) {
+            Document explain = new Document("explain", new Document("find", collectionName())
+                    .append("filter", lookup.getValue()))
+                    .append("verbosity", "queryPlanner");
+            try {
+                Document planner = mongoTemplate.getDb().runCommand(explain).get("queryPlanner", Document.class);
+                List<String> stages = new ArrayList<>();
+                collectStages(planner != null ? planner.get("winningPlan") : null, stages);
+                if (stages.contains("COLLSCAN")) {
+                    log.warn("Query plan for {} lookups scans the collection: {}", lookup.getKey(), stages);
+                } else {
+                    log.info("Query plan for {} lookups: {}", lookup.getKey(), stages);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not explain {} lookups", lookup.getKey(), e);
+            }
+        }
+    }
+
+    // Plans nest their input stages under different keys by server version, so walk everything
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage != null) {
+                Object indexName = document.get("indexName");
+                stages.add(indexName != null ? stage + "(" + indexName + ")" : stage.toString());
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    private static boolean covers(IndexInfo index, IndexDefinition definition) {
+        Set<String> fields = index.getIndexFields().stream().map(IndexField::getKey).collect(Collectors.toSet());
+        boolean hashed = definition.getIndexKeys().containsValue("hashed");
+        return fields.equals(definition.getIndexKeys().keySet()) && (!hashed || index.isHashed());
+    }
+
+    private String collectionName() {
+        return mongoTemplate.getCollectionName(Resume.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.kjr.rfp.service;
+
+import com.kjr.rfp.config.CacheConfig;
+import com.kjr.rfp.model.Resume;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached resumes on every write to the collection, including bulk saves and the re-parse
+ * job's bulk replaces that do not go through {@code ResumeParserService.saveResume}, and for
+ * resumes other applications inserted. The email entry of the previously cached version is
+ * dropped too, in case the email changed, and so is the download metadata of the resume. A delete
+ * by any query other than the id clears every resume cache, since the deleted resumes are unknown.
+ */
+@Component
+public class ResumeCacheEvictor extends AbstractMongoEventListener<Resume> {
+    private final CacheManager cacheManager;
+
+    public ResumeCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Resume> event) {
+        evict(event.getSource());
+    }
+
+    /** Drops the cached lookups of a resume that was written without a Mongo event in this process. */
+    public void evict(Resume resume) {
+        evictEmail(resume.getEmail());
+        if (resume.getId() != null) {
+            evict(resume.getId());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Resume> event) {
+        Object id = event.getSource().get("_id");
+        if (id != null) {
+            evict(id.toString());
+        } else {
+            // Deleted by a query other than the id: the removed resumes are unknown
+            for (String name : new String[]{CacheConfig.RESUMES, CacheConfig.RESUMES_BY_EMAIL, CacheConfig.RESUME_FILES}) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        }
+    }
+
+    private void evict(String id) {
+        Cache files = cacheManager.getCache(CacheConfig.RESUME_FILES);
+        if (files != null) {
+            files.evict(id);
+        }
+        Cache resumes = cacheManager.getCache(CacheConfig.RESUMES);
+        if (resumes == null) {
+            return;
+        }
+        Resume previous = resumes.get(id, Resume.class);
+        if (previous != null) {
+            evictEmail(previous.getEmail());
+        }
+        resumes.evict(id);
+    }
+
+    private void evictEmail(String email) {
+        Cache byEmail = cacheManager.getCache(CacheConfig.RESUMES_BY_EMAIL);
+        if (email != null && byEmail != null) {
+            byEmail.evict(email);
+        }
+    }
+}
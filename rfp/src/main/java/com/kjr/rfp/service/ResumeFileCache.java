@@ -0,0 +1,43 @@
+package com.kjr.rfp.service;
+
+import com.kjr.rfp.config.CacheConfig;
+import com.kjr.rfp.model.Resume;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Resume id to the metadata of its original file, cached in {@link CacheConfig#RESUME_FILES}, so a
+ * repeat download is answered without loading the resume or the GridFS file document.
+ * {@link ResumeCacheEvictor} drops an entry when the resume is saved or deleted.
+ */
+@Component
+public class ResumeFileCache {
+
+    public record Entry(String fileName, StoredFile file) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final FileStorageService fileStorageService;
+
+    public ResumeFileCache(MongoTemplate mongoTemplate, FileStorageService fileStorageService) {
+        this.mongoTemplate = mongoTemplate;
+        this.fileStorageService = fileStorageService;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.RESUME_FILES, unless = "#result == null")
+    public Optional<Entry> get(String resumeId) {
+        Query query = new Query(Criteria.where("_id").is(resumeId));
+        query.fields().include("fileId", "fileName");
+        Resume resume = mongoTemplate.findOne(query, Resume.class);
+        if (resume == null || resume.getFileId() == null) {
+            return Optional.empty();
+        }
+        return fileStorageService.describeFile(resume.getFileId())
+                .map(file -> new Entry(resume.getFileName(), file));
+    }
+}
@@ -0,0 +1,71 @@
+package com.kjr.rfp.service;
+
+import org.bson.Document;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * How the content of a GridFS file is encoded. The codec is recorded in the file's metadata under
+ * {@value #METADATA_FIELD} together with the length before compression; files without it, such as
+ * everything stored before compression was introduced, are read as they are.
+ */
+public enum StorageCodec {
+    NONE {
+        @Override
+        public OutputStream encode(OutputStream out) {
+            return out;
+        }
+
+        @Override
+        public InputStream decode(InputStream in) {
+            return in;
+        }
+    },
+    GZIP {
+        @Override
+        public OutputStream encode(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+
+        @Override
+        public InputStream decode(InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+    },
+    DEFLATE {
+        @Override
+        public OutputStream encode(OutputStream out) {
+            return new DeflaterOutputStream(out);
+        }
+
+        @Override
+        public InputStream decode(InputStream in) {
+            return new InflaterInputStream(in);
+        }
+    };
+
+    public static final String METADATA_FIELD = "codec";
+    public static final String ORIGINAL_LENGTH_FIELD = "originalLength";
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Compresses what is written to the returned stream into {@code out}; closing it closes {@code out}. */
+    public abstract OutputStream encode(OutputStream out) throws IOException;
+
+    public abstract InputStream decode(InputStream in) throws IOException;
+
+    public String metadataValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static StorageCodec of(Document metadata) {
+        String codec = metadata != null ? metadata.getString(METADATA_FIELD) : null;
+        return codec != null ? valueOf(codec.toUpperCase(Locale.ROOT)) : NONE;
+    }
+}
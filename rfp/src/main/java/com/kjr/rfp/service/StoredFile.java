@@ -0,0 +1,17 @@
+package com.kjr.rfp.service;
+
+import java.time.Instant;
+
+/**
+ * GridFS file metadata needed to serve a download without reading the file document again.
+ * {@code length} is the size of the original content, before any compression by {@code codec}.
+ * {@code sha256} is {@code null} for files stored before hashes were recorded.
+ */
+public record StoredFile(String fileId, String contentType, long length, Instant uploadDate, String sha256,
+                         StorageCodec codec) {
+
+    /** Strong validator: the content hash, or the file id since GridFS files are never rewritten. */
+    public String etag() {
+        return sha256 != null ? sha256 : fileId;
+    }
+}
@@ -0,0 +1,66 @@
+package com.kjr.rfp.service.export;
+
+import org.bson.BsonDocument;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/** How exported resumes are written, one line per resume. */
+public enum ExportFormat {
+    /** The stored document as relaxed extended JSON. */
+    NDJSON("ndjson", "application/x-ndjson") {
+        @Override
+        public String header() {
+            return "";
+        }
+
+        @Override
+        public void append(BsonDocument resume, StringBuilder out) {
+            out.append(resume.toJson(JSON)).append('\n');
+        }
+    },
+    /** One row per resume, with experiences and educations flattened as described in {@link ResumeCsv}. */
+    CSV("csv", "text/csv") {
+        @Override
+        public String header() {
+            return ResumeCsv.header();
+        }
+
+        @Override
+        public void append(BsonDocument resume, StringBuilder out) {
+            ResumeCsv.append(resume, out);
+        }
+    };
+
+    private static final JsonWriterSettings JSON = JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+
+    private final String extension;
+    private final String mediaType;
+
+    ExportFormat(String extension, String mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public abstract String header();
+
+    public abstract void append(BsonDocument resume, StringBuilder out);
+
+    public static Optional<ExportFormat> of(String name) {
+        try {
+            return Optional.of(valueOf(name.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.kjr.rfp.service.export;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * RFC 4180 rows of stored resume documents. Experiences and educations are flattened into one
+ * column per field, such as {@code experiences.company}, holding the values of every entry joined
+ * by {@value #SEPARATOR}; the n-th value of each of those columns belongs to the same entry.
+ */
+final class ResumeCsv {
+    static final String SEPARATOR = "; ";
+    private static final String[] FIELDS = {"_id", "fileName", "name", "email", "phone", "summary"};
+    private static final String[] EXPERIENCE_FIELDS = {"company", "position", "duration", "description"};
+    private static final String[] EDUCATION_FIELDS = {"institution", "degree", "fieldOfStudy", "year"};
+
+    private ResumeCsv() {
+    }
+
+    static String header() {
+        List<String> columns = new ArrayList<>(List.of(FIELDS));
+        columns.add("skills");
+        for (String field : EXPERIENCE_FIELDS) {
+            columns.add("experiences." + field);
+        }
+        for (String field : EDUCATION_FIELDS) {
+            columns.add("educations." + field);
+        }
+        columns.add("parserVersion");
+        return String.join(",", columns) + "\r\n";
+    }
+
+    static void append(BsonDocument resume, StringBuilder out) {
+        for (String field : FIELDS) {
+            cell(text(resume.get(field)), out).append(',');
+        }
+        cell(joined(resume.get("skills"), null), out).append(',');
+        for (String field : EXPERIENCE_FIELDS) {
+            cell(joined(resume.get("experiences"), field), out).append(',');
+        }
+        for (String field : EDUCATION_FIELDS) {
+            cell(joined(resume.get("educations"), field), out).append(',');
+        }
+        cell(text(resume.get("parserVersion")), out).append("\r\n");
+    }
+
+    private static String joined(BsonValue array, String field) {
+        if (array == null || !array.isArray()) {
+            return "";
+        }
+        StringJoiner values = new StringJoiner(SEPARATOR);
+        for (BsonValue item : array.asArray()) {
+            if (field == null) {
+                values.add(text(item));
+            } else {
+                values.add(item.isDocument() ? text(item.asDocument().get(field)) : "");
+            }
+        }
+        return values.toString();
+    }
+
+    private static String text(BsonValue value) {
+        if (value == null) {
+            return "";
+        }
+        return switch (value.getBsonType()) {
+            case NULL, UNDEFINED -> "";
+            case STRING -> value.asString().getValue();
+            case OBJECT_ID -> value.asObjectId().getValue().toHexString();
+            case INT32 -> Integer.toString(value.asInt32().getValue());
+            case INT64 -> Long.toString(value.asInt64().getValue());
+            case DATE_TIME -> Instant.ofEpochMilli(value.asDateTime().getValue()).toString();
+            default -> value.toString();
+        };
+    }
+
+    private static StringBuilder cell(String value, StringBuilder out) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return out.append(value);
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        return out.append('"');
+    }
+}
@@ -0,0 +1,49 @@
+package com.kjr.rfp.service.export;
+
+import com.kjr.rfp.config.ExportProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Exports every resume to {@code rfp.export.output} at startup, for scheduled dumps. The file is
+ * written under a temporary name and moved into place once complete, so a reader never sees a
+ * partial export. Run it with {@code --spring.main.web-application-type=none} to exit afterwards.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "rfp.export", name = "output")
+public class ResumeExportRunner implements CommandLineRunner {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ResumeExportService exportService;
+    private final ExportProperties properties;
+
+    public ResumeExportRunner(ResumeExportService exportService, ExportProperties properties) {
+        this.exportService = exportService;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(String... args) throws IOException {
+        Path output = properties.getOutput().toAbsolutePath();
+        Path partial = Files.createTempFile(output.getParent(), output.getFileName().toString(), ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), BUFFER_SIZE)) {
+                exportService.export(properties.getFormat(), properties.isGzip(), out);
+            }
+            Files.move(partial, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote resume export to {}", output);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+}
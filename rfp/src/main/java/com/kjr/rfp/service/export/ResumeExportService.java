@@ -0,0 +1,209 @@
+package com.kjr.rfp.service.export;
+
+import com.kjr.rfp.config.ExportProperties;
+import com.kjr.rfp.model.Resume;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk export of every stored resume as NDJSON or CSV.
+ * <p>
+ * The collection is split into {@code rfp.export.parallelism} ranges of {@code _id}, by the
+ * creation time that every ObjectId starts with, and each range is read by its own cursor on its
+ * own thread. Documents arrive as {@link RawBsonDocument}s and are encoded straight from their
+ * BSON bytes, never mapped to {@link Resume}; each reader encodes into a private buffer and hands
+ * it to the shared output a block at a time, so lines never interleave but their order does.
+ */
+@Slf4j
+@Service
+public class ResumeExportService {
+    private static final int FLUSH_CHARACTERS = 64 * 1024;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final Bson PROJECTION = Projections.exclude("_class");
+
+    private final MongoTemplate mongoTemplate;
+    private final ExportProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public ResumeExportService(MongoTemplate mongoTemplate, ExportProperties properties, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Writes every resume to {@code target}, which is flushed but left open; returns the number of
+     * resumes written.
+     */
+    public long export(ExportFormat format, boolean gzip, OutputStream target) throws IOException {
+        long start = System.nanoTime();
+        MongoCollection<RawBsonDocument> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Resume.class))
+                .withDocumentClass(RawBsonDocument.class);
+        List<Bson> ranges = idRanges(collection, properties.getParallelism());
+        OutputStream out = gzip ? new GZIPOutputStream(target, GZIP_BUFFER_SIZE) : target;
+        out.write(format.header().getBytes(StandardCharsets.UTF_8));
+
+        AtomicLong documents = new AtomicLong();
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService readers = Executors.newFixedThreadPool(ranges.size(), task -> {
+            Thread thread = new Thread(task, "resume-export-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> parts = new ArrayList<>(ranges.size());
+            for (Bson range : ranges) {
+                parts.add(readers.submit(() -> {
+                    documents.addAndGet(exportRange(collection, range, format, out));
+                    return null;
+                }));
+            }
+            for (Future<?> part : parts) {
+                part.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // Stops the other readers when one of them failed
+            readers.shutdownNow();
+        }
+        if (out instanceof GZIPOutputStream compressed) {
+            compressed.finish();
+        }
+        out.flush();
+
+        long elapsed = System.nanoTime() - start;
+        long count = documents.get();
+        Timer.builder("rfp.export")
+                .description("Time to export every resume")
+                .tag("format", format.extension())
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        Counter.builder("rfp.export.documents")
+                .description("Resumes written by bulk exports")
+                .tag("format", format.extension())
+                .register(meterRegistry)
+                .increment(count);
+        log.info("Exported {} resumes as {}{} over {} cursors in {} ms ({} documents/s)", count,
+                format.extension(), gzip ? ".gz" : "", ranges.size(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                Math.round(count / Math.max(elapsed / 1e9, 1e-3)));
+        return count;
+    }
+
+    private long exportRange(MongoCollection<RawBsonDocument> collection, Bson range, ExportFormat format,
+                             OutputStream out) throws IOException {
+        long count = 0;
+        StringBuilder block = new StringBuilder(FLUSH_CHARACTERS * 2);
+        try (MongoCursor<RawBsonDocument> cursor = collection.find(range).projection(PROJECTION)
+                .batchSize(properties.getBatchSize()).cursor()) {
+            while (cursor.hasNext()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Export cancelled");
+                }
+                format.append(cursor.next(), block);
+                count++;
+                if (block.length() >= FLUSH_CHARACTERS) {
+                    write(block, out);
+                }
+            }
+        }
+        write(block, out);
+        return count;
+    }
+
+    private static void write(StringBuilder block, OutputStream out) throws IOException {
+        byte[] bytes = block.toString().getBytes(StandardCharsets.UTF_8);
+        block.setLength(0);
+        synchronized (out) {
+            out.write(bytes);
+        }
+    }
+
+    private static List<Bson> idRanges(MongoCollection<RawBsonDocument> collection, int parts) {
+        RawBsonDocument first = collection.find().projection(Projections.include("_id")).sort(Sorts.ascending("_id")).first();
+        RawBsonDocument last = collection.find().projection(Projections.include("_id")).sort(Sorts.descending("_id")).first();
+        if (parts <= 1 || first == null || last == null) {
+            return List.of(new Document());
+        }
+        BsonValue from = first.get("_id");
+        BsonValue to = last.get("_id");
+        // Ids of any other type sort outside the ObjectId ranges, so they are only covered by a full scan
+        if (!from.isObjectId() || !to.isObjectId()) {
+            return List.of(new Document());
+        }
+        return idRanges(from.asObjectId().getValue(), to.asObjectId().getValue(), parts);
+    }
+
+    /**
+     * Up to {@code parts} contiguous {@code _id} filters between two ObjectIds, split evenly by
+     * creation second. The first range has no lower and the last no upper bound.
+     */
+    static List<Bson> idRanges(ObjectId first, ObjectId last, int parts) {
+        long from = Integer.toUnsignedLong(first.getTimestamp());
+        long to = Integer.toUnsignedLong(last.getTimestamp()) + 1;
+        long step = Math.max(1, (to - from + parts - 1) / parts);
+        List<Bson> ranges = new ArrayList<>(parts);
+        ObjectId lower = null;
+        for (long second = from + step; second < to && ranges.size() < parts - 1; second += step) {
+            ObjectId upper = firstIdOf(second);
+            ranges.add(range(lower, upper));
+            lower = upper;
+        }
+        ranges.add(range(lower, null));
+        return ranges;
+    }
+
+    // The smallest ObjectId created in the given second: the timestamp followed by zeros
+    private static ObjectId firstIdOf(long second) {
+        return new ObjectId(ByteBuffer.allocate(12).putInt((int) second).array());
+    }
+
+    private static Bson range(ObjectId lower, ObjectId upper) {
+        Document bounds = new Document();
+        if (lower != null) {
+            bounds.append("$gte", lower);
+        }
+        if (upper != null) {
+            bounds.append("$lt", upper);
+        }
+        return bounds.isEmpty() ? new Document() : new Document("_id", bounds);
+    }
+}
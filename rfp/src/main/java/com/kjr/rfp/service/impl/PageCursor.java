@@ -0,0 +1,36 @@
+package com.kjr.rfp.service.impl;
+
+import com.kjr.rfp.exception.InvalidCursorException;
+
+/**
+ * Page cursors tagged with the kind of position they hold, as {@code <kind>:<position>}. While an
+ * in-memory index rebuilds, the same search is answered from Mongo and pages differently, so a
+ * cursor is only read by the path that issued it; a cursor of another kind starts the search
+ * again from the first page.
+ */
+final class PageCursor {
+    /** The {@code _id} of the last resume on the page. */
+    static final char KEYSET = 'k';
+    /** A position in one of the in-memory search indexes. */
+    static final char INDEX = 'i';
+    /** The number of results before the page, for Mongo text search ranked by score. */
+    static final char OFFSET = 'o';
+
+    private PageCursor() {
+    }
+
+    static String of(char kind, String position) {
+        return position != null ? kind + ":" + position : null;
+    }
+
+    /** The position held by a cursor of {@code kind}; {@code null} for no cursor or one of another kind. */
+    static String position(String cursor, char kind) {
+        if (cursor == null) {
+            return null;
+        }
+        if (cursor.length() < 3 || cursor.charAt(1) != ':') {
+            throw new InvalidCursorException(cursor);
+        }
+        return cursor.charAt(0) == kind ? cursor.substring(2) : null;
+    }
+}
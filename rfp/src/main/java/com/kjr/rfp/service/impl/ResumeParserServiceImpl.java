@@ -1,304 +1,369 @@
 package com.kjr.rfp.service.impl;
 
-import com.kjr.rfp.model.Education;
-import com.kjr.rfp.model.Experience;
+import com.kjr.rfp.config.CacheConfig;
+import com.kjr.rfp.exception.InvalidCursorException;
 import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.model.ResumePage;
+import com.kjr.rfp.model.ResumeSummary;
+import com.kjr.rfp.model.SimilarResume;
+import com.kjr.rfp.model.SkillSearchPage;
 import com.kjr.rfp.repository.ResumeRepository;
 import com.kjr.rfp.service.FileStorageService;
+import com.kjr.rfp.service.parser.ResumeParser;
 import com.kjr.rfp.service.parser.ResumeParserService;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import com.kjr.rfp.service.parser.ResumeSections;
+import com.kjr.rfp.service.search.ResumeSearchIndex;
+import com.kjr.rfp.service.search.ResumeSearchIndex.Hit;
+import com.kjr.rfp.service.search.ResumeSummaryStore;
+import com.kjr.rfp.service.search.SearchTokenizer;
+import com.kjr.rfp.service.search.SimilarityIndex;
+import com.kjr.rfp.service.search.SkillFacetIndex;
+import com.kjr.rfp.service.search.SkillQuery;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.Matcher;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ResumeParserServiceImpl implements ResumeParserService {
     ResumeRepository resumeRepository;
     FileStorageService fileStorageService;
+    ResumeSearchIndex searchIndex;
+    SkillFacetIndex skillFacetIndex;
+    ResumeSummaryStore summaryStore;
+    SimilarityIndex similarityIndex;
+    MongoTemplate mongoTemplate;
+    ResumeParser parser;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int TOP_FACETS = 10;
+
+    private final Timer saveTimer;
+    private final Timer batchSaveTimer;
+    private final SearchMeters indexSearch;
+    private final SearchMeters mongoSearch;
+    private final SearchMeters listing;
+    private final SearchMeters facetSearch;
+    private final SearchMeters mongoFacetSearch;
+    private final SearchMeters similarSearch;
 
     @Autowired
-    public ResumeParserServiceImpl(ResumeRepository resumeRepository, FileStorageService fileStorageService) {
+    public ResumeParserServiceImpl(ResumeRepository resumeRepository, FileStorageService fileStorageService,
+                                   ResumeSearchIndex searchIndex, SkillFacetIndex skillFacetIndex,
+                                   ResumeSummaryStore summaryStore, SimilarityIndex similarityIndex,
+                                   MongoTemplate mongoTemplate, ResumeParser parser, MeterRegistry meterRegistry) {
         this.resumeRepository = resumeRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.parser = parser;
         this.fileStorageService = fileStorageService;
+        this.searchIndex = searchIndex;
+        this.skillFacetIndex = skillFacetIndex;
+        this.summaryStore = summaryStore;
+        this.similarityIndex = similarityIndex;
+
+        this.saveTimer = saveTimer(meterRegistry, "single");
+        this.batchSaveTimer = saveTimer(meterRegistry, "batch");
+        this.indexSearch = new SearchMeters(meterRegistry, "index");
+        this.mongoSearch = new SearchMeters(meterRegistry, "mongo");
+        this.listing = new SearchMeters(meterRegistry, "list");
+        this.facetSearch = new SearchMeters(meterRegistry, "facets");
+        this.mongoFacetSearch = new SearchMeters(meterRegistry, "mongo_facets");
+        this.similarSearch = new SearchMeters(meterRegistry, "similar");
+    }
+
+    private static Timer saveTimer(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder("rfp.resume.save")
+                .description("Mongo save time for parsed resumes")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    /** Latency and result count of one way of answering a search. */
+    private record SearchMeters(Timer latency, DistributionSummary results) {
+
+        SearchMeters(MeterRegistry meterRegistry, String source) {
+            this(Timer.builder("rfp.search")
+                            .description("Search latency by the path that answered it")
+                            .tag("source", source)
+                            .register(meterRegistry),
+                    DistributionSummary.builder("rfp.search.results")
+                            .description("Resumes returned per search page")
+                            .tag("source", source)
+                            .register(meterRegistry));
+        }
+
+        ResumePage record(long startNanos, ResumePage page) {
+            record(startNanos, page.items().size());
+            return page;
+        }
+
+        SkillSearchPage record(long startNanos, SkillSearchPage page) {
+            record(startNanos, page.items().size());
+            return page;
+        }
+
+        List<SimilarResume> record(long startNanos, List<SimilarResume> similar) {
+            record(startNanos, similar.size());
+            return similar;
+        }
+
+        private void record(long startNanos, int resultCount) {
+            latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            results.record(resultCount);
+        }
     }
 
     @Override
     public Resume parseResume(MultipartFile file) throws Exception {
-        String fileName = file.getOriginalFilename();
-        String content = extractTextFromFile(file);
-
-        Resume resume = new Resume();
-        resume.setFileName(fileName);
-        resume.setName(extractName(content));
-        resume.setEmail(extractEmail(content));
-        resume.setPhone(extractPhone(content));
-        resume.setSummary(extractSummary(content));
-        resume.setSkills(extractSkills(content));
-        resume.setExperiences(extractExperiences(content));
-        resume.setEducations(extractEducations(content));
-
-        return resume;
+        try (InputStream is = file.getInputStream()) {
+            return parseResume(file.getOriginalFilename(), is);
+        }
     }
 
     @Override
-    public Resume saveResume(Resume resume) {
-        return resumeRepository.save(resume);
+    public Resume parseResume(String fileName, InputStream is) throws Exception {
+        return parser.parseResume(fileName, is);
     }
 
     @Override
-    public Optional<Resume> getResumeByEmail(String email) {
-        return Optional.ofNullable(resumeRepository.findByEmail(email));
+    public Resume parseSections(String fileName, ResumeSections sections) {
+        return parser.parseSections(fileName, sections);
     }
 
     @Override
-    public List<List<Resume>> getResumes() {
-        return List.of(resumeRepository.findAll());
+    public Resume parseContactFields(String fileName, InputStream is) throws Exception {
+        return parser.parseContactFields(fileName, is);
     }
 
     @Override
-    public Optional<Optional<Resume>> getResumeById(String id) {
-        return Optional.of(resumeRepository.findById(id));
+    @CachePut(cacheNames = CacheConfig.RESUMES, key = "#result.id")
+    public Resume saveResume(Resume resume) {
+        return saveTimer.record(() -> resumeRepository.save(resume));
     }
 
     @Override
-    public String storeFile(MultipartFile file) throws IOException {
-        return fileStorageService.storeFile(file);
+    public List<Resume> saveResumes(List<Resume> resumes) {
+        return batchSaveTimer.record(() -> resumeRepository.saveAll(resumes));
     }
 
     @Override
-    public Optional<Resume> findById(String id) {
-        return resumeRepository.findById(id);
+    @Cacheable(cacheNames = CacheConfig.RESUMES_BY_EMAIL, key = "#email")
+    public Optional<Resume> getResumeByEmail(String email) {
+        return Optional.ofNullable(resumeRepository.findByEmail(email));
     }
 
-    private String extractTextFromFile(MultipartFile file) throws IOException {
-        String fileName = file.getOriginalFilename();
-
-        if (fileName != null && fileName.toLowerCase().endsWith(".pdf")) {
-            try (InputStream is = file.getInputStream(); PDDocument document = PDDocument.load(is)) {
-                return new PDFTextStripper().getText(document);
-            }
-        } else if (fileName != null && fileName.toLowerCase().endsWith(".docx")) {
-            try (InputStream is = file.getInputStream(); XWPFDocument document = new XWPFDocument(is)) {
-                return new XWPFWordExtractor(document).getText();
-            }
+    @Override
+    public ResumePage searchResumes(String query, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long start = System.nanoTime();
+        if (query == null || query.isBlank()) {
+            String after = PageCursor.position(cursor, PageCursor.KEYSET);
+            return listing.record(start, keyset(summaryStore.isReady()
+                    ? summaryStore.page(after, pageSize)
+                    : pageByIdAfter(new Criteria(), after, pageSize)));
         }
-        // Add support for other formats as needed
-        return "";
+        if (!searchIndex.isReady()) {
+            return mongoSearch.record(start, textSearch(query, cursor, pageSize));
+        }
+        return indexSearch.record(start, searchIndex(query, cursor, pageSize));
     }
 
-    private String extractName(String content) {
-        // Pattern 1: Look for name at the very top of the document (most common case)
-        Pattern namePattern = Pattern.compile(
-                "^(?i)(?:[A-Z][a-z]+(?:\\s+[A-Z][a-z]+)+)(?=\\s*\\n)",
-                Pattern.MULTILINE
-        );
-        Matcher matcher = namePattern.matcher(content);
-        if (matcher.find()) {
-            return matcher.group().trim();
+    private ResumePage searchIndex(String query, String cursor, int pageSize) {
+        String after = PageCursor.position(cursor, PageCursor.INDEX);
+        List<Hit> hits = searchIndex.search(query, after != null ? Hit.parseCursor(after) : null, pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
         }
+        List<ResumeSummary> items = summariesInOrder(hits.stream().map(Hit::id).toList());
+        String next = hasMore ? hits.get(hits.size() - 1).cursor() : null;
+        return new ResumePage(items, PageCursor.of(PageCursor.INDEX, next));
+    }
 
-        // Pattern 2: Look for name after common headings
-        Pattern headingPattern = Pattern.compile(
-                "(?i)(?:name|full name|contact information|personal details)[:\\s]*\\n([A-Z][a-z]+(?:\\s+[A-Z][a-z]+)+)",
-                Pattern.MULTILINE
-        );
-        matcher = headingPattern.matcher(content);
-        if (matcher.find()) {
-            return matcher.group(1).trim();
-        }
+    private static ResumePage keyset(ResumePage page) {
+        return new ResumePage(page.items(), PageCursor.of(PageCursor.KEYSET, page.nextCursor()));
+    }
 
-        // Pattern 3: Look for name in email address (fallback)
-        Pattern emailPattern = Pattern.compile(
-                "\\b([A-Z][a-z]+\\.[A-Z][a-z]+|[A-Z][a-z]+)\\b(?=@|\\s)",
-                Pattern.MULTILINE
-        );
-        matcher = emailPattern.matcher(content);
-        if (matcher.find()) {
-            return matcher.group(1).replace(".", " ").trim();
+    private List<ResumeSummary> summariesInOrder(List<String> ids) {
+        if (summaryStore.isReady()) {
+            return summaryStore.get(ids);
         }
-
-        return "Unknown"; // Fallback if no name found
+        // The $in query does not preserve order, so restore the order of the ids
+        Map<String, ResumeSummary> byId = mongoTemplate.find(summaryQuery(Criteria.where("_id").in(ids)),
+                        ResumeSummary.class, collectionName())
+                .stream()
+                .collect(Collectors.toMap(ResumeSummary::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 
-
-    private String extractEmail(String content) {
-        Pattern pattern = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}");
-        Matcher matcher = pattern.matcher(content);
-        return matcher.find() ? matcher.group() : "";
+    @Override
+    public SkillSearchPage searchBySkills(SkillQuery query, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long start = System.nanoTime();
+        SkillQuery canonical = skillFacetIndex.canonicalize(query);
+        if (!skillFacetIndex.isReady()) {
+            return mongoFacetSearch.record(start,
+                    scanSkills(canonical, PageCursor.position(cursor, PageCursor.KEYSET), pageSize));
+        }
+        SkillFacetIndex.Result result = skillFacetIndex.search(canonical,
+                PageCursor.position(cursor, PageCursor.INDEX), pageSize, TOP_FACETS);
+        return facetSearch.record(start, new SkillSearchPage(summariesInOrder(result.ids()),
+                PageCursor.of(PageCursor.INDEX, result.nextCursor()), result.total(), result.facets()));
     }
 
-    private String extractPhone(String content) {
-        Pattern pattern = Pattern.compile("(\\+\\d{1,3}[- ]?)?\\d{10}");
-        Matcher matcher = pattern.matcher(content);
-        return matcher.find() ? matcher.group() : "";
+    @Override
+    public List<SimilarResume> findSimilar(String id, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long start = System.nanoTime();
+        List<SimilarityIndex.Match> matches = similarityIndex.similar(id, limit);
+        Map<String, Double> similarity = matches.stream()
+                .collect(Collectors.toMap(SimilarityIndex.Match::id, SimilarityIndex.Match::similarity));
+        List<ResumeSummary> summaries = summariesInOrder(matches.stream().map(SimilarityIndex.Match::id).toList());
+        return similarSearch.record(start, summaries.stream()
+                .map(summary -> new SimilarResume(summary, similarity.get(summary.getId())))
+                .toList());
     }
 
-    private String extractSummary(String content) {
-        // Try to find summary section using common headings
-        Pattern sectionPattern = Pattern.compile(
-                "(?i)(?:Summary|Professional Summary|Profile|Career Summary|About Me)[:\\s]*(.*?)(?=\\n\\s*\\n|$)",
-                Pattern.DOTALL
-        );
-
-        Matcher sectionMatcher = sectionPattern.matcher(content);
-        if (sectionMatcher.find()) {
-            return sectionMatcher.group(1).trim();
+    // Used until the facet index has finished its startup rebuild; there are no facet counts
+    private SkillSearchPage scanSkills(SkillQuery query, String cursor, int pageSize) {
+        List<Criteria> clauses = new ArrayList<>();
+        if (!query.all().isEmpty()) {
+            clauses.add(Criteria.where("skills").all(skillPatterns(query.all())));
         }
-
-        // Fallback to first few lines if no dedicated section found
-        String[] lines = content.split("\\r?\\n");
-        return lines.length > 0 ? lines[0] : "";
+        if (!query.any().isEmpty()) {
+            clauses.add(Criteria.where("skills").in(skillPatterns(query.any())));
+        }
+        if (!query.none().isEmpty()) {
+            clauses.add(Criteria.where("skills").nin(skillPatterns(query.none())));
+        }
+        Criteria criteria = clauses.isEmpty() ? new Criteria() : new Criteria().andOperator(clauses);
+        ResumePage page = pageByIdAfter(criteria, cursor, pageSize);
+        long total = mongoTemplate.count(new Query(criteria), collectionName());
+        return new SkillSearchPage(page.items(), keyset(page).nextCursor(), total, List.of());
     }
 
+    private static List<Pattern> skillPatterns(List<String> skills) {
+        return skills.stream()
+                .map(skill -> Pattern.compile("^" + Pattern.quote(skill) + "$", Pattern.CASE_INSENSITIVE))
+                .toList();
+    }
 
-    private List<String> extractSkills(String content) {
-        // First try to find skills section using common headings
-        Pattern sectionPattern = Pattern.compile(
-                "(?i)(?:Skillset|TECHNICAL SKILLS|Skills|Technical Skills|Key Skills|Core Competencies)[:\\s]*(.*?)(?=\\n\\s*\\n|$)",
-                Pattern.DOTALL
-        );
+    // Used until the search index has finished its startup rebuild: email addresses go to the
+    // hashed email index, anything else to the text index over name, summary and skills
+    private ResumePage textSearch(String query, String cursor, int pageSize) {
+        String trimmed = query.trim();
+        if (trimmed.indexOf('@') >= 0) {
+            return keyset(pageByIdAfter(Criteria.where("email").is(trimmed),
+                    PageCursor.position(cursor, PageCursor.KEYSET), pageSize));
+        }
+        // Quoted terms must all match, as every query token must in the in-memory index
+        List<String> tokens = SearchTokenizer.tokenize(trimmed);
+        if (tokens.isEmpty()) {
+            return new ResumePage(List.of(), null);
+        }
+        TextCriteria criteria = TextCriteria.forDefaultLanguage();
+        tokens.forEach(criteria::matchingPhrase);
+        String after = PageCursor.position(cursor, PageCursor.OFFSET);
+        int offset = after != null ? parseOffset(after) : 0;
+        TextQuery text = TextQuery.queryText(criteria).sortByScore();
+        text.fields().include(ResumeSummary.FIELDS);
+        text.skip(offset).limit(pageSize + 1);
+
+        List<ResumeSummary> items = mongoTemplate.find(text, ResumeSummary.class, collectionName());
+        if (items.size() <= pageSize) {
+            return new ResumePage(items, null);
+        }
+        String next = PageCursor.of(PageCursor.OFFSET, Integer.toString(offset + pageSize));
+        return new ResumePage(items.subList(0, pageSize), next);
+    }
 
-        Matcher sectionMatcher = sectionPattern.matcher(content);
-        if (sectionMatcher.find()) {
-            String skillsSection = sectionMatcher.group(1).trim();
-            // Extract individual skills from the section
-            return Arrays.asList(skillsSection.split("[,\\n]\\s*"));
+    private static int parseOffset(String cursor) {
+        try {
+            return Math.max(0, Integer.parseInt(cursor));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
         }
+    }
 
-        // Fallback to simple keyword matching if no section found
-        List<String> commonSkills = Arrays.asList(
-                "Java", "Spring", "Python", "JavaScript", "SQL",
-                "MongoDB", "React", "Angular", "Node.js", "AWS",
-                "Docker", "Kubernetes", "Git", "REST API", "Microservices"
-        );
-
-        List<String> foundSkills = new ArrayList<>();
-        for (String skill : commonSkills) {
-            if (content.toLowerCase().contains(skill.toLowerCase())) {
-                foundSkills.add(skill);
-            }
+    private ResumePage pageByIdAfter(Criteria criteria, String cursor, int pageSize) {
+        Criteria keyset = cursor != null ? new Criteria().andOperator(criteria, Criteria.where("_id").gt(cursor)) : criteria;
+        Query query = summaryQuery(keyset).with(Sort.by(Sort.Direction.ASC, "_id")).limit(pageSize + 1);
+        List<ResumeSummary> items = mongoTemplate.find(query, ResumeSummary.class, collectionName());
+        if (items.size() <= pageSize) {
+            return new ResumePage(items, null);
         }
-        return foundSkills;
+        items = items.subList(0, pageSize);
+        return new ResumePage(items, items.get(pageSize - 1).getId());
     }
 
-    private List<Experience> extractExperiences(String content) {
-        List<Experience> experiences = new ArrayList<>();
-
-        // First try to find experience section using common headings
-        Pattern sectionPattern = Pattern.compile(
-                "(?i)(?:Work Experience|PROFESSIONAL EXPERIENCE|Employment History|Career History)[:\\s]*(.*?)(?=\\n\\s*(?:Education|Skills|$))",
-                Pattern.DOTALL
-        );
-
-        Matcher sectionMatcher = sectionPattern.matcher(content);
-        if (sectionMatcher.find()) {
-            String experienceSection = sectionMatcher.group(1).trim();
-
-            // Extract individual experiences from the section
-            Pattern experiencePattern = Pattern.compile(
-                    "(?i)(.*?)\\s*\\n(.*?)\\s*\\n(.*?)\\s*\\n(.*?)(?=\\n\\s*\\n|$)",
-                    Pattern.DOTALL
-            );
-
-            Matcher experienceMatcher = experiencePattern.matcher(experienceSection);
-            while (experienceMatcher.find()) {
-                Experience exp = new Experience();
-                exp.setCompany(experienceMatcher.group(1).trim());
-                exp.setPosition(experienceMatcher.group(2).trim());
-                exp.setDuration(experienceMatcher.group(3).trim());
-                exp.setDescription(experienceMatcher.group(4).trim());
-                experiences.add(exp);
-            }
-        } else {
-            // Fallback to simple pattern matching if no section found
-            Pattern pattern = Pattern.compile("(?i)(.*?)\\s*\\n(.*?)\\s*\\n(.*?)\\s*\\n(.*?)(?=\\n\\n|$)");
-            Matcher matcher = pattern.matcher(content);
-
-            while (matcher.find()) {
-                Experience exp = new Experience();
-                exp.setCompany(matcher.group(1).trim());
-                exp.setPosition(matcher.group(2).trim());
-                exp.setDuration(matcher.group(3).trim());
-                exp.setDescription(matcher.group(4).trim());
-                experiences.add(exp);
-            }
+    @Override
+    public Stream<ResumeSummary> streamResumeSummaries() {
+        if (summaryStore.isReady()) {
+            return summaryStore.stream();
         }
+        Query query = summaryQuery(new Criteria()).with(Sort.by(Sort.Direction.ASC, "_id"));
+        return mongoTemplate.stream(query, ResumeSummary.class, collectionName());
+    }
 
-        return experiences;
+    private static Query summaryQuery(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields().include(ResumeSummary.FIELDS);
+        return query;
     }
 
+    private String collectionName() {
+        return mongoTemplate.getCollectionName(Resume.class);
+    }
 
-    private List<Education> extractEducations(String content) {
-        List<Education> educations = new ArrayList<>();
-
-        // First try to find education section using common headings
-        Pattern sectionPattern = Pattern.compile(
-                "(?i)(?:Educational Qualification|Academic Profile|Education|Academic Background|Academic Qualifications)[:\\s]*(.*?)(?=\\n\\s*(?:Experience|Skills|$))",
-                Pattern.DOTALL
-        );
-
-        Matcher sectionMatcher = sectionPattern.matcher(content);
-        if (sectionMatcher.find()) {
-            String educationSection = sectionMatcher.group(1).trim();
-
-            // Extract individual education entries from the section
-            Pattern educationPattern = Pattern.compile(
-                    "(?i)(.*?)\\s*\\n(.*?)\\s*\\n(.*?)\\s*\\n(.*?)(?=\\n\\s*\\n|$)",
-                    Pattern.DOTALL
-            );
-
-            Matcher educationMatcher = educationPattern.matcher(educationSection);
-            while (educationMatcher.find()) {
-                Education edu = new Education();
-                edu.setInstitution(educationMatcher.group(1).trim());
-                Pattern degreePattern = Pattern.compile("(?<degree>(?:" +
-                        "B\\.?[A-Z]*\\.?|Bachelor(?:'s)?|BBA|BCA|Bsc|B.Tech|B.E|B.A|B.Com" +  // Bachelor degrees
-                        "M\\.?[A-Z]*\\.?|Master(?:'s)?|MCA|MBA|M.Tech|M.E|M.A|M.Com|M.Sc|M.B.A|M.E" +     // Master degrees
-                        "PhD|Doctorate" +                     // Doctoral degrees
-                        "Associate|Diploma|Certificate" +     // Other qualifications
-                        ")[\\s\\w\\-]+(?:in|of)?\\s*[\\w\\s]+)");
-                Matcher degreeMatcher = degreePattern.matcher(educationMatcher.group(1).trim()
-                        .replaceAll("\\s+", " ") // Normalize whitespace
-                        .replaceAll("\\b(in|of)\\b", "in") // Standardize "in/of"
-                        .replaceAll("\\s+", " "));
-                String degreeFromInstitution = degreeMatcher.find() ? degreeMatcher.group() : null;
-                edu.setDegree(degreeFromInstitution);
-                edu.setFieldOfStudy(educationMatcher.group(3).trim());
-                Pattern yearInInstitution = Pattern.compile("\\b(19|20)\\d{2}\\b");
-                Matcher yearMatcher = yearInInstitution.matcher(educationMatcher.group(1).trim());
-                String yearFromInstitution = yearMatcher.find() ? yearMatcher.group() : null;
-                edu.setYear(yearFromInstitution);
-                educations.add(edu);
-            }
-        } else {
-            // Fallback to simple pattern matching if no section found
-            Pattern pattern = Pattern.compile("(?i)(.*?)\\s*\\n(.*?)\\s*\\n(.*?)\\s*\\n(.*?)(?=\\n\\n|$)");
-            Matcher matcher = pattern.matcher(content);
-
-            while (matcher.find()) {
-                Education edu = new Education();
-                edu.setInstitution(matcher.group(1).trim());
-                edu.setDegree(matcher.group(2).trim());
-                edu.setFieldOfStudy(matcher.group(3).trim());
-                edu.setYear(matcher.group(4).trim());
-                educations.add(edu);
-            }
-        }
+    @Override
+    @Cacheable(cacheNames = CacheConfig.RESUMES, key = "#id")
+    public Optional<Resume> getResumeById(String id) {
+        return resumeRepository.findById(id);
+    }
 
-        return educations;
+    @Override
+    public String storeFile(MultipartFile file) throws IOException {
+        return fileStorageService.storeFile(file);
     }
 
-}
+    @Override
+    @Cacheable(cacheNames = CacheConfig.RESUMES, key = "#id")
+    public Optional<Resume> findById(String id) {
+        return resumeRepository.findById(id);
+    }
+
+    // Cached by id, so the next duplicate of the same file is answered from memory
+    @Override
+    @CachePut(cacheNames = CacheConfig.RESUMES, key = "#result.id", unless = "#result == null")
+    public Optional<Resume> findByContentHash(String contentHash) {
+        return resumeRepository.findFirstByContentHash(contentHash);
+    }
 
+    @Override
+    public ResumeSections extractSections(String fileName, InputStream is) throws IOException {
+        return parser.extractSections(fileName, is);
+    }
+}
@@ -0,0 +1,74 @@
+package com.kjr.rfp.service.ingest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one bulk ingestion request. Counters are updated by the parse workers while the
+ * job runs; {@link #status()} takes a consistent-enough snapshot for the status endpoint.
+ */
+public class BulkIngestJob {
+
+    public enum State {QUEUED, RUNNING, COMPLETED, FAILED}
+
+    public record FileError(String fileName, String message) {
+    }
+
+    public record Status(String jobId, State state, int submitted, int processed, int succeeded, int duplicates,
+                         int failed, List<FileError> errors, Instant createdAt, Instant finishedAt) {
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Instant createdAt = Instant.now();
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger duplicates = new AtomicInteger();
+    private final List<FileError> errors = new ArrayList<>();
+    private volatile State state = State.QUEUED;
+    private volatile Instant finishedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    void started() {
+        state = State.RUNNING;
+    }
+
+    void documentSubmitted() {
+        submitted.incrementAndGet();
+    }
+
+    void documentsSucceeded(int count) {
+        succeeded.addAndGet(count);
+    }
+
+    void documentDuplicate() {
+        duplicates.incrementAndGet();
+    }
+
+    synchronized void documentFailed(String fileName, Throwable cause) {
+        String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        errors.add(new FileError(fileName, message));
+    }
+
+    void finished(State finalState) {
+        finishedAt = Instant.now();
+        state = finalState;
+    }
+
+    public synchronized Status status() {
+        int failed = errors.size();
+        int ok = succeeded.get();
+        int duplicate = duplicates.get();
+        return new Status(id, state, submitted.get(), ok + duplicate + failed, ok, duplicate, failed,
+                List.copyOf(errors), createdAt, finishedAt);
+    }
+}
@@ -0,0 +1,280 @@
+package com.kjr.rfp.service.ingest;
+
+import com.kjr.rfp.config.IngestProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.ResumeParserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Asynchronous ingestion of many resumes at once, either as separate files or as ZIP archives.
+ * <p>
+ * The request only spools the uploads to temp files and returns a job id. A dispatcher thread then
+ * feeds the documents one by one to the bounded {@code bulkParseExecutor}; parsed resumes are
+ * collected and written with batched {@code saveAll} calls. A document that fails is recorded on
+ * the job and does not affect the rest of the batch. Documents identical to one already stored, or
+ * to an earlier document of the same job, count as duplicates.
+ */
+@Slf4j
+@Service
+public class BulkIngestService {
+    private final ResumeIngestService resumeIngestService;
+    private final ResumeParserService resumeParserService;
+    private final Executor bulkParseExecutor;
+    private final Executor bulkDispatchExecutor;
+    private final IngestProperties properties;
+    private final Map<String, BulkIngestJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkIngestService(ResumeIngestService resumeIngestService, ResumeParserService resumeParserService,
+                             @Qualifier("bulkParseExecutor") Executor bulkParseExecutor,
+                             @Qualifier("bulkDispatchExecutor") Executor bulkDispatchExecutor,
+                             IngestProperties properties) {
+        this.resumeIngestService = resumeIngestService;
+        this.resumeParserService = resumeParserService;
+        this.bulkParseExecutor = bulkParseExecutor;
+        this.bulkDispatchExecutor = bulkDispatchExecutor;
+        this.properties = properties;
+    }
+
+    public BulkIngestJob submit(List<MultipartFile> files) throws IOException {
+        evictExpiredJobs();
+        List<SpooledUpload> uploads = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                if (!file.isEmpty()) {
+                    uploads.add(SpooledUpload.of(file));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            uploads.forEach(SpooledUpload::delete);
+            throw e;
+        }
+
+        BulkIngestJob job = new BulkIngestJob();
+        jobs.put(job.getId(), job);
+        bulkDispatchExecutor.execute(() -> run(job, uploads));
+        return job;
+    }
+
+    public Optional<BulkIngestJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(BulkIngestJob job, List<SpooledUpload> uploads) {
+        job.started();
+        BatchWriter writer = new BatchWriter(job);
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        try {
+            for (SpooledUpload upload : uploads) {
+                if (upload.isArchive()) {
+                    dispatchArchive(job, upload, writer, pending);
+                } else {
+                    dispatch(job, upload.fileName(),
+                            () -> IngestBuffer.ofFile(upload.fileName(), upload.contentType(), upload.file()),
+                            writer, pending);
+                }
+            }
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+            writer.flush();
+            job.finished(BulkIngestJob.State.COMPLETED);
+            log.info("Bulk ingestion job {} finished: {}", job.getId(), job.status());
+        } catch (RuntimeException e) {
+            log.error("Bulk ingestion job {} failed", job.getId(), e);
+            job.finished(BulkIngestJob.State.FAILED);
+        } finally {
+            uploads.forEach(SpooledUpload::delete);
+        }
+    }
+
+    private void dispatchArchive(BulkIngestJob job, SpooledUpload archive, BatchWriter writer,
+                                 List<CompletableFuture<Void>> pending) {
+        long maxEntrySize = properties.getMaxArchiveEntrySize().toBytes();
+        long inMemoryThreshold = properties.getInMemoryThreshold().toBytes();
+        try (ZipFile zip = new ZipFile(archive.file().toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (entry.isDirectory() || isHidden(name)) {
+                    continue;
+                }
+                // Read in the dispatcher so the archive is scanned sequentially. Entries above the
+                // in-memory threshold are spooled to temp files, so the entries waiting in the parse
+                // queue hold at most parse-queue-capacity times that threshold on the heap
+                String fileName = name.substring(name.lastIndexOf('/') + 1);
+                IngestBuffer buffer;
+                try (InputStream in = zip.getInputStream(entry)) {
+                    buffer = IngestBuffer.of(fileName, contentTypeOf(fileName), in, inMemoryThreshold, maxEntrySize);
+                } catch (IOException e) {
+                    job.documentSubmitted();
+                    job.documentFailed(name, e);
+                    continue;
+                }
+                dispatch(job, name, () -> buffer, writer, pending);
+            }
+        } catch (IOException e) {
+            job.documentSubmitted();
+            job.documentFailed(archive.fileName(), e);
+        }
+    }
+
+    private void dispatch(BulkIngestJob job, String displayName, BufferSource source, BatchWriter writer,
+                          List<CompletableFuture<Void>> pending) {
+        job.documentSubmitted();
+        pending.add(CompletableFuture.runAsync(() -> {
+            try (IngestBuffer buffer = source.open()) {
+                String contentHash = buffer.sha256();
+                if (!writer.claim(contentHash) || resumeIngestService.findDuplicate(buffer).isPresent()) {
+                    job.documentDuplicate();
+                    return;
+                }
+                Resume prepared;
+                try {
+                    prepared = resumeIngestService.prepare(buffer);
+                } catch (Exception e) {
+                    // A later copy of a document that could not be parsed gets its own attempt
+                    writer.release(contentHash);
+                    throw e;
+                }
+                writer.add(displayName, prepared);
+            } catch (Exception e) {
+                job.documentFailed(displayName, e);
+            }
+        }, bulkParseExecutor));
+    }
+
+    private void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(properties.getJobRetention());
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private static boolean isHidden(String entryName) {
+        String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+        return entryName.startsWith("__MACOSX/") || fileName.startsWith(".");
+    }
+
+    private static String contentTypeOf(String fileName) {
+        return MediaTypeFactory.getMediaType(fileName).map(MediaType::toString)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
+
+    @FunctionalInterface
+    private interface BufferSource {
+        IngestBuffer open() throws IOException;
+    }
+
+    private record SpooledUpload(String fileName, String contentType, Path file) {
+
+        static SpooledUpload of(MultipartFile multipartFile) throws IOException {
+            Path file = Files.createTempFile("rfp-bulk-", ".bin");
+            try {
+                multipartFile.transferTo(file.toFile());
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return new SpooledUpload(multipartFile.getOriginalFilename(), multipartFile.getContentType(), file);
+        }
+
+        boolean isArchive() {
+            return (fileName != null && fileName.toLowerCase().endsWith(".zip"))
+                    || "application/zip".equals(contentType)
+                    || "application/x-zip-compressed".equals(contentType);
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete spooled upload {}", file, e);
+            }
+        }
+    }
+
+    /** Collects parsed resumes of one job and writes them with {@code saveAll} in fixed-size batches. */
+    private final class BatchWriter {
+        private final BulkIngestJob job;
+        private final List<String> names = new ArrayList<>();
+        private final List<Resume> resumes = new ArrayList<>();
+        // Identical documents parsed in parallel would all pass findDuplicate before the first is saved
+        private final Set<String> contentHashes = ConcurrentHashMap.newKeySet();
+
+        private BatchWriter(BulkIngestJob job) {
+            this.job = job;
+        }
+
+        /** Returns whether this is the job's first document with these bytes. */
+        boolean claim(String contentHash) {
+            return contentHashes.add(contentHash);
+        }
+
+        void release(String contentHash) {
+            contentHashes.remove(contentHash);
+        }
+
+        void add(String displayName, Resume resume) {
+            List<String> batchNames;
+            List<Resume> batch;
+            synchronized (this) {
+                names.add(displayName);
+                resumes.add(resume);
+                if (resumes.size() < properties.getBatchSize()) {
+                    return;
+                }
+                batchNames = List.copyOf(names);
+                batch = List.copyOf(resumes);
+                names.clear();
+                resumes.clear();
+            }
+            save(batchNames, batch);
+        }
+
+        void flush() {
+            List<String> batchNames;
+            List<Resume> batch;
+            synchronized (this) {
+                batchNames = List.copyOf(names);
+                batch = List.copyOf(resumes);
+                names.clear();
+                resumes.clear();
+            }
+            if (!batch.isEmpty()) {
+                save(batchNames, batch);
+            }
+        }
+
+        private void save(List<String> batchNames, List<Resume> batch) {
+            try {
+                resumeParserService.saveResumes(batch);
+                job.documentsSucceeded(batch.size());
+            } catch (RuntimeException e) {
+                log.warn("Saving a batch of {} resumes for job {} failed", batch.size(), job.getId(), e);
+                for (int i = 0; i < batch.size(); i++) {
+                    job.documentFailed(batchNames.get(i), e);
+                    resumeIngestService.discard(batch.get(i));
+                }
+            }
+        }
+    }
+}
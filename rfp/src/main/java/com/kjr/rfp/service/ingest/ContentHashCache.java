@@ -0,0 +1,103 @@
+package com.kjr.rfp.service.ingest;
+
+import com.kjr.rfp.config.IngestProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.ResumeParserService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed lookup of already ingested files. Recent hashes are kept in a bounded LRU of
+ * hash to resume id, and the resume is then read through the {@code resumes} cache, which holds
+ * every resume saved or found here recently; a repeat upload of such a file makes no Mongo call.
+ * Older hashes are found through the indexed {@code contentHash} field on {@link Resume}.
+ */
+@Component
+public class ContentHashCache implements MeterBinder {
+
+    public record Stats(long memoryHits, long storeHits, long misses, int cachedHashes) {
+    }
+
+    private final ResumeParserService resumeParserService;
+    private final Map<String, String> recent;
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong storeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ContentHashCache(ResumeParserService resumeParserService, IngestProperties properties) {
+        this.resumeParserService = resumeParserService;
+        int capacity = properties.getDedupCacheSize();
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Returns the resume previously ingested from a file with this SHA-256, if any. */
+    public Optional<Resume> lookup(String contentHash) {
+        String resumeId;
+        synchronized (recent) {
+            resumeId = recent.get(contentHash);
+        }
+        if (resumeId != null) {
+            Optional<Resume> resume = resumeParserService.findById(resumeId);
+            if (resume.isPresent()) {
+                memoryHits.incrementAndGet();
+                return resume;
+            }
+            synchronized (recent) {
+                recent.remove(contentHash);
+            }
+        }
+
+        Optional<Resume> stored = resumeParserService.findByContentHash(contentHash);
+        if (stored.isPresent()) {
+            storeHits.incrementAndGet();
+            remember(contentHash, stored.get().getId());
+        } else {
+            misses.incrementAndGet();
+        }
+        return stored;
+    }
+
+    public void remember(String contentHash, String resumeId) {
+        synchronized (recent) {
+            recent.put(contentHash, resumeId);
+        }
+    }
+
+    public Stats stats() {
+        int cached;
+        synchronized (recent) {
+            cached = recent.size();
+        }
+        return new Stats(memoryHits.get(), storeHits.get(), misses.get(), cached);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        lookupCounter(registry, "memory_hit", memoryHits);
+        lookupCounter(registry, "store_hit", storeHits);
+        lookupCounter(registry, "miss", misses);
+        Gauge.builder("rfp.ingest.dedup.cached", this, cache -> cache.stats().cachedHashes())
+                .description("Content hashes held in the duplicate-upload LRU")
+                .register(registry);
+    }
+
+    private static void lookupCounter(MeterRegistry registry, String result, AtomicLong count) {
+        FunctionCounter.builder("rfp.ingest.dedup.lookups", count, AtomicLong::get)
+                .description("Duplicate-upload lookups by where the hash was found")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,190 @@
+package com.kjr.rfp.service.ingest;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * The bytes of one uploaded document, read exactly once and then shared by every pipeline stage.
+ * <p>
+ * Small uploads are held on the heap; larger ones are moved to a temp file and memory-mapped so
+ * they never have to be copied into the heap. Each {@link #openStream()} call returns an
+ * independent stream over the same read-only content, so stages can consume it concurrently.
+ */
+public final class IngestBuffer implements AutoCloseable {
+    private final String fileName;
+    private final String contentType;
+    private final ByteBuffer content;
+    private final Path tempFile;
+    private String sha256;
+
+    private IngestBuffer(String fileName, String contentType, ByteBuffer content, Path tempFile) {
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.content = content.asReadOnlyBuffer();
+        this.tempFile = tempFile;
+    }
+
+    public static IngestBuffer of(MultipartFile file, long inMemoryThreshold) throws IOException {
+        if (file.getSize() <= inMemoryThreshold) {
+            // Hash while reading so the upload is still only read once
+            MessageDigest digest = sha256Digest();
+            byte[] bytes;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                bytes = in.readAllBytes();
+            }
+            IngestBuffer buffer = new IngestBuffer(file.getOriginalFilename(), file.getContentType(), ByteBuffer.wrap(bytes), null);
+            buffer.sha256 = HexFormat.of().formatHex(digest.digest());
+            return buffer;
+        }
+        // transferTo lets Tomcat move its spooled part instead of copying it through the heap
+        Path tempFile = Files.createTempFile("rfp-upload-", ".bin");
+        try {
+            file.transferTo(tempFile.toFile());
+            return ofFile(file.getOriginalFilename(), file.getContentType(), tempFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    public static IngestBuffer of(String fileName, String contentType, byte[] content) {
+        return new IngestBuffer(fileName, contentType, ByteBuffer.wrap(content), null);
+    }
+
+    /**
+     * Reads a stream of unknown length, such as a ZIP entry. Content up to {@code inMemoryThreshold}
+     * is held on the heap; anything larger is spooled to a temp file and memory-mapped. Fails once
+     * more than {@code maxSize} bytes have been read, without reading the rest.
+     */
+    public static IngestBuffer of(String fileName, String contentType, InputStream in, long inMemoryThreshold,
+                                  long maxSize) throws IOException {
+        long heapLimit = Math.min(inMemoryThreshold, maxSize);
+        byte[] head = in.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, heapLimit + 1));
+        if (head.length <= heapLimit) {
+            return of(fileName, contentType, head);
+        }
+        if (head.length > maxSize) {
+            throw new IOException(fileName + " exceeds " + maxSize + " bytes");
+        }
+        Path tempFile = Files.createTempFile("rfp-upload-", ".bin");
+        try {
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                out.write(head);
+                long size = head.length;
+                byte[] chunk = new byte[8192];
+                int n;
+                while ((n = in.read(chunk)) != -1) {
+                    size += n;
+                    if (size > maxSize) {
+                        throw new IOException(fileName + " exceeds " + maxSize + " bytes");
+                    }
+                    out.write(chunk, 0, n);
+                }
+            }
+            return ofFile(fileName, contentType, tempFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Memory-maps an already spooled temp file. The buffer takes ownership and deletes the file on close.
+     */
+    public static IngestBuffer ofFile(String fileName, String contentType, Path tempFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.READ)) {
+            return new IngestBuffer(fileName, contentType, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), tempFile);
+        }
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /** Hex SHA-256 of the content, used as its content address for de-duplication. */
+    public synchronized String sha256() {
+        if (sha256 == null) {
+            MessageDigest digest = sha256Digest();
+            digest.update(content.duplicate());
+            sha256 = HexFormat.of().formatHex(digest.digest());
+        }
+        return sha256;
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public long size() {
+        return content.capacity();
+    }
+
+    public InputStream openStream() {
+        return new ByteBufferInputStream(content.duplicate());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (tempFile != null) {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
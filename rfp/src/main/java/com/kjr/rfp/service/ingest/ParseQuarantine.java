@@ -0,0 +1,54 @@
+package com.kjr.rfp.service.ingest;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.ParseTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/** Documents that only got a contact-only parse because the full parse timed out. */
+@Slf4j
+@Service
+public class ParseQuarantine {
+    private final MongoTemplate mongoTemplate;
+    private final Counter quarantined;
+
+    public ParseQuarantine(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.quarantined = Counter.builder("rfp.ingest.quarantined")
+                .description("Uploads saved with contact fields only because their parse timed out")
+                .register(meterRegistry);
+    }
+
+    /** Records the degraded resume, which must already carry its id, file id and content hash. */
+    public void add(Resume resume, long size, ParseTimeoutException timeout) {
+        QuarantinedDocument document = QuarantinedDocument.of(resume, size, timeout);
+        quarantined.increment();
+        log.warn("Quarantined {} ({} bytes): {}", resume.getFileName(), size, timeout.getMessage());
+        try {
+            mongoTemplate.save(document);
+        } catch (RuntimeException e) {
+            // The upload itself still succeeds with its partial resume
+            log.warn("Could not record quarantined document {}", resume.getFileName(), e);
+        }
+    }
+
+    /** The most recently quarantined documents first. */
+    public List<QuarantinedDocument> list(int limit) {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "quarantinedAt")).limit(limit);
+        return mongoTemplate.find(query, QuarantinedDocument.class);
+    }
+
+    /** Removes an entry once the document has been looked at; returns whether there was one. */
+    public boolean release(String id) {
+        return mongoTemplate.remove(new Query(Criteria.where("_id").is(id)), QuarantinedDocument.class)
+                .getDeletedCount() > 0;
+    }
+}
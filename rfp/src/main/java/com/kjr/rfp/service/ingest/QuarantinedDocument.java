@@ -0,0 +1,42 @@
+package com.kjr.rfp.service.ingest;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.ParseTimeoutException;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A document whose parse ran out of time. The resume was saved with its contact fields only; the
+ * original file is still in GridFS under {@code fileId}.
+ */
+@Data
+@Document(collection = "parse_quarantine")
+public class QuarantinedDocument {
+    /** The id of the partially parsed resume. */
+    @Id
+    private String id;
+    private String fileId;
+    private String fileName;
+    private String contentHash;
+    private long size;
+    private long budgetMillis;
+    private String reason;
+    private Instant quarantinedAt;
+
+    /** The entry for a degraded resume, which must already carry its id, file id and content hash. */
+    public static QuarantinedDocument of(Resume resume, long size, ParseTimeoutException timeout) {
+        QuarantinedDocument document = new QuarantinedDocument();
+        document.setId(resume.getId());
+        document.setFileId(resume.getFileId());
+        document.setFileName(resume.getFileName());
+        document.setContentHash(resume.getContentHash());
+        document.setSize(size);
+        document.setBudgetMillis(timeout.getBudget().toMillis());
+        document.setReason(timeout.getMessage());
+        document.setQuarantinedAt(Instant.now());
+        return document;
+    }
+}
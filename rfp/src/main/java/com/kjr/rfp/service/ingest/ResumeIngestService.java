@@ -0,0 +1,228 @@
+package com.kjr.rfp.service.ingest;
+
+import com.kjr.rfp.config.IngestProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.FileStorageService;
+import com.kjr.rfp.service.parser.ParseGuard;
+import com.kjr.rfp.service.parser.ResumeParser;
+import com.kjr.rfp.service.parser.ResumeParserService;
+import com.kjr.rfp.service.startup.StartupMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Upload pipeline: the multipart body is read once into an {@link IngestBuffer}, then the GridFS
+ * write and the text extraction run at the same time from that buffer and are joined before the
+ * parsed resume is saved. The extracted text is stored in GridFS as well, so a later re-parse can
+ * start from it instead of the original file.
+ * <p>
+ * Parsing runs under a {@link ParseGuard} budget. A document that exceeds it is parsed again for
+ * its contact fields only by the {@link ResumeParser}, saved like that and recorded in the
+ * {@link ParseQuarantine}.
+ */
+@Slf4j
+@Service
+public class ResumeIngestService {
+    private final ResumeParserService resumeParserService;
+    private final ResumeParser parser;
+    private final FileStorageService fileStorageService;
+    private final Executor storeExecutor;
+    private final Executor uploadParseExecutor;
+    private final ContentHashCache contentHashCache;
+    private final ParseQuarantine quarantine;
+    private final StartupMetrics startupMetrics;
+    private final IngestProperties properties;
+    private final Timer storeTimer;
+    private final Timer storedUploadTimer;
+    private final Timer duplicateUploadTimer;
+    private final AtomicInteger activeUploads = new AtomicInteger();
+
+    public ResumeIngestService(ResumeParserService resumeParserService, ResumeParser parser,
+                               FileStorageService fileStorageService,
+                               @Qualifier("storeExecutor") Executor storeExecutor,
+                               @Qualifier("uploadParseExecutor") Executor uploadParseExecutor,
+                               ContentHashCache contentHashCache, ParseQuarantine quarantine,
+                               StartupMetrics startupMetrics, IngestProperties properties, MeterRegistry meterRegistry) {
+        this.resumeParserService = resumeParserService;
+        this.parser = parser;
+        this.fileStorageService = fileStorageService;
+        this.storeExecutor = storeExecutor;
+        this.uploadParseExecutor = uploadParseExecutor;
+        this.contentHashCache = contentHashCache;
+        this.quarantine = quarantine;
+        this.startupMetrics = startupMetrics;
+        this.properties = properties;
+        this.storeTimer = Timer.builder("rfp.ingest.store")
+                .description("GridFS write time of an original file")
+                .register(meterRegistry);
+        this.storedUploadTimer = uploadTimer(meterRegistry, "stored");
+        this.duplicateUploadTimer = uploadTimer(meterRegistry, "duplicate");
+    }
+
+    private static Timer uploadTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("rfp.ingest.upload")
+                .description("End-to-end time of a single resume upload")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public Resume ingest(MultipartFile file) throws Exception {
+        long start = System.nanoTime();
+        activeUploads.incrementAndGet();
+        try (IngestBuffer buffer = IngestBuffer.of(file, properties.getInMemoryThreshold().toBytes())) {
+            Optional<Resume> existing = findDuplicate(buffer);
+            if (existing.isPresent()) {
+                duplicateUploadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return existing.get();
+            }
+            Resume prepared = prepare(buffer, uploadParseExecutor);
+            Resume saved;
+            try {
+                saved = resumeParserService.saveResume(prepared);
+            } catch (RuntimeException e) {
+                discard(prepared);
+                throw e;
+            }
+            contentHashCache.remember(saved.getContentHash(), saved.getId());
+            storedUploadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return saved;
+        } finally {
+            activeUploads.decrementAndGet();
+        }
+    }
+
+    /** Single uploads currently being processed; background work backs off while there are any. */
+    public int activeUploads() {
+        return activeUploads.get();
+    }
+
+    /** The resume already ingested from identical bytes, which makes storing and parsing unnecessary. */
+    public Optional<Resume> findDuplicate(IngestBuffer buffer) {
+        return contentHashCache.lookup(buffer.sha256());
+    }
+
+    /**
+     * Stores and parses one buffered document, parsing on the calling thread. The returned resume
+     * carries its GridFS file id but has not been saved.
+     */
+    public Resume prepare(IngestBuffer buffer) throws Exception {
+        return prepare(buffer, Runnable::run);
+    }
+
+    private Resume prepare(IngestBuffer buffer, Executor parseExecutor) throws Exception {
+        CompletableFuture<String> stored = CompletableFuture.supplyAsync(
+                () -> storeTimer.record(() -> fileStorageService.storeFile(buffer.getFileName(),
+                        buffer.getContentType(), buffer.openStream(), buffer.size(), buffer.sha256())),
+                storeExecutor);
+
+        ResumeParser.Result parsed;
+        try {
+            parsed = join(CompletableFuture.supplyAsync(() -> parse(buffer), parseExecutor));
+        } catch (Exception e) {
+            discard(stored);
+            throw e;
+        }
+        Resume resume = parsed.resume();
+        CompletableFuture<String> storedText = parsed.timedOut()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.supplyAsync(() -> storeText(buffer, parsed.text()), storeExecutor);
+        try {
+            resume.setFileId(join(stored));
+        } catch (Exception e) {
+            if (storedText.join() != null) {
+                discard(storedText);
+            }
+            throw e;
+        }
+        resume.setTextFileId(storedText.join());
+        resume.setContentHash(buffer.sha256());
+        if (parsed.timedOut()) {
+            // The quarantine entry is keyed by the resume id, so assign it before the save
+            resume.setId(new ObjectId().toHexString());
+            quarantine.add(resume, buffer.size(), parsed.timeout());
+        }
+        return resume;
+    }
+
+    /**
+     * Removes what {@link #prepare} stored for a resume that could not be saved: the original, the
+     * extracted text and the quarantine entry, if any.
+     */
+    public void discard(Resume prepared) {
+        deleteFile(prepared.getFileId());
+        deleteFile(prepared.getTextFileId());
+        if (prepared.getId() != null) {
+            try {
+                quarantine.release(prepared.getId());
+            } catch (RuntimeException e) {
+                log.warn("Could not remove the quarantine entry of unsaved resume {}", prepared.getId(), e);
+            }
+        }
+    }
+
+    private void deleteFile(String fileId) {
+        if (fileId == null) {
+            return;
+        }
+        try {
+            fileStorageService.deleteFile(fileId);
+        } catch (RuntimeException e) {
+            log.warn("Could not remove stored file {} of an unsaved resume", fileId, e);
+        }
+    }
+
+    // The buffer must not be released while the store is still reading it, so wait before rethrowing
+    private void discard(CompletableFuture<String> stored) {
+        try {
+            fileStorageService.deleteFile(stored.join());
+        } catch (RuntimeException e) {
+            log.warn("Could not remove stored file after a failed parse", e);
+        }
+    }
+
+    private ResumeParser.Result parse(IngestBuffer buffer) {
+        try {
+            long start = System.nanoTime();
+            ResumeParser.Result parsed = parser.parse(buffer.getFileName(), buffer.size(), buffer::openStream);
+            if (!parsed.timedOut()) {
+                startupMetrics.parsed(buffer.getFileName(), System.nanoTime() - start);
+            }
+            return parsed;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    // The original is what matters; without its text a re-parse just extracts it again
+    private String storeText(IngestBuffer buffer, String text) {
+        try {
+            return fileStorageService.storeText(buffer.getFileName() + ".txt", text, ResumeParserService.TEXT_VERSION);
+        } catch (RuntimeException e) {
+            log.warn("Could not store the extracted text of {}", buffer.getFileName(), e);
+            return null;
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
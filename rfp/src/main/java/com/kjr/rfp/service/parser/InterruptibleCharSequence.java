@@ -0,0 +1,42 @@
+package com.kjr.rfp.service.parser;
+
+/**
+ * A view of a text for regular expressions that gives up once the thread is interrupted.
+ * {@link java.util.regex.Matcher} reads its input only through {@link #charAt}, so even a pattern
+ * that backtracks for minutes on a pathological input notices the interrupt within a few
+ * thousand characters and stops with a {@link ParseInterruptedException}.
+ */
+public final class InterruptibleCharSequence implements CharSequence {
+    private static final int CHECK_INTERVAL = 4096;
+
+    private final CharSequence text;
+    private int reads;
+
+    public InterruptibleCharSequence(CharSequence text) {
+        this.text = text;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (++reads == CHECK_INTERVAL) {
+            reads = 0;
+            ParseInterruptedException.throwIfInterrupted();
+        }
+        return text.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new InterruptibleCharSequence(text.subSequence(start, end));
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
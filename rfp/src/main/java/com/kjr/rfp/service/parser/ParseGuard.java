@@ -0,0 +1,96 @@
+package com.kjr.rfp.service.parser;
+
+import com.kjr.rfp.config.ParserProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a parse on the calling thread with a time budget. A single watchdog thread interrupts the
+ * parsing thread when the budget runs out; text extraction and field matching check for the
+ * interrupt ({@link ParseInterruptedException}), so the parse stops there and the caller gets a
+ * {@link ParseTimeoutException} instead of waiting on a pathological document.
+ * <p>
+ * Parsing stays on whichever thread already runs it (request thread, upload or bulk parse worker,
+ * re-parse worker); the interrupt is cleared again before the call returns.
+ */
+@Component
+public class ParseGuard implements DisposableBean {
+    private static final long BYTES_PER_MEGABYTE = 1 << 20;
+
+    private final ParserProperties properties;
+    private final ScheduledThreadPoolExecutor watchdog;
+
+    public ParseGuard(ParserProperties properties) {
+        this.properties = properties;
+        this.watchdog = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "parse-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Nearly every alarm is cancelled, so do not leave them queued until their deadline
+        watchdog.setRemoveOnCancelPolicy(true);
+    }
+
+    /** {@code rfp.parser.timeout} plus {@code timeout-per-megabyte} of the document, at most {@code max-timeout}. */
+    public Duration budget(long documentBytes) {
+        Duration budget = properties.getTimeout()
+                .plus(properties.getTimeoutPerMegabyte().multipliedBy(Math.max(0, documentBytes) / BYTES_PER_MEGABYTE));
+        return budget.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : budget;
+    }
+
+    public <T> T call(Duration budget, Callable<T> task) throws Exception {
+        Alarm alarm = new Alarm(Thread.currentThread());
+        ScheduledFuture<?> scheduled = watchdog.schedule(alarm::fire, budget.toNanos(), TimeUnit.NANOSECONDS);
+        try {
+            return task.call();
+        } catch (Exception e) {
+            if (alarm.disarm()) {
+                throw e;
+            }
+            throw new ParseTimeoutException(budget, e);
+        } finally {
+            // A parse that completed just as the alarm went off keeps its result
+            alarm.disarm();
+            scheduled.cancel(false);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+    }
+
+    private static final class Alarm {
+        private final Thread thread;
+        private boolean armed = true;
+        private boolean fired;
+
+        private Alarm(Thread thread) {
+            this.thread = thread;
+        }
+
+        synchronized void fire() {
+            if (armed) {
+                fired = true;
+                thread.interrupt();
+            }
+        }
+
+        /** Stops the alarm; returns false and clears the interrupt it caused if it had already fired. */
+        synchronized boolean disarm() {
+            armed = false;
+            if (fired) {
+                fired = false;
+                Thread.interrupted();
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.kjr.rfp.service.parser;
+
+/**
+ * Thrown from inside text extraction or field matching once the parsing thread has been
+ * interrupted, which is how the {@link ParseGuard} stops a document that ran over its budget.
+ */
+public class ParseInterruptedException extends RuntimeException {
+
+    public ParseInterruptedException() {
+        super("Parsing was interrupted");
+    }
+
+    public static void throwIfInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new ParseInterruptedException();
+        }
+    }
+}
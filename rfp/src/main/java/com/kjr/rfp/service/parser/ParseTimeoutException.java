@@ -0,0 +1,17 @@
+package com.kjr.rfp.service.parser;
+
+import java.time.Duration;
+
+/** A document could not be parsed within its {@link ParseGuard} budget. */
+public class ParseTimeoutException extends RuntimeException {
+    private final Duration budget;
+
+    public ParseTimeoutException(Duration budget, Throwable cause) {
+        super("Parsing took longer than " + budget.toMillis() + " ms", cause);
+        this.budget = budget;
+    }
+
+    public Duration getBudget() {
+        return budget;
+    }
+}
@@ -0,0 +1,255 @@
+package com.kjr.rfp.service.parser;
+
+import com.kjr.rfp.model.Education;
+import com.kjr.rfp.model.Experience;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.ResumeSections.Kind;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns resume text into {@link Resume} fields. All patterns are compiled once, and each extractor
+ * only scans the section slice it is responsible for.
+ */
+@Component
+public class ResumeFieldExtractor {
+    // A line made only of two or more words, e.g. "John Smith"
+    private static final Pattern NAME_LINE = Pattern.compile(
+            "^(?i)(?:[A-Z][a-z]+(?:[ \\t]+[A-Z][a-z]+)+)(?=[ \\t]*\\r?$)",
+            Pattern.MULTILINE
+    );
+    private static final Pattern NAME_AFTER_HEADING = Pattern.compile(
+            "(?i)(?:name|full name|contact information|personal details)[:\\s]*\\n([A-Z][a-z]+(?:\\s+[A-Z][a-z]+)+)",
+            Pattern.MULTILINE
+    );
+    private static final Pattern NAME_BEFORE_EMAIL = Pattern.compile(
+            "\\b([A-Z][a-z]+\\.[A-Z][a-z]+|[A-Z][a-z]+)\\b(?=@|\\s)",
+            Pattern.MULTILINE
+    );
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}");
+    private static final Pattern PHONE = Pattern.compile("(\\+\\d{1,3}[- ]?)?\\d{10}");
+    private static final Pattern SKILL_SEPARATOR = Pattern.compile("[,;|\\n\\u2022\\u00B7]");
+    private static final Pattern LIST_BULLET = Pattern.compile("^[-*\\u2013\\u25AA\\u25CF>]+\\s*");
+    private static final Pattern DEGREE = Pattern.compile("(?<degree>(?:" +
+            "B\\.?[A-Z]*\\.?|Bachelor(?:'s)?|BBA|BCA|Bsc|B\\.Tech|B\\.E|B\\.A|B\\.Com|" +   // Bachelor degrees
+            "M\\.?[A-Z]*\\.?|Master(?:'s)?|MCA|MBA|M\\.Tech|M\\.E|M\\.A|M\\.Com|M\\.Sc|M\\.B\\.A|" + // Master degrees
+            "PhD|Doctorate|" +                                                           // Doctoral degrees
+            "Associate|Diploma|Certificate" +                                            // Other qualifications
+            ")[\\s\\w\\-]+(?:in|of)?\\s*[\\w\\s]+)");
+    private static final Pattern YEAR = Pattern.compile("\\b(19|20)\\d{2}\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_OR_OF = Pattern.compile("\\b(in|of)\\b");
+
+    private final SkillTaxonomy skillTaxonomy;
+    private final Timer nameTimer;
+    private final Timer emailTimer;
+    private final Timer phoneTimer;
+    private final Timer summaryTimer;
+    private final Timer skillsTimer;
+    private final Timer experiencesTimer;
+    private final Timer educationsTimer;
+
+    /** An extractor with the bundled skill dictionary whose timers are not registered anywhere. */
+    public ResumeFieldExtractor() {
+        this(new CompositeMeterRegistry(), SkillTaxonomy.standard());
+    }
+
+    @Autowired
+    public ResumeFieldExtractor(MeterRegistry meterRegistry, SkillTaxonomy skillTaxonomy) {
+        this.skillTaxonomy = skillTaxonomy;
+        this.nameTimer = fieldTimer(meterRegistry, "name");
+        this.emailTimer = fieldTimer(meterRegistry, "email");
+        this.phoneTimer = fieldTimer(meterRegistry, "phone");
+        this.summaryTimer = fieldTimer(meterRegistry, "summary");
+        this.skillsTimer = fieldTimer(meterRegistry, "skills");
+        this.experiencesTimer = fieldTimer(meterRegistry, "experiences");
+        this.educationsTimer = fieldTimer(meterRegistry, "educations");
+    }
+
+    private static Timer fieldTimer(MeterRegistry meterRegistry, String field) {
+        return Timer.builder("rfp.parse.field")
+                .description("Time spent extracting one resume field")
+                .tag("field", field)
+                .register(meterRegistry);
+    }
+
+    public Resume extract(ResumeSections sections) {
+        Resume resume = new Resume();
+        resume.setName(nameTimer.record(() -> extractName(sections)));
+        resume.setEmail(emailTimer.record(() -> extractEmail(sections)));
+        resume.setPhone(phoneTimer.record(() -> extractPhone(sections)));
+        resume.setSummary(summaryTimer.record(() -> extractSummary(sections)));
+        resume.setSkills(skillsTimer.record(() -> extractSkills(sections)));
+        resume.setExperiences(experiencesTimer.record(() -> extractExperiences(sections)));
+        resume.setEducations(educationsTimer.record(() -> extractEducations(sections)));
+        return resume;
+    }
+
+    /** Only name, email and phone: the fallback for a document whose full parse ran out of time. */
+    public Resume extractContact(ResumeSections sections) {
+        Resume resume = new Resume();
+        resume.setName(nameTimer.record(() -> extractName(sections)));
+        resume.setEmail(emailTimer.record(() -> extractEmail(sections)));
+        resume.setPhone(phoneTimer.record(() -> extractPhone(sections)));
+        return resume;
+    }
+
+    public String extractName(ResumeSections sections) {
+        // The name is almost always in the header, so try that small slice before the whole text
+        Matcher matcher = NAME_LINE.matcher(interruptible(sections.header()));
+        if (matcher.find()) {
+            return matcher.group().trim();
+        }
+        matcher = NAME_LINE.matcher(interruptible(sections.text()));
+        if (matcher.find()) {
+            return matcher.group().trim();
+        }
+
+        matcher = NAME_AFTER_HEADING.matcher(interruptible(sections.text()));
+        if (matcher.find()) {
+            return matcher.group(1).trim();
+        }
+
+        matcher = NAME_BEFORE_EMAIL.matcher(interruptible(sections.text()));
+        if (matcher.find()) {
+            return matcher.group(1).replace(".", " ").trim();
+        }
+
+        return "Unknown"; // Fallback if no name found
+    }
+
+    public String extractEmail(ResumeSections sections) {
+        Matcher matcher = EMAIL.matcher(interruptible(sections.text()));
+        return matcher.find() ? matcher.group() : "";
+    }
+
+    public String extractPhone(ResumeSections sections) {
+        Matcher matcher = PHONE.matcher(interruptible(sections.text()));
+        return matcher.find() ? matcher.group() : "";
+    }
+
+    public String extractSummary(ResumeSections sections) {
+        String summary = sections.section(Kind.SUMMARY);
+        if (summary != null && !summary.isEmpty()) {
+            return summary;
+        }
+
+        // Fallback to the first line if no dedicated section found
+        String text = sections.text().stripLeading();
+        int end = text.indexOf('\n');
+        return (end >= 0 ? text.substring(0, end) : text).trim();
+    }
+
+    public List<String> extractSkills(ResumeSections sections) {
+        String skillsSection = sections.section(Kind.SKILLS);
+        if (skillsSection != null && !skillsSection.isEmpty()) {
+            Set<String> skills = new LinkedHashSet<>();
+            for (String item : SKILL_SEPARATOR.split(interruptible(skillsSection))) {
+                // "Languages: Java" lists the skill after its category label
+                int colon = item.indexOf(':');
+                String skill = LIST_BULLET.matcher(item.substring(colon + 1).trim()).replaceFirst("");
+                if (!skill.isEmpty()) {
+                    String canonical = skillTaxonomy.canonicalName(skill);
+                    skills.add(canonical != null ? canonical : skill);
+                }
+            }
+            return new ArrayList<>(skills);
+        }
+
+        // Without a skills section, look for every known skill anywhere in the text
+        return skillTaxonomy.find(interruptible(sections.text()));
+    }
+
+    public List<Experience> extractExperiences(ResumeSections sections) {
+        List<Experience> experiences = new ArrayList<>();
+        String section = sections.section(Kind.EXPERIENCE);
+        if (section == null) {
+            return experiences;
+        }
+        for (List<String> entry : entries(section)) {
+            Experience exp = new Experience();
+            exp.setCompany(entry.get(0));
+            exp.setPosition(entry.get(1));
+            exp.setDuration(entry.get(2));
+            exp.setDescription(entry.get(3));
+            experiences.add(exp);
+        }
+        return experiences;
+    }
+
+    public List<Education> extractEducations(ResumeSections sections) {
+        List<Education> educations = new ArrayList<>();
+        String section = sections.section(Kind.EDUCATION);
+        if (section == null) {
+            return educations;
+        }
+        for (List<String> entry : entries(section)) {
+            Education edu = new Education();
+            String institution = entry.get(0);
+            edu.setInstitution(institution);
+            String normalized = WHITESPACE.matcher(institution).replaceAll(" ");
+            normalized = IN_OR_OF.matcher(normalized).replaceAll("in"); // Standardize "in/of"
+            Matcher degreeMatcher = DEGREE.matcher(interruptible(normalized));
+            edu.setDegree(degreeMatcher.find() ? degreeMatcher.group() : null);
+            edu.setFieldOfStudy(entry.get(2));
+            Matcher yearMatcher = YEAR.matcher(institution);
+            edu.setYear(yearMatcher.find() ? yearMatcher.group() : null);
+            educations.add(edu);
+        }
+        return educations;
+    }
+
+    // Matching over the whole text is where a hostile document can backtrack for minutes
+    private static CharSequence interruptible(CharSequence text) {
+        return new InterruptibleCharSequence(text);
+    }
+
+    /**
+     * Splits a section into four-part entries: three non-blank heading lines followed by a
+     * free-text block that runs to the next blank line.
+     */
+    static List<List<String>> entries(String section) {
+        List<List<String>> entries = new ArrayList<>();
+        List<String> current = new ArrayList<>(4);
+        StringBuilder body = null;
+        int lineStart = 0;
+        while (lineStart <= section.length()) {
+            int lineEnd = section.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = section.length();
+            }
+            String line = section.substring(lineStart, lineEnd).trim();
+            lineStart = lineEnd + 1;
+
+            if (current.size() < 3) {
+                if (!line.isEmpty()) {
+                    current.add(line);
+                }
+            } else if (line.isEmpty()) {
+                current.add(body != null ? body.toString() : "");
+                entries.add(current);
+                current = new ArrayList<>(4);
+                body = null;
+            } else if (body == null) {
+                body = new StringBuilder(line);
+            } else {
+                body.append('\n').append(line);
+            }
+        }
+        if (current.size() == 3) {
+            current.add(body != null ? body.toString() : "");
+            entries.add(current);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,183 @@
+package com.kjr.rfp.service.parser;
+
+import com.kjr.rfp.config.ParserProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.extractor.TextExtractor;
+import com.kjr.rfp.service.parser.extractor.TextExtractors;
+import com.kjr.rfp.service.parser.extractor.TextSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The parse path on its own: text extraction, section scanning and field extraction, with no
+ * MongoDB or GridFS collaborators, so any application that reads resume files can use it.
+ * <p>
+ * {@link #parse(String, long, Content)} runs a full parse under the {@link ParseGuard} budget of
+ * the document; a document that runs over it is parsed again for its contact fields only.
+ */
+@Component
+public class ResumeParser {
+    private final ResumeFieldExtractor fieldExtractor;
+    private final TextExtractors textExtractors;
+    private final ParseGuard parseGuard;
+    private final ParserProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, FormatMeters> formatMeters = new ConcurrentHashMap<>();
+    private final Counter characterCapHits;
+    private final Counter fullParseTimeouts;
+    private final Counter contactParseTimeouts;
+
+    /** The document's content, opened once for the full parse and again for a contact-only parse. */
+    @FunctionalInterface
+    public interface Content {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * A parsed resume and its extracted text, or, when {@code timeout} is set, the contact-only
+     * resume of a document whose full parse ran over its budget; it then has no text.
+     */
+    public record Result(Resume resume, String text, ParseTimeoutException timeout) {
+
+        public boolean timedOut() {
+            return timeout != null;
+        }
+    }
+
+    public ResumeParser(ResumeFieldExtractor fieldExtractor, TextExtractors textExtractors, ParseGuard parseGuard,
+                        ParserProperties properties, MeterRegistry meterRegistry) {
+        this.fieldExtractor = fieldExtractor;
+        this.textExtractors = textExtractors;
+        this.parseGuard = parseGuard;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.characterCapHits = Counter.builder("rfp.parse.truncated")
+                .description("Documents cut short by the page or character cap")
+                .tag("limit", "characters")
+                .register(meterRegistry);
+        this.fullParseTimeouts = timeoutCounter(meterRegistry, "full");
+        this.contactParseTimeouts = timeoutCounter(meterRegistry, "contact");
+    }
+
+    private static Counter timeoutCounter(MeterRegistry meterRegistry, String stage) {
+        return Counter.builder("rfp.parse.timeouts")
+                .description("Parses stopped for running over their time budget")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /** Extraction time and text volume of one document format. */
+    private record FormatMeters(Timer extract, DistributionSummary characters) {
+
+        FormatMeters(MeterRegistry meterRegistry, String format) {
+            this(Timer.builder("rfp.parse.extract")
+                            .description("Text extraction time per document format")
+                            .tag("format", format)
+                            .register(meterRegistry),
+                    DistributionSummary.builder("rfp.parse.characters")
+                            .description("Characters of text extracted per document")
+                            .baseUnit("characters")
+                            .tag("format", format)
+                            .register(meterRegistry));
+        }
+
+        void record(long startNanos, int extractedCharacters) {
+            extract.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            characters.record(extractedCharacters);
+        }
+    }
+
+    /**
+     * Parses a document of {@code size} bytes within its budget. Even the contact fields may hit
+     * the pathological part of a document; the resume then has none and is named "Unknown".
+     */
+    public Result parse(String fileName, long size, Content content) throws Exception {
+        try {
+            return parseGuard.call(parseGuard.budget(size), () -> {
+                try (InputStream in = content.open()) {
+                    ResumeSections sections = extractSections(fileName, in);
+                    return new Result(parseSections(fileName, sections), sections.text(), null);
+                }
+            });
+        } catch (ParseTimeoutException timeout) {
+            fullParseTimeouts.increment();
+            return new Result(parseContactFields(fileName, content), null, timeout);
+        }
+    }
+
+    private Resume parseContactFields(String fileName, Content content) throws Exception {
+        try {
+            return parseGuard.call(properties.getContactTimeout(), () -> {
+                try (InputStream in = content.open()) {
+                    return parseContactFields(fileName, in);
+                }
+            });
+        } catch (ParseTimeoutException e) {
+            contactParseTimeouts.increment();
+            Resume resume = new Resume();
+            resume.setName("Unknown");
+            resume.setFileName(fileName);
+            resume.setParserVersion(ResumeParserService.PARSER_VERSION);
+            return resume;
+        }
+    }
+
+    /** Parses a whole document on the calling thread, without a time budget. */
+    public Resume parseResume(String fileName, InputStream is) throws IOException {
+        return parseSections(fileName, extractSections(fileName, is));
+    }
+
+    /** Fields of a resume whose text has already been extracted, for example from stored text. */
+    public Resume parseSections(String fileName, ResumeSections sections) {
+        Resume resume = fieldExtractor.extract(sections);
+        resume.setFileName(fileName);
+        resume.setParserVersion(ResumeParserService.PARSER_VERSION);
+        return resume;
+    }
+
+    /** Name, email and phone from the first {@code contact-characters} characters of the document. */
+    public Resume parseContactFields(String fileName, InputStream is) throws IOException {
+        Resume resume = fieldExtractor.extractContact(extractSections(fileName, is, properties.getContactCharacters()));
+        resume.setFileName(fileName);
+        resume.setParserVersion(ResumeParserService.PARSER_VERSION);
+        return resume;
+    }
+
+    public String extractTextFromFile(String fileName, InputStream is) throws IOException {
+        return extractSections(fileName, is).text();
+    }
+
+    /**
+     * Extracts the document's text straight into the section scanner, stopping at the configured
+     * character cap. The extractor is chosen from the content's magic bytes, not the file name.
+     */
+    public ResumeSections extractSections(String fileName, InputStream is) throws IOException {
+        return extractSections(fileName, is, properties.getMaxCharacters());
+    }
+
+    private ResumeSections extractSections(String fileName, InputStream is, int maxCharacters) throws IOException {
+        InputStream in = is.markSupported() ? is : new BufferedInputStream(is);
+        TextExtractor extractor = textExtractors.forType(textExtractors.detect(in, fileName));
+
+        ResumeSectionScanner scanner = new ResumeSectionScanner();
+        TextSink out = new TextSink(scanner, maxCharacters);
+        long start = System.nanoTime();
+        extractor.extract(in, out);
+        formatMeters.computeIfAbsent(extractor.format(), format -> new FormatMeters(meterRegistry, format))
+                .record(start, scanner.length());
+        if (out.isFull() && maxCharacters == properties.getMaxCharacters()) {
+            characterCapHits.increment();
+        }
+        return scanner.finish();
+    }
+}
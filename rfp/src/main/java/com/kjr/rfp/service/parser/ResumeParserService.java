@@ -1,28 +1,71 @@
 package com.kjr.rfp.service.parser;
 
 import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.model.ResumePage;
+import com.kjr.rfp.model.ResumeSummary;
+import com.kjr.rfp.model.SimilarResume;
+import com.kjr.rfp.model.SkillSearchPage;
+import com.kjr.rfp.service.search.SkillQuery;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public interface ResumeParserService {
+    /**
+     * Version of the extraction rules stamped on every parsed resume. Raise it when a change to
+     * text or field extraction should be applied to resumes that are already stored.
+     */
+    int PARSER_VERSION = 1;
+
+    /**
+     * Version of the text extraction alone. Stored text of an older version is extracted again from
+     * the original file; a change to field extraction only should raise {@link #PARSER_VERSION} but
+     * not this, so re-parsing can start from the stored text.
+     */
+    int TEXT_VERSION = 1;
+
     Resume parseResume(MultipartFile file) throws Exception;
 
+    Resume parseResume(String fileName, InputStream content) throws Exception;
+
+    /** The document's plain text, split into sections, up to the configured character cap. */
+    ResumeSections extractSections(String fileName, InputStream content) throws IOException;
+
+    /** Fields of a resume whose text has already been extracted, for example from stored text. */
+    Resume parseSections(String fileName, ResumeSections sections);
+
+    /** Name, email and phone from the start of the document only, for when a full parse is too slow. */
+    Resume parseContactFields(String fileName, InputStream content) throws Exception;
+
     Resume saveResume(Resume resume);
 
+    List<Resume> saveResumes(List<Resume> resumes);
+
     Optional<Resume> getResumeByEmail(String email);
 
-    List<List<Resume>> getResumes();
+    ResumePage searchResumes(String query, String cursor, int size);
+
+    SkillSearchPage searchBySkills(SkillQuery query, String cursor, int size);
+
+    Stream<ResumeSummary> streamResumeSummaries();
 
-    Optional<Optional<Resume>> getResumeById(String id);
+    /** Up to {@code size} resumes most similar to the given one in skills, summary and experience. */
+    List<SimilarResume> findSimilar(String id, int size);
+
+    Optional<Resume> getResumeById(String id);
 
     String storeFile(MultipartFile file) throws IOException;
 
     Optional<Resume> findById(String id);
+
+    /** The resume ingested from a file with this SHA-256, if any. */
+    Optional<Resume> findByContentHash(String contentHash);
 }
 
 
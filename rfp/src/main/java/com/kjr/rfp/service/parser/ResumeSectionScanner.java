@@ -0,0 +1,157 @@
+package com.kjr.rfp.service.parser;
+
+import com.kjr.rfp.service.parser.ResumeSections.Kind;
+import com.kjr.rfp.service.parser.ResumeSections.Range;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Single-pass section splitter. Text can be fed in arbitrary chunks (for example one PDF page at a
+ * time); every complete line is classified as it arrives, so section boundaries are known as soon
+ * as the last chunk has been fed.
+ * <p>
+ * A line is a heading when, ignoring case, surrounding whitespace and a trailing colon, it equals
+ * one of the known section titles. "Skills: Java, Spring" is also a heading, with its content
+ * starting after the colon.
+ */
+public final class ResumeSectionScanner {
+    private static final int MAX_HEADING_LENGTH = 48;
+    private static final Map<String, Kind> HEADINGS = new HashMap<>();
+    // First letters of all known titles; lets most body lines be rejected without building a key
+    private static final boolean[] HEADING_INITIALS = new boolean[128];
+
+    static {
+        register(Kind.SUMMARY, "summary", "professional summary", "profile", "career summary", "about me",
+                "professional profile", "career objective", "objective");
+        register(Kind.SKILLS, "skillset", "skill set", "skills", "technical skills", "key skills",
+                "core competencies", "technical expertise", "areas of expertise");
+        register(Kind.EXPERIENCE, "work experience", "professional experience", "employment history",
+                "career history", "experience", "work history");
+        register(Kind.EDUCATION, "educational qualification", "educational qualifications", "academic profile",
+                "education", "academic background", "academic qualifications", "qualifications");
+        register(Kind.OTHER, "projects", "certifications", "certificates", "achievements", "awards", "languages",
+                "hobbies", "interests", "personal details", "personal information", "declaration", "references",
+                "publications");
+    }
+
+    private final StringBuilder text = new StringBuilder();
+    private final Map<Kind, List<Range>> ranges = new EnumMap<>(Kind.class);
+    private int lineStart;
+    private Kind currentKind = Kind.HEADER;
+    private int currentStart;
+
+    public ResumeSectionScanner feed(CharSequence chunk) {
+        int from = text.length();
+        text.append(chunk);
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                onLine(lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        return this;
+    }
+
+    /** Characters fed so far. */
+    public int length() {
+        return text.length();
+    }
+
+    public ResumeSections finish() {
+        if (lineStart < text.length()) {
+            onLine(lineStart, text.length());
+            lineStart = text.length();
+        }
+        closeSection(text.length());
+        return new ResumeSections(text.toString(), ranges);
+    }
+
+    private void onLine(int start, int end) {
+        int trimmedStart = start;
+        int trimmedEnd = end;
+        while (trimmedStart < trimmedEnd && Character.isWhitespace(text.charAt(trimmedStart))) {
+            trimmedStart++;
+        }
+        while (trimmedEnd > trimmedStart && Character.isWhitespace(text.charAt(trimmedEnd - 1))) {
+            trimmedEnd--;
+        }
+        if (trimmedStart == trimmedEnd) {
+            return;
+        }
+
+        int colon = indexOf(':', trimmedStart, trimmedEnd);
+        int titleEnd = colon >= 0 ? colon : trimmedEnd;
+        char initial = Character.toLowerCase(text.charAt(trimmedStart));
+        if (titleEnd - trimmedStart > MAX_HEADING_LENGTH || initial >= 128 || !HEADING_INITIALS[initial]) {
+            return;
+        }
+        Kind kind = HEADINGS.get(normalizeTitle(trimmedStart, titleEnd));
+        boolean inlineContent = colon >= 0 && colon + 1 < trimmedEnd;
+        // "Languages: Java, Python" inside a skills list is a label, not a new section
+        if (kind == null || (inlineContent && kind == Kind.OTHER)) {
+            return;
+        }
+        closeSection(start);
+        currentKind = kind;
+        // Inline content ("Skills: Java, Spring") starts after the colon, otherwise on the next line
+        currentStart = inlineContent ? colon + 1 : Math.min(end + 1, text.length());
+    }
+
+    private void closeSection(int end) {
+        if (end > currentStart) {
+            ranges.computeIfAbsent(currentKind, k -> new ArrayList<>()).add(trimmed(currentStart, end));
+        } else if (currentKind != Kind.HEADER) {
+            // A heading with nothing under it still marks the section as present
+            ranges.computeIfAbsent(currentKind, k -> new ArrayList<>()).add(new Range(currentStart, currentStart));
+        }
+    }
+
+    private Range trimmed(int start, int end) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        return new Range(start, end);
+    }
+
+    private String normalizeTitle(int start, int end) {
+        StringBuilder title = new StringBuilder(end - start);
+        boolean space = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = title.length() > 0;
+            } else {
+                if (space) {
+                    title.append(' ');
+                    space = false;
+                }
+                title.append(Character.toLowerCase(c));
+            }
+        }
+        return title.toString();
+    }
+
+    private int indexOf(char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void register(Kind kind, String... titles) {
+        for (String title : titles) {
+            HEADINGS.put(title.toLowerCase(Locale.ROOT), kind);
+            HEADING_INITIALS[title.charAt(0)] = true;
+        }
+    }
+}
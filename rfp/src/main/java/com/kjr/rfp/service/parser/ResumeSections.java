@@ -0,0 +1,61 @@
+package com.kjr.rfp.service.parser;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A resume's plain text together with the slices that belong to each recognised section. Built
+ * by {@link ResumeSectionScanner} in a single pass; field extractors only look at their own slice.
+ */
+public final class ResumeSections {
+
+    public enum Kind {HEADER, SUMMARY, SKILLS, EXPERIENCE, EDUCATION, OTHER}
+
+    record Range(int start, int end) {
+    }
+
+    private final String text;
+    private final Map<Kind, List<Range>> ranges;
+
+    ResumeSections(String text, Map<Kind, List<Range>> ranges) {
+        this.text = text;
+        this.ranges = new EnumMap<>(ranges);
+    }
+
+    public static ResumeSections of(String text) {
+        ResumeSectionScanner scanner = new ResumeSectionScanner();
+        scanner.feed(text);
+        return scanner.finish();
+    }
+
+    public String text() {
+        return text;
+    }
+
+    /** Text before the first section heading, usually name and contact details. */
+    public String header() {
+        String header = section(Kind.HEADER);
+        return header != null ? header : "";
+    }
+
+    public boolean has(Kind kind) {
+        return ranges.containsKey(kind);
+    }
+
+    /**
+     * The content of every section of the given kind, joined by newlines, or {@code null} when the
+     * document has no such section.
+     */
+    public String section(Kind kind) {
+        List<Range> slices = ranges.get(kind);
+        if (slices == null) {
+            return null;
+        }
+        if (slices.size() == 1) {
+            return text.substring(slices.get(0).start(), slices.get(0).end());
+        }
+        return slices.stream().map(r -> text.substring(r.start(), r.end())).collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,276 @@
+package com.kjr.rfp.service.parser;
+
+import com.kjr.rfp.config.ParserProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Dictionary of canonical skill names and their synonyms ("k8s" is Kubernetes), compiled into an
+ * Aho-Corasick automaton so that every known skill in a text is found in a single pass.
+ * <p>
+ * Matching folds case and reads any run of whitespace as a single space, one character at a time,
+ * so no lower-cased copy of the text is made. A match only counts when it is not part of a longer
+ * word: "Java" is not found in "JavaScript", nor ".NET" in "ASP.NET".
+ * <p>
+ * The dictionary is a UTF-8 text file with one skill per line, {@code Canonical = synonym, ...};
+ * blank lines and lines starting with {@code #} are ignored.
+ */
+@Slf4j
+@Component
+public class SkillTaxonomy {
+    private static final int ROOT = 0;
+
+    private final String[] skills;
+    private final Map<String, Integer> skillByTerm = new HashMap<>();
+    private final int[] termSkill;
+    private final int[] termLength;
+    private final int maxTermLength;
+
+    // Automaton states: outgoing transitions as sorted keys with parallel targets, the failure
+    // link, the term ending at the state (-1 if none) and the next state down the failure chain
+    // at which a term ends (-1 if none)
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[] output;
+    private final int[] outputLink;
+
+    @Autowired
+    public SkillTaxonomy(ParserProperties properties) throws IOException {
+        this(read(properties.getSkillTaxonomy()));
+        log.info("Loaded {} skills with {} terms from {}", skills.length, termSkill.length,
+                properties.getSkillTaxonomy().getDescription());
+    }
+
+    /**
+     * A taxonomy from canonical skill names to their synonyms; every canonical name is also a term.
+     */
+    public SkillTaxonomy(Map<String, ? extends Collection<String>> synonymsBySkill) {
+        skills = synonymsBySkill.keySet().toArray(String[]::new);
+        List<String> terms = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (int skill = 0; skill < skills.length; skill++) {
+            addTerm(skills[skill], skill, terms, owners);
+            for (String synonym : synonymsBySkill.get(skills[skill])) {
+                addTerm(synonym, skill, terms, owners);
+            }
+        }
+        termSkill = owners.stream().mapToInt(Integer::intValue).toArray();
+        termLength = terms.stream().mapToInt(String::length).toArray();
+        maxTermLength = Math.max(1, Arrays.stream(termLength).max().orElse(1));
+
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        List<Integer> ends = new ArrayList<>(List.of(-1));
+        for (int term = 0; term < terms.size(); term++) {
+            int state = ROOT;
+            for (char c : terms.get(term).toCharArray()) {
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(c, next);
+                    trie.add(new TreeMap<>());
+                    ends.add(-1);
+                }
+                state = next;
+            }
+            ends.set(state, term);
+        }
+
+        int states = trie.size();
+        keys = new char[states][];
+        targets = new int[states][];
+        for (int state = 0; state < states; state++) {
+            TreeMap<Character, Integer> edges = trie.get(state);
+            keys[state] = new char[edges.size()];
+            targets[state] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                keys[state][i] = edge.getKey();
+                targets[state][i++] = edge.getValue();
+            }
+        }
+        output = ends.stream().mapToInt(Integer::intValue).toArray();
+        fail = new int[states];
+        outputLink = new int[states];
+        outputLink[ROOT] = -1;
+
+        // Breadth-first, so the failure link of every shallower state is known when it is needed
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            fail[child] = ROOT;
+            outputLink[child] = -1;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < keys[state].length; i++) {
+                int child = targets[state][i];
+                int suffix = step(fail[state], keys[state][i]);
+                fail[child] = suffix;
+                outputLink[child] = output[suffix] >= 0 ? suffix : outputLink[suffix];
+                queue.add(child);
+            }
+        }
+    }
+
+    /** The bundled dictionary. */
+    public static SkillTaxonomy standard() {
+        try {
+            return new SkillTaxonomy(read(new ParserProperties().getSkillTaxonomy()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Map<String, List<String>> read(Resource resource) throws IOException {
+        Map<String, List<String>> synonymsBySkill = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int equals = line.indexOf('=');
+                String skill = (equals < 0 ? line : line.substring(0, equals)).strip();
+                List<String> synonyms = synonymsBySkill.computeIfAbsent(skill, s -> new ArrayList<>());
+                if (equals >= 0) {
+                    for (String synonym : line.substring(equals + 1).split(",")) {
+                        if (!synonym.isBlank()) {
+                            synonyms.add(synonym.strip());
+                        }
+                    }
+                }
+            }
+        }
+        return synonymsBySkill;
+    }
+
+    public int size() {
+        return skills.length;
+    }
+
+    /**
+     * The canonical name of every skill mentioned in the text, in order of first mention.
+     */
+    public List<String> find(CharSequence text) {
+        boolean[] seen = new boolean[skills.length];
+        List<String> found = new ArrayList<>();
+        // Runs of whitespace feed the automaton a single space, so the text offset of each of the
+        // last maxTermLength characters fed is kept to locate where a match starts
+        int[] offsets = new int[maxTermLength];
+        long fed = 0;
+        int state = ROOT;
+        char previous = ' ';
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            if (c == ' ' && previous == ' ') {
+                continue;
+            }
+            previous = c;
+            offsets[(int) (fed++ % maxTermLength)] = i;
+            state = step(state, c);
+            for (int s = output[state] >= 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+                int term = output[s];
+                int skill = termSkill[term];
+                int start = offsets[(int) ((fed - termLength[term]) % maxTermLength)];
+                if (!seen[skill] && isWordAt(text, start, i + 1)) {
+                    seen[skill] = true;
+                    found.add(skills[skill]);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * The canonical name of a skill written exactly as one of its terms, ignoring case and spacing,
+     * or {@code null} for a skill the taxonomy does not know.
+     */
+    public String canonicalName(String skill) {
+        Integer index = skillByTerm.get(normalize(skill));
+        return index != null ? skills[index] : null;
+    }
+
+    private void addTerm(String term, int skill, List<String> terms, List<Integer> owners) {
+        String normalized = normalize(term);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Integer existing = skillByTerm.putIfAbsent(normalized, skill);
+        if (existing == null) {
+            terms.add(normalized);
+            owners.add(skill);
+        } else if (existing != skill) {
+            throw new IllegalArgumentException("Skill term '" + term + "' belongs to both "
+                    + skills[existing] + " and " + skills[skill]);
+        }
+    }
+
+    private int step(int state, char c) {
+        while (true) {
+            int at = Arrays.binarySearch(keys[state], c);
+            if (at >= 0) {
+                return targets[state][at];
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    private static boolean isWordAt(CharSequence text, int start, int end) {
+        return !continuesWord(text, start - 1, -1) && !continuesWord(text, end, 1);
+    }
+
+    // A letter or digit next to a match continues its word, and so does a dot that joins it to
+    // one ("js" in "Node.js", "vue" in "Vue.js")
+    private static boolean continuesWord(CharSequence text, int at, int direction) {
+        if (at < 0 || at >= text.length()) {
+            return false;
+        }
+        char c = text.charAt(at);
+        if (Character.isLetterOrDigit(c)) {
+            return true;
+        }
+        int beyond = at + direction;
+        return c == '.' && beyond >= 0 && beyond < text.length() && Character.isLetterOrDigit(text.charAt(beyond));
+    }
+
+    private static char fold(char c) {
+        return Character.isWhitespace(c) ? ' ' : Character.toLowerCase(c);
+    }
+
+    private static String normalize(String term) {
+        StringBuilder normalized = new StringBuilder(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            char c = fold(term.charAt(i));
+            if (c != ' ' || (!normalized.isEmpty() && normalized.charAt(normalized.length() - 1) != ' ')) {
+                normalized.append(c);
+            }
+        }
+        int end = normalized.length();
+        return end > 0 && normalized.charAt(end - 1) == ' ' ? normalized.substring(0, end - 1) : normalized.toString();
+    }
+}
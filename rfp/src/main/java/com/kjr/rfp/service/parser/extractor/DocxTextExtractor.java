@@ -0,0 +1,31 @@
+package com.kjr.rfp.service.parser.extractor;
+
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+@Component
+public class DocxTextExtractor implements TextExtractor {
+
+    @Override
+    public String format() {
+        return "docx";
+    }
+
+    @Override
+    public Set<String> mediaTypes() {
+        return Set.of("application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+    }
+
+    @Override
+    public void extract(InputStream in, TextSink out) throws IOException {
+        // Closing the extractor also closes the document
+        try (XWPFWordExtractor extractor = new XWPFWordExtractor(new XWPFDocument(in))) {
+            out.write(extractor.getText());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.kjr.rfp.service.parser.extractor;
+
+import com.kjr.rfp.config.ParserProperties;
+import com.kjr.rfp.service.parser.ParseInterruptedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * PDFBox extraction, one page at a time. The file's bytes are held in a PDFBox scratch buffer that
+ * spills to disk past {@code rfp.parser.pdf-main-memory}, and reading stops at the page cap or
+ * when the sink is full, so a long document never needs its whole text or file on the heap.
+ */
+@Component
+public class PdfTextExtractor implements TextExtractor {
+    private final ParserProperties properties;
+    private final DistributionSummary pages;
+    private final Counter pageCapHits;
+
+    public PdfTextExtractor(ParserProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pages = DistributionSummary.builder("rfp.parse.pages")
+                .description("Pages per parsed PDF")
+                .register(meterRegistry);
+        this.pageCapHits = Counter.builder("rfp.parse.truncated")
+                .description("Documents cut short by the page or character cap")
+                .tag("limit", "pages")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String format() {
+        return "pdf";
+    }
+
+    @Override
+    public Set<String> mediaTypes() {
+        return Set.of("application/pdf");
+    }
+
+    @Override
+    public void extract(InputStream in, TextSink out) throws IOException {
+        try (PDDocument document = PDDocument.load(in, memoryUsage())) {
+            int pageCount = document.getNumberOfPages();
+            int lastPage = Math.min(pageCount, properties.getMaxPages());
+            if (lastPage < pageCount) {
+                pageCapHits.increment();
+            }
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int page = 1; page <= lastPage && !out.isFull(); page++) {
+                // A page of drawing operators can take long without writing any text
+                ParseInterruptedException.throwIfInterrupted();
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                stripper.writeText(document, out);
+            }
+            pages.record(pageCount);
+        }
+    }
+
+    private MemoryUsageSetting memoryUsage() {
+        MemoryUsageSetting setting = MemoryUsageSetting.setupMixed(properties.getPdfMainMemory().toBytes());
+        return properties.getPdfScratchDirectory() != null
+                ? setting.setTempDir(properties.getPdfScratchDirectory())
+                : setting;
+    }
+}
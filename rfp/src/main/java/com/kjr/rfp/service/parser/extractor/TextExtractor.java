@@ -0,0 +1,21 @@
+package com.kjr.rfp.service.parser.extractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Turns one document format into plain text. Implementations are Spring beans picked up by
+ * {@link TextExtractors}, which routes each upload by the media type detected from its content.
+ */
+public interface TextExtractor {
+
+    /** Short label for the {@code format} tag on extraction metrics, e.g. {@code pdf}. */
+    String format();
+
+    /** Media types this extractor handles; empty for the catch-all fallback. */
+    Set<String> mediaTypes();
+
+    /** Writes the document's text to {@code out}, stopping early once it is full. */
+    void extract(InputStream in, TextSink out) throws IOException;
+}
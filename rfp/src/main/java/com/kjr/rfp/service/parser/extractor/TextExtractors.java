@@ -0,0 +1,129 @@
+package com.kjr.rfp.service.parser.extractor;
+
+import com.kjr.rfp.config.ParserProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.mime.MimeTypes;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Registry of {@link TextExtractor}s by media type. The type comes from the document's content,
+ * not its file name: a PDF uploaded as {@code resume.doc} still goes to the PDF extractor, and a
+ * ZIP holding a Word document is a DOCX whatever it is called. Types without a native extractor go
+ * to the one extractor that declares no media types.
+ * <p>
+ * PDF and DOCX, almost every upload, are recognised directly: a PDF from its first bytes, a DOCX
+ * from the part names at the start of its ZIP container. Tika's full magic database costs about
+ * half a millisecond per call and is only consulted for the rest, so it is not even loaded until
+ * the first other document arrives.
+ */
+@Component
+public class TextExtractors {
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+    // OOXML packages start with [Content_Types].xml, and Word writes word/document.xml right after
+    // the package relationships, so the part that identifies a DOCX is within the first few KB
+    private static final int CONTAINER_SCAN_LIMIT = 64 * 1024;
+    private static final String CONTENT_TYPES_PART = "[Content_Types].xml";
+    private static final String WORD_MAIN_PART_TYPE = "wordprocessingml.document.main+xml";
+    private static final MediaType PDF = MediaType.application("pdf");
+    private static final MediaType DOCX =
+            MediaType.application("vnd.openxmlformats-officedocument.wordprocessingml.document");
+
+    private final Map<String, TextExtractor> byMediaType = new HashMap<>();
+    private final TextExtractor fallback;
+
+    private static final class TikaTypes {
+        static final MimeTypes DEFAULT = MimeTypes.getDefaultMimeTypes();
+    }
+
+    public TextExtractors(List<TextExtractor> extractors) {
+        TextExtractor catchAll = null;
+        for (TextExtractor extractor : extractors) {
+            if (extractor.mediaTypes().isEmpty()) {
+                if (catchAll != null) {
+                    throw new IllegalStateException("More than one fallback text extractor: "
+                            + catchAll.format() + ", " + extractor.format());
+                }
+                catchAll = extractor;
+            }
+            extractor.mediaTypes().forEach(type -> byMediaType.put(type, extractor));
+        }
+        if (catchAll == null) {
+            throw new IllegalStateException("No fallback text extractor registered");
+        }
+        this.fallback = catchAll;
+    }
+
+    /** The built-in PDF, DOCX and Tika extractors, for use outside the application context. */
+    public static TextExtractors standard(ParserProperties properties, MeterRegistry meterRegistry) {
+        return new TextExtractors(List.of(new PdfTextExtractor(properties, meterRegistry), new DocxTextExtractor(),
+                new TikaTextExtractor()));
+    }
+
+    /**
+     * Detects the media type of {@code in}, which must support mark/reset; the stream is left
+     * positioned at its start.
+     */
+    public MediaType detect(InputStream in, String fileName) throws IOException {
+        in.mark(PDF_MAGIC.length);
+        byte[] head = in.readNBytes(PDF_MAGIC.length);
+        in.reset();
+        if (startsWith(head, PDF_MAGIC)) {
+            return PDF;
+        }
+        boolean zip = startsWith(head, ZIP_MAGIC);
+        if (zip && isWordPackage(in)) {
+            return DOCX;
+        }
+
+        Metadata metadata = new Metadata();
+        // Tika would take a ZIP named .docx for a DOCX; the container was checked above
+        if (fileName != null && !zip) {
+            metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, fileName);
+        }
+        return TikaTypes.DEFAULT.detect(in, metadata);
+    }
+
+    /** Whether the ZIP container at the start of {@code in} is a Word document; leaves {@code in} at its start. */
+    private static boolean isWordPackage(InputStream in) throws IOException {
+        in.mark(CONTAINER_SCAN_LIMIT);
+        byte[] container = in.readNBytes(CONTAINER_SCAN_LIMIT);
+        in.reset();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(container))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (entry.getName().startsWith("word/")) {
+                    return true;
+                }
+                if (entry.getName().equals(CONTENT_TYPES_PART)) {
+                    String contentTypes = new String(zip.readNBytes(CONTAINER_SCAN_LIMIT), StandardCharsets.UTF_8);
+                    return contentTypes.contains(WORD_MAIN_PART_TYPE);
+                }
+            }
+        } catch (IOException e) {
+            // The scan window ends inside an entry, or the container is not a valid ZIP
+        }
+        return false;
+    }
+
+    private static boolean startsWith(byte[] head, byte[] magic) {
+        return head.length >= magic.length && Arrays.equals(head, 0, magic.length, magic, 0, magic.length);
+    }
+
+    public TextExtractor forType(MediaType mediaType) {
+        return byMediaType.getOrDefault(mediaType.getBaseType().toString(), fallback);
+    }
+}
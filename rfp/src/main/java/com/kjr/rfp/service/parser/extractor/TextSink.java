@@ -0,0 +1,57 @@
+package com.kjr.rfp.service.parser.extractor;
+
+import com.kjr.rfp.service.parser.ParseInterruptedException;
+import com.kjr.rfp.service.parser.ResumeSectionScanner;
+
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Where a {@link TextExtractor} writes: text goes straight into a {@link ResumeSectionScanner}
+ * and everything past the character cap is dropped. Extractors check {@link #isFull()} to stop
+ * reading the document early. Writing on an interrupted thread throws
+ * {@link ParseInterruptedException}, which ends the extraction.
+ */
+public final class TextSink extends Writer {
+    private final ResumeSectionScanner scanner;
+    private final int maxCharacters;
+
+    public TextSink(ResumeSectionScanner scanner, int maxCharacters) {
+        this.scanner = scanner;
+        this.maxCharacters = maxCharacters;
+    }
+
+    public boolean isFull() {
+        return scanner.length() >= maxCharacters;
+    }
+
+    public int remaining() {
+        return Math.max(0, maxCharacters - scanner.length());
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) {
+        ParseInterruptedException.throwIfInterrupted();
+        int accepted = Math.min(length, remaining());
+        if (accepted > 0) {
+            scanner.feed(CharBuffer.wrap(buffer, offset, accepted));
+        }
+    }
+
+    @Override
+    public void write(String text, int offset, int length) {
+        ParseInterruptedException.throwIfInterrupted();
+        int accepted = Math.min(length, remaining());
+        if (accepted > 0) {
+            scanner.feed(text.subSequence(offset, offset + accepted));
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
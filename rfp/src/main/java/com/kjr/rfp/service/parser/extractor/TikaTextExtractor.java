@@ -0,0 +1,59 @@
+package com.kjr.rfp.service.parser.extractor;
+
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.WriteOutContentHandler;
+import org.springframework.stereotype.Component;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Fallback for every format without a native extractor (DOC, RTF, ODT, plain text, ...). Text is
+ * streamed through a SAX content handler into the sink; the handler's write limit is the sink's
+ * remaining capacity, so Tika stops parsing as soon as the cap is reached.
+ * <p>
+ * One {@link AutoDetectParser} is shared by all calls: building it loads Tika's parser registry
+ * and MIME database, while parsing with it keeps no state and is thread-safe. It is only built on
+ * the first document that needs it, as PDF and DOCX uploads never do.
+ */
+@Component
+public class TikaTextExtractor implements TextExtractor {
+    // Initialized on first access by the JVM's class initialization, which is thread-safe
+    private static final class Parser {
+        static final AutoDetectParser INSTANCE = new AutoDetectParser();
+    }
+
+    @Override
+    public String format() {
+        return "tika";
+    }
+
+    @Override
+    public Set<String> mediaTypes() {
+        return Set.of();
+    }
+
+    @Override
+    public void extract(InputStream in, TextSink out) throws IOException {
+        if (out.isFull()) {
+            return;
+        }
+        BodyContentHandler handler = new BodyContentHandler(new WriteOutContentHandler(out, out.remaining()));
+        try {
+            Parser.INSTANCE.parse(in, handler, new Metadata(), new ParseContext());
+        } catch (SAXException e) {
+            if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                throw new IOException("Could not extract text", e);
+            }
+        } catch (TikaException e) {
+            throw new IOException("Could not extract text", e);
+        }
+    }
+}
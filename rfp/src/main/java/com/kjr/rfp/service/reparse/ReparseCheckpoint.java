@@ -0,0 +1,24 @@
+package com.kjr.rfp.service.reparse;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Progress of the re-parse job for one parser version. Resumes are visited in {@code _id} order,
+ * so after a restart the job continues after {@code lastId}.
+ */
+@Data
+@Document(collection = "reparse_checkpoints")
+public class ReparseCheckpoint {
+    @Id
+    private String id;
+    private int parserVersion;
+    private String lastId;
+    private long reparsed;
+    private long failed;
+    private Instant updatedAt;
+    private Instant completedAt;
+}
@@ -0,0 +1,23 @@
+package com.kjr.rfp.service.reparse;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A resume the re-parse job could not parse with {@code parserVersion}. Later runs for the same
+ * version skip it; removing the entry makes the next run try it again.
+ */
+@Data
+@Document(collection = "reparse_failures")
+public class ReparseFailure {
+    @Id
+    private String id;  // the resume's id
+    @Indexed
+    private int parserVersion;
+    private String reason;
+    private Instant failedAt;
+}
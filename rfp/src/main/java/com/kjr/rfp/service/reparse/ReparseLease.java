@@ -0,0 +1,20 @@
+package com.kjr.rfp.service.reparse;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Which instance runs the re-parse job. Only the owner writes the checkpoint; it extends the lease
+ * after every batch, and another instance may take it over once it has expired.
+ */
+@Data
+@Document(collection = "reparse_leases")
+public class ReparseLease {
+    @Id
+    private String id;
+    private String owner;
+    private Instant expiresAt;
+}
@@ -0,0 +1,470 @@
+package com.kjr.rfp.service.reparse;
+
+import com.kjr.rfp.config.ReparseProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.FileStorageService;
+import com.kjr.rfp.service.ResumeCacheEvictor;
+import com.kjr.rfp.service.ingest.ResumeIngestService;
+import com.kjr.rfp.service.parser.ParseGuard;
+import com.kjr.rfp.service.parser.ResumeParserService;
+import com.kjr.rfp.service.parser.ResumeSections;
+import com.kjr.rfp.service.search.ResumeIndexer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Brings stored resumes up to {@link ResumeParserService#PARSER_VERSION} in the background.
+ * <p>
+ * Resumes parsed by an older version are streamed from Mongo in {@code _id} order with only the
+ * fields needed to find their original file. Each batch is parsed again on a small
+ * fork-join pool of low-priority threads and written back with one unordered bulk replace; the
+ * bulk write raises the usual save events, so the in-memory indexes follow. A resume is only
+ * replaced while it still has the parser version that was read, so one deleted or saved again in
+ * the meantime is left as it is. After every batch the position is checkpointed, so a restart
+ * continues where the previous run stopped.
+ * <p>
+ * A resume whose stored text has the current {@link ResumeParserService#TEXT_VERSION} is parsed
+ * from that text; otherwise the text is extracted from the original file in GridFS again and the
+ * new text replaces the stored one.
+ * <p>
+ * Documents are taken at no more than the configured rate, and not while a live upload is in
+ * progress unless it takes longer than the upload back-off. A document that runs over its
+ * {@link ParseGuard} budget counts as failed and keeps the resume it already has. Failures are
+ * recorded in {@code reparse_failures} and not tried again until the parser version changes.
+ * <p>
+ * Every instance of the application may start the job, so a run first takes the lease in
+ * {@code reparse_leases}; while another instance holds it, {@link #start()} declines. The lease is
+ * extended with every checkpoint, and a run that finds it taken over stops without writing.
+ */
+@Slf4j
+@Service
+public class ReparseService implements MeterBinder {
+    static final String CHECKPOINT_ID = "resumes";
+
+    public enum State {IDLE, RUNNING, COMPLETED, FAILED}
+
+    public record Status(State state, int parserVersion, long reparsed, long failed, String lastId,
+                         Instant startedAt, Instant finishedAt) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final FileStorageService fileStorageService;
+    private final ResumeParserService resumeParserService;
+    private final ResumeIngestService resumeIngestService;
+    private final ParseGuard parseGuard;
+    private final List<ResumeIndexer> indexers;
+    private final ResumeCacheEvictor cacheEvictor;
+    private final ReparseProperties properties;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong reparsedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private volatile State state = State.IDLE;
+    private volatile ReparseCheckpoint checkpoint;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    private record Parsed(Resume resume, String text) {
+    }
+
+    /** One stale resume and either its re-parsed version or the reason it could not be parsed. */
+    private record Reparsed(Resume stale, Resume resume, Exception failure) {
+
+        boolean replacesText() {
+            return resume != null && !Objects.equals(resume.getTextFileId(), stale.getTextFileId());
+        }
+    }
+
+    public ReparseService(MongoTemplate mongoTemplate, FileStorageService fileStorageService,
+                          ResumeParserService resumeParserService, ResumeIngestService resumeIngestService,
+                          ParseGuard parseGuard, List<ResumeIndexer> indexers, ResumeCacheEvictor cacheEvictor,
+                          ReparseProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.fileStorageService = fileStorageService;
+        this.resumeParserService = resumeParserService;
+        this.resumeIngestService = resumeIngestService;
+        this.parseGuard = parseGuard;
+        this.indexers = indexers;
+        this.cacheEvictor = cacheEvictor;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnStartup() {
+        if (!properties.isRunOnStartup()) {
+            return;
+        }
+        // Taking the lease is a round trip to Mongo, which startup does not wait for
+        Thread starter = new Thread(() -> {
+            try {
+                start();
+            } catch (RuntimeException e) {
+                log.warn("Could not start the re-parse job", e);
+            }
+        }, "resume-reparse-start");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    /** Starts a run unless one is already going here or on another instance; returns whether a run was started. */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        boolean leased;
+        try {
+            leased = acquireLease();
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        if (!leased) {
+            log.info("Re-parse is already running on another instance");
+            running.set(false);
+            return false;
+        }
+        state = State.RUNNING;
+        startedAt = Instant.now();
+        finishedAt = null;
+        Thread thread = new Thread(() -> {
+            try {
+                run();
+                state = State.COMPLETED;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                state = State.FAILED;
+            } catch (RuntimeException e) {
+                log.warn("Re-parse stopped at {}", checkpoint != null ? checkpoint.getLastId() : null, e);
+                state = State.FAILED;
+            } finally {
+                releaseLease();
+                finishedAt = Instant.now();
+                running.set(false);
+            }
+        }, "resume-reparse");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public Status status() {
+        ReparseCheckpoint current = checkpoint;
+        return new Status(state, ResumeParserService.PARSER_VERSION,
+                current != null ? current.getReparsed() : 0, current != null ? current.getFailed() : 0,
+                current != null ? current.getLastId() : null, startedAt, finishedAt);
+    }
+
+    void run() throws InterruptedException {
+        checkpoint = loadCheckpoint();
+        if (checkpoint.getCompletedAt() != null) {
+            // A finished pass is only repeated for resumes that are still stale, such as failures
+            checkpoint.setLastId(null);
+            checkpoint.setCompletedAt(null);
+        }
+        long start = System.nanoTime();
+        long before = checkpoint.getReparsed();
+        Set<String> failures = loadFailures();
+        ReparseThrottle throttle = new ReparseThrottle(properties.getMaxDocumentsPerSecond());
+        ForkJoinPool pool = new ForkJoinPool(properties.getParallelism(), ReparseService::newWorker, null, false);
+        try (Stream<Resume> stale = mongoTemplate.stream(staleQuery(checkpoint.getLastId()), Resume.class)) {
+            List<Resume> batch = new ArrayList<>(properties.getBatchSize());
+            Iterator<Resume> it = stale.iterator();
+            while (it.hasNext()) {
+                Resume next = it.next();
+                if (failures.contains(next.getId())) {
+                    continue;
+                }
+                throttle.acquire();
+                awaitIdleUploads();
+                batch.add(next);
+                if (batch.size() >= properties.getBatchSize()) {
+                    process(batch, pool);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                process(batch, pool);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        checkpoint.setCompletedAt(Instant.now());
+        saveCheckpoint();
+        long reparsed = checkpoint.getReparsed() - before;
+        log.info("Re-parsed {} resumes to parser version {} in {} s ({} failed in total)", reparsed,
+                checkpoint.getParserVersion(), TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start),
+                checkpoint.getFailed());
+    }
+
+    private void process(List<Resume> batch, ForkJoinPool pool) {
+        // A parallel stream started from inside the pool runs its tasks on the pool's workers
+        List<Reparsed> outcomes = pool.submit(() -> batch.parallelStream()
+                .map(this::reparse)
+                .toList()).join();
+        List<Reparsed> parsed = outcomes.stream().filter(outcome -> outcome.resume() != null).toList();
+        List<Reparsed> failed = outcomes.stream().filter(outcome -> outcome.failure() != null).toList();
+        long written = parsed.isEmpty() ? 0 : write(parsed);
+        recordFailures(failed);
+        reparsedCount.addAndGet(written);
+        failedCount.addAndGet(failed.size());
+        checkpoint.setReparsed(checkpoint.getReparsed() + written);
+        checkpoint.setFailed(checkpoint.getFailed() + failed.size());
+        checkpoint.setLastId(batch.get(batch.size() - 1).getId());
+        saveCheckpoint();
+    }
+
+    // Matching the version that was read skips resumes deleted or saved again since, instead of
+    // writing the stale copy back over them or re-inserting them
+    private long write(List<Reparsed> parsed) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Resume.class);
+        for (Reparsed reparsed : parsed) {
+            bulk.replaceOne(new Query(Criteria.where("_id").is(reparsed.stale().getId())
+                    .and("parserVersion").is(reparsed.stale().getParserVersion())), reparsed.resume());
+        }
+        int matched = bulk.execute().getMatchedCount();
+        if (matched == parsed.size()) {
+            for (Reparsed reparsed : parsed) {
+                if (reparsed.replacesText()) {
+                    deleteText(reparsed.stale(), reparsed.stale().getTextFileId());
+                }
+            }
+        } else {
+            resync(parsed);
+        }
+        return matched;
+    }
+
+    // The bulk write raised a save event for every replacement, skipped ones included, so the
+    // indexes and caches of the batch are set back to what Mongo holds now
+    private void resync(List<Reparsed> parsed) {
+        List<String> ids = parsed.stream().map(reparsed -> reparsed.stale().getId()).toList();
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().include("email", "textFileId");
+        indexers.stream()
+                .flatMap(indexer -> indexer.indexedFields().stream())
+                .distinct()
+                .forEach(field -> query.fields().include(field));
+        Map<String, Resume> current = mongoTemplate.find(query, Resume.class).stream()
+                .collect(Collectors.toMap(Resume::getId, Function.identity()));
+        for (Reparsed reparsed : parsed) {
+            String id = reparsed.stale().getId();
+            Resume now = current.get(id);
+            for (ResumeIndexer indexer : indexers) {
+                if (now != null) {
+                    indexer.index(now);
+                } else {
+                    indexer.remove(id);
+                }
+            }
+            cacheEvictor.evict(reparsed.resume());
+            if (reparsed.replacesText()) {
+                // Text file ids are unique, so only a written replacement can hold the new one
+                boolean written = now != null && reparsed.resume().getTextFileId().equals(now.getTextFileId());
+                String unused = written ? reparsed.stale().getTextFileId() : reparsed.resume().getTextFileId();
+                deleteText(reparsed.stale(), unused);
+            }
+        }
+    }
+
+    private void recordFailures(List<Reparsed> failed) {
+        for (Reparsed reparsed : failed) {
+            ReparseFailure failure = new ReparseFailure();
+            failure.setId(reparsed.stale().getId());
+            failure.setParserVersion(ResumeParserService.PARSER_VERSION);
+            failure.setReason(reparsed.failure().toString());
+            failure.setFailedAt(Instant.now());
+            mongoTemplate.save(failure);
+        }
+    }
+
+    private Set<String> loadFailures() {
+        mongoTemplate.remove(new Query(Criteria.where("parserVersion").ne(ResumeParserService.PARSER_VERSION)),
+                ReparseFailure.class);
+        Query query = new Query(Criteria.where("parserVersion").is(ResumeParserService.PARSER_VERSION));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, ReparseFailure.class).stream()
+                .map(ReparseFailure::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private Reparsed reparse(Resume stale) {
+        try {
+            String text = stale.getTextFileId() != null
+                    ? fileStorageService.readText(stale.getTextFileId(), ResumeParserService.TEXT_VERSION).orElse(null)
+                    : null;
+            Resume resume;
+            if (text != null) {
+                resume = parseGuard.call(parseGuard.budget(text.length()),
+                        () -> resumeParserService.parseSections(stale.getFileName(), ResumeSections.of(text)));
+                resume.setTextFileId(stale.getTextFileId());
+            } else {
+                Parsed parsed = parseOriginal(stale);
+                resume = parsed.resume();
+                resume.setTextFileId(replaceText(stale, parsed.text()));
+            }
+            resume.setId(stale.getId());
+            resume.setFileId(stale.getFileId());
+            resume.setContentHash(stale.getContentHash());
+            return new Reparsed(stale, resume, null);
+        } catch (Exception e) {
+            log.warn("Could not re-parse resume {}", stale.getId(), e);
+            return new Reparsed(stale, null, e);
+        }
+    }
+
+    private Parsed parseOriginal(Resume stale) throws Exception {
+        Resource file = stale.getFileId() != null ? fileStorageService.getFileResource(stale.getFileId()) : null;
+        if (file == null) {
+            throw new FileNotFoundException("No stored file " + stale.getFileId());
+        }
+        return parseGuard.call(parseGuard.budget(file.contentLength()), () -> {
+            try (InputStream in = file.getInputStream()) {
+                ResumeSections sections = resumeParserService.extractSections(stale.getFileName(), in);
+                return new Parsed(resumeParserService.parseSections(stale.getFileName(), sections), sections.text());
+            }
+        });
+    }
+
+    // Losing the text only costs the next run an extraction, so failures here do not fail the resume.
+    // The outdated text is removed once the bulk write has replaced the resume.
+    private String replaceText(Resume stale, String text) {
+        try {
+            return fileStorageService.storeText(stale.getFileName() + ".txt", text, ResumeParserService.TEXT_VERSION);
+        } catch (RuntimeException e) {
+            log.warn("Could not store the extracted text of resume {}", stale.getId(), e);
+            return stale.getTextFileId();
+        }
+    }
+
+    private void deleteText(Resume stale, String textFileId) {
+        if (textFileId == null) {
+            return;
+        }
+        try {
+            fileStorageService.deleteFile(textFileId);
+        } catch (RuntimeException e) {
+            log.warn("Could not remove text file {} of resume {}", textFileId, stale.getId(), e);
+        }
+    }
+
+    private void awaitIdleUploads() throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getUploadBackoff().toNanos();
+        while (resumeIngestService.activeUploads() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private ReparseCheckpoint loadCheckpoint() {
+        ReparseCheckpoint stored = mongoTemplate.findById(CHECKPOINT_ID, ReparseCheckpoint.class);
+        if (stored != null && stored.getParserVersion() == ResumeParserService.PARSER_VERSION) {
+            return stored;
+        }
+        ReparseCheckpoint fresh = new ReparseCheckpoint();
+        fresh.setId(CHECKPOINT_ID);
+        fresh.setParserVersion(ResumeParserService.PARSER_VERSION);
+        return fresh;
+    }
+
+    private void saveCheckpoint() {
+        renewLease();
+        checkpoint.setUpdatedAt(Instant.now());
+        mongoTemplate.save(checkpoint);
+    }
+
+    // The upsert inserts a lease when there is none; one held by another instance makes the
+    // filter miss and the insert collide with its id
+    boolean acquireLease() {
+        Instant now = Instant.now();
+        Query query = new Query(Criteria.where("_id").is(CHECKPOINT_ID).orOperator(
+                Criteria.where("owner").is(instanceId), Criteria.where("expiresAt").lt(now)));
+        Update update = new Update().set("owner", instanceId).set("expiresAt", now.plus(properties.getLeaseDuration()));
+        try {
+            mongoTemplate.upsert(query, update, ReparseLease.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void renewLease() {
+        Query query = new Query(Criteria.where("_id").is(CHECKPOINT_ID).and("owner").is(instanceId));
+        Update update = new Update().set("expiresAt", Instant.now().plus(properties.getLeaseDuration()));
+        if (mongoTemplate.updateFirst(query, update, ReparseLease.class).getMatchedCount() == 0) {
+            throw new IllegalStateException("Re-parse lease was taken over by another instance");
+        }
+    }
+
+    private void releaseLease() {
+        try {
+            mongoTemplate.remove(new Query(Criteria.where("_id").is(CHECKPOINT_ID).and("owner").is(instanceId)),
+                    ReparseLease.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not release the re-parse lease; it expires on its own", e);
+        }
+    }
+
+    static Query staleQuery(String afterId) {
+        Criteria stale = new Criteria().orOperator(
+                Criteria.where("parserVersion").exists(false),
+                Criteria.where("parserVersion").lt(ResumeParserService.PARSER_VERSION));
+        Criteria criteria = afterId != null
+                ? new Criteria().andOperator(stale, Criteria.where("_id").gt(afterId))
+                : stale;
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id"));
+        query.fields().include("fileId", "textFileId", "fileName", "contentHash", "parserVersion");
+        return query;
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("reparse-" + worker.getPoolIndex());
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.setDaemon(true);
+        return worker;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        documentCounter(registry, "reparsed", reparsedCount);
+        documentCounter(registry, "failed", failedCount);
+    }
+
+    private static void documentCounter(MeterRegistry registry, String outcome, AtomicLong count) {
+        FunctionCounter.builder("rfp.reparse.documents", count, AtomicLong::get)
+                .description("Stored resumes parsed again by the background re-parse job")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
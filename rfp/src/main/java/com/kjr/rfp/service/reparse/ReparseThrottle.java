@@ -0,0 +1,24 @@
+package com.kjr.rfp.service.reparse;
+
+import java.util.concurrent.TimeUnit;
+
+/** Spaces calls to {@link #acquire()} evenly so that at most a given number pass per second. */
+final class ReparseThrottle {
+    private final long intervalNanos;
+    private long next = System.nanoTime();
+
+    ReparseThrottle(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + permitsPerSecond);
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    }
+
+    void acquire() throws InterruptedException {
+        long now = System.nanoTime();
+        if (next > now) {
+            TimeUnit.NANOSECONDS.sleep(next - now);
+        }
+        next = Math.max(now, next) + intervalNanos;
+    }
+}
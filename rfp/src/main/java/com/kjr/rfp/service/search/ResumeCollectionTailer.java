@@ -0,0 +1,120 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.config.SearchProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.ResumeCacheEvictor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Picks up resumes that another application inserted into the {@code resumes} collection, such as
+ * rfp-reactive's uploads, which raise no Mongo events in this process. Every
+ * {@code rfp.search.tail-interval} it reads the resumes whose {@code _id} was created since the
+ * previous look, feeds those the indexes have not seen to every {@link ResumeIndexer} and drops
+ * any cached lookups of them, such as an earlier "not found" for their email.
+ * <p>
+ * Ids are generated by the writing client, so each look reaches back {@code tail-lookback} for
+ * inserts that became visible late or came from a client whose clock is behind. Updates and
+ * deletes made by other applications are not picked up; rfp-reactive makes neither.
+ */
+@Slf4j
+@Component
+public class ResumeCollectionTailer implements DisposableBean {
+    private final MongoTemplate mongoTemplate;
+    private final List<ResumeIndexer> indexers;
+    private final ResumeOrdinals ordinals;
+    private final ResumeCacheEvictor cacheEvictor;
+    private final SearchProperties properties;
+    private final Counter tailed;
+    private final ScheduledThreadPoolExecutor poller;
+    private volatile Instant lastPoll = Instant.now();
+
+    public ResumeCollectionTailer(MongoTemplate mongoTemplate, List<ResumeIndexer> indexers, ResumeOrdinals ordinals,
+                                  ResumeCacheEvictor cacheEvictor, SearchProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexers = indexers;
+        this.ordinals = ordinals;
+        this.cacheEvictor = cacheEvictor;
+        this.properties = properties;
+        this.tailed = Counter.builder("rfp.search.tailed")
+                .description("Resumes inserted by other applications and added to the indexes")
+                .register(meterRegistry);
+        this.poller = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "resume-tailer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // The startup rebuild reads everything inserted until it runs; polling starts from there
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = properties.getTailInterval().toMillis();
+        if (interval <= 0) {
+            return;
+        }
+        lastPoll = Instant.now();
+        poller.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /** Indexes the resumes inserted since the previous poll; returns how many were new to this process. */
+    int poll() {
+        Instant start = Instant.now();
+        Query query = new Query(Criteria.where("_id")
+                .gte(ObjectId.getSmallestWithDate(Date.from(lastPoll.minus(properties.getTailLookback())))));
+        query.fields().include("email");
+        indexers.stream()
+                .flatMap(indexer -> indexer.indexedFields().stream())
+                .distinct()
+                .forEach(field -> query.fields().include(field));
+
+        int count = 0;
+        try (Stream<Resume> resumes = mongoTemplate.stream(query, Resume.class)) {
+            Iterator<Resume> iterator = resumes.iterator();
+            while (iterator.hasNext()) {
+                Resume resume = iterator.next();
+                // Saved here or already tailed: the Mongo events have indexed it
+                if (ordinals.find(resume.getId()) != null) {
+                    continue;
+                }
+                for (ResumeIndexer indexer : indexers) {
+                    indexer.index(resume);
+                }
+                cacheEvictor.evict(resume);
+                count++;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not read newly inserted resumes; retrying in {}", properties.getTailInterval(), e);
+            return count;
+        }
+        lastPoll = start;
+        if (count > 0) {
+            tailed.increment(count);
+            log.info("Indexed {} resumes inserted by other applications", count);
+        }
+        return count;
+    }
+
+    @Override
+    public void destroy() {
+        poller.shutdownNow();
+    }
+}
@@ -0,0 +1,126 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.model.Resume;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps every {@link ResumeIndexer} in step with the {@code resumes} collection: each save is
+ * pushed to the indexers as it happens, and the indexers are rebuilt from Mongo with a single
+ * projected cursor once the application has started.
+ * <p>
+ * Saves and deletes keep arriving while the rebuild reads its cursor, so the cursor's copy of a
+ * resume may be older than the indexed one, or belong to a resume that is gone. Resumes touched by
+ * an event during the rebuild are therefore skipped when they come off the cursor; the check and
+ * the indexing are atomic per resume, so an event cannot slip in between them.
+ */
+@Slf4j
+@Component
+public class ResumeIndexSynchronizer extends AbstractMongoEventListener<Resume> {
+    private final MongoTemplate mongoTemplate;
+    private final List<ResumeIndexer> indexers;
+    // Ids saved or deleted since the running rebuild started; null while no rebuild runs
+    private volatile ConcurrentHashMap<String, Boolean> touchedDuringRebuild;
+
+    public ResumeIndexSynchronizer(MongoTemplate mongoTemplate, List<ResumeIndexer> indexers) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexers = indexers;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Resume> event) {
+        Resume resume = event.getSource();
+        touch(resume.getId(), () -> {
+            for (ResumeIndexer indexer : indexers) {
+                indexer.index(resume);
+            }
+        });
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Resume> event) {
+        Object id = event.getSource().get("_id");
+        if (id != null) {
+            touch(id.toString(), () -> {
+                for (ResumeIndexer indexer : indexers) {
+                    indexer.remove(id.toString());
+                }
+            });
+        }
+    }
+
+    private void touch(String id, Runnable update) {
+        ConcurrentHashMap<String, Boolean> touched = touchedDuringRebuild;
+        if (touched == null || id == null) {
+            update.run();
+            return;
+        }
+        touched.compute(id, (key, previous) -> {
+            update.run();
+            return Boolean.TRUE;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread rebuild = new Thread(this::rebuild, "resume-index-rebuild");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    void rebuild() {
+        long start = System.nanoTime();
+        Query query = new Query();
+        indexers.stream()
+                .flatMap(indexer -> indexer.indexedFields().stream())
+                .distinct()
+                .forEach(field -> query.fields().include(field));
+
+        long count = 0;
+        long skipped = 0;
+        ConcurrentHashMap<String, Boolean> touched = new ConcurrentHashMap<>();
+        touchedDuringRebuild = touched;
+        try (Stream<Resume> resumes = mongoTemplate.stream(query, Resume.class)) {
+            Iterator<Resume> iterator = resumes.iterator();
+            while (iterator.hasNext()) {
+                Resume resume = iterator.next();
+                // Returning the previous value leaves an untouched resume unmarked
+                boolean[] indexed = {false};
+                touched.compute(resume.getId(), (key, previous) -> {
+                    if (previous == null) {
+                        for (ResumeIndexer indexer : indexers) {
+                            indexer.index(resume);
+                        }
+                        indexed[0] = true;
+                    }
+                    return previous;
+                });
+                if (indexed[0]) {
+                    count++;
+                } else {
+                    skipped++;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Resume index rebuild failed after {} documents; search falls back to a collection scan", count, e);
+            return;
+        } finally {
+            touchedDuringRebuild = null;
+        }
+        indexers.forEach(ResumeIndexer::onRebuildComplete);
+        log.info("Rebuilt resume indexes from {} documents in {} ms, skipping {} changed during the rebuild",
+                count, (System.nanoTime() - start) / 1_000_000, skipped);
+    }
+}
@@ -0,0 +1,22 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.model.Resume;
+
+import java.util.Set;
+
+/**
+ * An in-memory structure derived from the {@code resumes} collection. Implementations are fed by
+ * {@link ResumeIndexSynchronizer} on every save and rebuilt from Mongo at startup.
+ */
+public interface ResumeIndexer {
+
+    /** Resume fields the indexer reads; used to project the startup rebuild query. */
+    Set<String> indexedFields();
+
+    void index(Resume resume);
+
+    void remove(String resumeId);
+
+    default void onRebuildComplete() {
+    }
+}
@@ -0,0 +1,47 @@
+package com.kjr.rfp.service.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps Mongo resume ids to dense int ordinals so in-memory indexes can use compact int postings.
+ * Ordinals are assigned once and never reused for the lifetime of the process.
+ */
+@Component
+public class ResumeOrdinals {
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private final List<String> ids = new ArrayList<>();
+
+    public int ordinalOf(String id) {
+        Integer ordinal = ordinals.get(id);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (ids) {
+            return ordinals.computeIfAbsent(id, key -> {
+                ids.add(key);
+                return ids.size() - 1;
+            });
+        }
+    }
+
+    public Integer find(String id) {
+        return ordinals.get(id);
+    }
+
+    public String idOf(int ordinal) {
+        synchronized (ids) {
+            return ids.get(ordinal);
+        }
+    }
+
+    public int size() {
+        synchronized (ids) {
+            return ids.size();
+        }
+    }
+}
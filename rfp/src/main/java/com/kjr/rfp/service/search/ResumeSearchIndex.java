@@ -0,0 +1,340 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.exception.InvalidCursorException;
+import com.kjr.rfp.model.Resume;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Term-based inverted index over resume name, email, skills and summary.
+ * <p>
+ * Each term maps to postings sorted by resume ordinal with a field-weighted score. A query is
+ * tokenized the same way as the documents, every query token is matched exactly or as a prefix
+ * (so "jav" still finds "java"), and the per-token postings are intersected and ranked by score.
+ */
+@Component
+public class ResumeSearchIndex implements ResumeIndexer, MeterBinder {
+    static final int NAME_WEIGHT = 4;
+    static final int EMAIL_WEIGHT = 3;
+    static final int SKILL_WEIGHT = 3;
+    static final int SUMMARY_WEIGHT = 1;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ResumeOrdinals ordinals;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Integer, String[]> documentTerms = new HashMap<>();
+    private volatile boolean ready;
+
+    public ResumeSearchIndex(ResumeOrdinals ordinals) {
+        this.ordinals = ordinals;
+    }
+
+    @Override
+    public Set<String> indexedFields() {
+        return Set.of("name", "email", "skills", "summary");
+    }
+
+    @Override
+    public void index(Resume resume) {
+        if (resume.getId() == null) {
+            return;
+        }
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        addField(weights, resume.getName(), NAME_WEIGHT);
+        addField(weights, resume.getEmail(), EMAIL_WEIGHT);
+        if (resume.getSkills() != null) {
+            addField(weights, String.join(" ", resume.getSkills()), SKILL_WEIGHT);
+        }
+        addField(weights, resume.getSummary(), SUMMARY_WEIGHT);
+
+        int ordinal = ordinals.ordinalOf(resume.getId());
+        lock.writeLock().lock();
+        try {
+            removeOrdinal(ordinal);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new Postings()).put(ordinal, weight));
+            documentTerms.put(ordinal, weights.keySet().toArray(String[]::new));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String resumeId) {
+        Integer ordinal = ordinals.find(resumeId);
+        if (ordinal == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeOrdinal(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRebuildComplete() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rfp.search.index.documents", this, ResumeSearchIndex::size)
+                .description("Resumes held in the in-memory search index")
+                .register(registry);
+        Gauge.builder("rfp.search.index.terms", this, ResumeSearchIndex::termCount)
+                .description("Distinct terms in the in-memory search index")
+                .register(registry);
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A ranked match. Ranking is by descending score, then ascending ordinal, so a hit is also the
+     * keyset cursor for the page that follows it.
+     */
+    public record Hit(String id, int score, int ordinal) {
+
+        public String cursor() {
+            return score + ":" + ordinal;
+        }
+
+        public static Hit parseCursor(String cursor) {
+            int colon = cursor.indexOf(':');
+            if (colon < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            try {
+                return new Hit(null, Integer.parseInt(cursor.substring(0, colon)),
+                        Integer.parseInt(cursor.substring(colon + 1)));
+            } catch (NumberFormatException e) {
+                throw new InvalidCursorException(cursor);
+            }
+        }
+
+        boolean ranksBefore(int otherScore, int otherOrdinal) {
+            return score > otherScore || (score == otherScore && ordinal < otherOrdinal);
+        }
+    }
+
+    /**
+     * Returns the ids of resumes matching every query token, best match first.
+     */
+    public List<String> search(String query, int limit) {
+        return search(query, null, limit).stream().map(Hit::id).toList();
+    }
+
+    /**
+     * Returns up to {@code limit} resumes matching every query token that rank after {@code after}
+     * (or from the top when it is {@code null}), best match first.
+     */
+    public List<Hit> search(String query, Hit after, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        ScoredDocs result = null;
+        lock.readLock().lock();
+        try {
+            List<ScoredDocs> perToken = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                ScoredDocs matches = match(token);
+                if (matches.size == 0) {
+                    return List.of();
+                }
+                perToken.add(matches);
+            }
+            perToken.sort(Comparator.comparingInt(docs -> docs.size));
+            for (ScoredDocs docs : perToken) {
+                result = result == null ? docs : result.intersect(docs);
+                if (result.size == 0) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return topHits(result, after, limit);
+    }
+
+    private ScoredDocs match(String token) {
+        ScoredDocs matches = new ScoredDocs(new int[0], new int[0], 0);
+        Postings exact = postings.get(token);
+        if (exact != null) {
+            matches = matches.union(exact, false);
+        }
+        int expansions = 0;
+        for (Map.Entry<String, Postings> entry : postings.tailMap(token, false).entrySet()) {
+            if (!entry.getKey().startsWith(token) || expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            matches = matches.union(entry.getValue(), true);
+        }
+        return matches;
+    }
+
+    private List<Hit> topHits(ScoredDocs docs, Hit after, int limit) {
+        // Heap keys pack score in the high bits and the inverted ordinal in the low bits, so ties
+        // are broken in favour of the earlier-indexed resume.
+        PriorityQueue<Long> heap = new PriorityQueue<>(Math.min(limit, docs.size) + 1);
+        for (int i = 0; i < docs.size; i++) {
+            if (after != null && !after.ranksBefore(docs.scores[i], docs.ordinals[i])) {
+                continue;
+            }
+            heap.add(((long) docs.scores[i] << 32) | (Integer.MAX_VALUE - docs.ordinals[i]));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        Hit[] hits = new Hit[heap.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            long key = heap.poll();
+            int ordinal = Integer.MAX_VALUE - (int) (key & 0xFFFFFFFFL);
+            hits[i] = new Hit(ordinals.idOf(ordinal), (int) (key >>> 32), ordinal);
+        }
+        return Arrays.asList(hits);
+    }
+
+    private void removeOrdinal(int ordinal) {
+        String[] terms = documentTerms.remove(ordinal);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(ordinal) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static void addField(Map<String, Integer> weights, String value, int weight) {
+        for (String term : new LinkedHashSet<>(SearchTokenizer.tokenize(value))) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /** Postings list for one term: ordinals in ascending order with a parallel score array. */
+    static final class Postings {
+        private int[] ordinals = new int[4];
+        private int[] scores = new int[4];
+        private int size;
+
+        void put(int ordinal, int score) {
+            if (size > 0 && ordinals[size - 1] >= ordinal) {
+                int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+                if (at >= 0) {
+                    scores[at] = score;
+                    return;
+                }
+                insertAt(-at - 1, ordinal, score);
+                return;
+            }
+            insertAt(size, ordinal, score);
+        }
+
+        boolean remove(int ordinal) {
+            int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ordinals, at + 1, ordinals, at, size - at - 1);
+            System.arraycopy(scores, at + 1, scores, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        private void insertAt(int at, int ordinal, int score) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            System.arraycopy(ordinals, at, ordinals, at + 1, size - at);
+            System.arraycopy(scores, at, scores, at + 1, size - at);
+            ordinals[at] = ordinal;
+            scores[at] = score;
+            size++;
+        }
+    }
+
+    /** Immutable scored result set, sorted by ordinal. */
+    private record ScoredDocs(int[] ordinals, int[] scores, int size) {
+
+        ScoredDocs union(Postings other, boolean prefixMatch) {
+            int[] outOrdinals = new int[size + other.size];
+            int[] outScores = new int[size + other.size];
+            int i = 0, j = 0, n = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || (i < size && ordinals[i] < other.ordinals[j])) {
+                    outOrdinals[n] = ordinals[i];
+                    outScores[n++] = scores[i++];
+                } else {
+                    // Prefix-only matches count for half so exact term hits rank first
+                    int score = prefixMatch ? Math.max(1, other.scores[j] / 2) : other.scores[j];
+                    if (i < size && ordinals[i] == other.ordinals[j]) {
+                        score = Math.max(score, scores[i++]);
+                    }
+                    outOrdinals[n] = other.ordinals[j++];
+                    outScores[n++] = score;
+                }
+            }
+            return new ScoredDocs(outOrdinals, outScores, n);
+        }
+
+        ScoredDocs intersect(ScoredDocs other) {
+            int[] outOrdinals = new int[Math.min(size, other.size)];
+            int[] outScores = new int[outOrdinals.length];
+            int i = 0, j = 0, n = 0;
+            while (i < size && j < other.size) {
+                if (ordinals[i] < other.ordinals[j]) {
+                    i++;
+                } else if (ordinals[i] > other.ordinals[j]) {
+                    j++;
+                } else {
+                    outOrdinals[n] = ordinals[i];
+                    outScores[n++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return new ScoredDocs(outOrdinals, outScores, n);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.model.ResumePage;
+import com.kjr.rfp.model.ResumeSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * The {@link ResumeSummary} of every resume, packed into direct (off-heap) byte buffers so search
+ * results and listings can be rendered without a Mongo round trip and without keeping a hydrated
+ * object per resume on the heap.
+ * <p>
+ * Each record holds the UTF-8 name and email and the resume's skills as varint codes into a shared
+ * skill dictionary, so a skill name exists once however many resumes list it, and decoded
+ * summaries share those strings. Records are appended to 1 MB slabs; a re-saved resume gets a new
+ * record and the old one is reclaimed when the slabs are compacted.
+ */
+@Component
+public class ResumeSummaryStore implements ResumeIndexer, MeterBinder {
+    static final int SLAB_SIZE = 1 << 20;
+    private static final long ABSENT = -1;
+    private static final int STREAM_PAGE_SIZE = 512;
+
+    private final ResumeOrdinals ordinals;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    // Slab index in the high and offset in the low 32 bits, by resume ordinal
+    private long[] addresses = new long[0];
+    private final NavigableMap<String, Integer> idOrder = new TreeMap<>();
+    private final List<String> skillNames = new ArrayList<>();
+    private final Map<String, Integer> skillCodes = new HashMap<>();
+    private final ThreadLocal<byte[]> scratch = ThreadLocal.withInitial(() -> new byte[256]);
+    private byte[] encodeBuffer = new byte[256];
+    private long liveBytes;
+    private long deadBytes;
+    private volatile boolean ready;
+
+    public ResumeSummaryStore(ResumeOrdinals ordinals) {
+        this.ordinals = ordinals;
+    }
+
+    @Override
+    public Set<String> indexedFields() {
+        return Set.of(ResumeSummary.FIELDS);
+    }
+
+    @Override
+    public void index(Resume resume) {
+        if (resume.getId() == null) {
+            return;
+        }
+        int ordinal = ordinals.ordinalOf(resume.getId());
+        lock.writeLock().lock();
+        try {
+            int length = encode(resume);
+            release(ordinal);
+            ensureCapacity(ordinal);
+            addresses[ordinal] = append(encodeBuffer, length);
+            liveBytes += length;
+            // The id string and boxed ordinal already held by the ordinals map, not new copies
+            String id = ordinals.idOf(ordinal);
+            idOrder.put(id, ordinals.find(id));
+            if (deadBytes > SLAB_SIZE && deadBytes > liveBytes) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String resumeId) {
+        Integer ordinal = ordinals.find(resumeId);
+        if (ordinal == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            release(ordinal);
+            idOrder.remove(resumeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRebuildComplete() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** The summaries of the given resumes in the same order, leaving out ids the store does not hold. */
+    public List<ResumeSummary> get(List<String> ids) {
+        List<ResumeSummary> summaries = new ArrayList<>(ids.size());
+        lock.readLock().lock();
+        try {
+            for (String id : ids) {
+                Integer ordinal = ordinals.find(id);
+                long address = ordinal != null && ordinal < addresses.length ? addresses[ordinal] : ABSENT;
+                if (address != ABSENT) {
+                    summaries.add(decode(id, address));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return summaries;
+    }
+
+    /** Up to {@code limit} summaries in {@code _id} order after {@code cursor}, or from the first when it is {@code null}. */
+    public ResumePage page(String cursor, int limit) {
+        List<ResumeSummary> items = new ArrayList<>(limit);
+        boolean hasMore = false;
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> after = cursor != null ? idOrder.tailMap(cursor, false) : idOrder;
+            for (Map.Entry<String, Integer> entry : after.entrySet()) {
+                if (items.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                items.add(decode(entry.getKey(), addresses[entry.getValue()]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ResumePage(items, hasMore ? items.get(items.size() - 1).getId() : null);
+    }
+
+    /** Every summary in {@code _id} order, read a page at a time so no lock is held between pages. */
+    public Stream<ResumeSummary> stream() {
+        return Stream.iterate(page(null, STREAM_PAGE_SIZE), Objects::nonNull,
+                        page -> page.nextCursor() != null ? page(page.nextCursor(), STREAM_PAGE_SIZE) : null)
+                .flatMap(page -> page.items().stream());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return idOrder.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Bytes of direct memory held by the slabs, including space not yet reclaimed from replaced records. */
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return slabs.stream().mapToLong(ByteBuffer::capacity).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rfp.search.summaries.documents", this, ResumeSummaryStore::size)
+                .description("Resume summaries held in the off-heap summary store")
+                .register(registry);
+        Gauge.builder("rfp.search.summaries.size", this, ResumeSummaryStore::offHeapBytes)
+                .description("Direct memory held by the summary store")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    // Record layout: name and email as varint (UTF-8 length + 1, 0 for null) followed by the
+    // bytes, then the skill count and one varint dictionary code per skill
+    private int encode(Resume resume) {
+        int at = encodeString(resume.getName(), 0);
+        at = encodeString(resume.getEmail(), at);
+        List<String> skills = resume.getSkills() != null ? resume.getSkills() : List.of();
+        at = putVarint(skills.size(), at);
+        for (String skill : skills) {
+            at = putVarint(skillCode(skill), at);
+        }
+        return at;
+    }
+
+    private int encodeString(String value, int at) {
+        if (value == null) {
+            return putVarint(0, at);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        at = putVarint(bytes.length + 1, at);
+        reserve(at + bytes.length);
+        System.arraycopy(bytes, 0, encodeBuffer, at, bytes.length);
+        return at + bytes.length;
+    }
+
+    private int putVarint(int value, int at) {
+        reserve(at + 5);
+        while ((value & ~0x7F) != 0) {
+            encodeBuffer[at++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        encodeBuffer[at++] = (byte) value;
+        return at;
+    }
+
+    private void reserve(int length) {
+        if (length > encodeBuffer.length) {
+            encodeBuffer = Arrays.copyOf(encodeBuffer, Math.max(length, encodeBuffer.length * 2));
+        }
+    }
+
+    private int skillCode(String skill) {
+        String name = skill != null ? skill : "";
+        return skillCodes.computeIfAbsent(name, key -> {
+            skillNames.add(key);
+            return skillNames.size() - 1;
+        });
+    }
+
+    private long append(byte[] record, int length) {
+        ByteBuffer slab = slabs.isEmpty() ? null : slabs.get(slabs.size() - 1);
+        if (slab == null || slab.remaining() < length) {
+            slab = ByteBuffer.allocateDirect(Math.max(SLAB_SIZE, length));
+            slabs.add(slab);
+        }
+        int offset = slab.position();
+        slab.put(record, 0, length);
+        return ((long) (slabs.size() - 1) << 32) | offset;
+    }
+
+    private ResumeSummary decode(String id, long address) {
+        ByteBuffer slab = slabs.get((int) (address >>> 32));
+        int[] at = {(int) address};
+        String name = decodeString(slab, at);
+        String email = decodeString(slab, at);
+        String[] skills = new String[getVarint(slab, at)];
+        for (int i = 0; i < skills.length; i++) {
+            skills[i] = skillNames.get(getVarint(slab, at));
+        }
+        return new ResumeSummary(id, name, email, Arrays.asList(skills));
+    }
+
+    private String decodeString(ByteBuffer slab, int[] at) {
+        int length = getVarint(slab, at) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = scratch.get();
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+            scratch.set(bytes);
+        }
+        slab.get(at[0], bytes, 0, length);
+        at[0] += length;
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static int getVarint(ByteBuffer slab, int[] at) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = slab.get(at[0]++);
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static int recordLength(ByteBuffer slab, int start) {
+        int[] at = {start};
+        for (int field = 0; field < 2; field++) {
+            at[0] += Math.max(0, getVarint(slab, at) - 1);
+        }
+        int skills = getVarint(slab, at);
+        for (int i = 0; i < skills; i++) {
+            getVarint(slab, at);
+        }
+        return at[0] - start;
+    }
+
+    private void release(int ordinal) {
+        if (ordinal < addresses.length && addresses[ordinal] != ABSENT) {
+            long address = addresses[ordinal];
+            int length = recordLength(slabs.get((int) (address >>> 32)), (int) address);
+            liveBytes -= length;
+            deadBytes += length;
+            addresses[ordinal] = ABSENT;
+        }
+    }
+
+    private void ensureCapacity(int ordinal) {
+        if (ordinal >= addresses.length) {
+            int from = addresses.length;
+            addresses = Arrays.copyOf(addresses, Math.max(ordinal + 1, Math.max(1024, from * 2)));
+            Arrays.fill(addresses, from, addresses.length, ABSENT);
+        }
+    }
+
+    // Copies the live records into fresh slabs; the old slabs are freed once they are unreachable
+    private void compact() {
+        List<ByteBuffer> old = new ArrayList<>(slabs);
+        long[] moved = addresses.clone();
+        slabs.clear();
+        byte[] record = new byte[256];
+        for (int ordinal : idOrder.values()) {
+            long address = addresses[ordinal];
+            ByteBuffer slab = old.get((int) (address >>> 32));
+            int length = recordLength(slab, (int) address);
+            if (record.length < length) {
+                record = new byte[length];
+            }
+            slab.get((int) address, record, 0, length);
+            moved[ordinal] = append(record, length);
+        }
+        addresses = moved;
+        deadBytes = 0;
+    }
+}
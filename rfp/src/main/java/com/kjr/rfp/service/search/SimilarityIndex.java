@@ -0,0 +1,316 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.model.Experience;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.SkillTaxonomy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "More like this" over skills, summary and experience: every resume gets a MinHash signature of
+ * its feature set, and locality-sensitive hashing over bands of the signature finds the resumes
+ * likely to be similar without comparing against the whole collection.
+ * <p>
+ * Features are the canonical skills, each counted {@value #SKILL_WEIGHT} times so that shared
+ * skills outweigh shared vocabulary, and the words of the summary and of each position and
+ * description, without stop words. Candidates that share at least one band are ranked by the
+ * fraction of signature positions they agree on, an estimate of the Jaccard similarity of the two
+ * feature sets. With {@value #BANDS} bands of {@value #ROWS} rows, pairs above about 0.5 are
+ * almost always found and pairs below 0.2 rarely are.
+ */
+@Component
+public class SimilarityIndex implements ResumeIndexer, MeterBinder {
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    static final int SIGNATURE_LENGTH = BANDS * ROWS;
+    static final int SKILL_WEIGHT = 3;
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final long[] SEEDS = new long[SIGNATURE_LENGTH];
+    private static final Set<String> STOP_WORDS = Set.of("and", "the", "for", "with", "from", "that", "this",
+            "are", "was", "were", "has", "have", "had", "our", "your", "their", "its", "into", "over", "using",
+            "used", "use", "all", "any", "can", "will", "who", "which", "while", "also", "across", "including",
+            "based", "within", "per", "via", "years", "year", "experience", "experienced", "team", "teams",
+            "work", "worked", "working", "responsible", "various", "new");
+
+    static {
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    /** A similar resume and the estimated Jaccard similarity of its features, between 0 and 1. */
+    public record Match(String id, double similarity) {
+    }
+
+    private final ResumeOrdinals ordinals;
+    private final SkillTaxonomy taxonomy;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // SIGNATURE_LENGTH minimum hashes per ordinal, stored back to back
+    private int[] signatures = new int[0];
+    private final RoaringBitmap indexed = new RoaringBitmap();
+    private final Map<Long, Bucket> buckets = new HashMap<>();
+
+    private static final class Bucket {
+        private int[] ordinals = new int[2];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    ordinals[i] = ordinals[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    public SimilarityIndex(ResumeOrdinals ordinals, SkillTaxonomy taxonomy) {
+        this.ordinals = ordinals;
+        this.taxonomy = taxonomy;
+    }
+
+    @Override
+    public Set<String> indexedFields() {
+        return Set.of("skills", "summary", "experiences.position", "experiences.description");
+    }
+
+    @Override
+    public void index(Resume resume) {
+        if (resume.getId() == null) {
+            return;
+        }
+        int[] signature = signature(features(resume));
+        int ordinal = ordinals.ordinalOf(resume.getId());
+        lock.writeLock().lock();
+        try {
+            removeOrdinal(ordinal);
+            if (signature == null) {
+                return;
+            }
+            if ((ordinal + 1) * SIGNATURE_LENGTH > signatures.length) {
+                signatures = Arrays.copyOf(signatures, Math.max((ordinal + 1) * SIGNATURE_LENGTH, signatures.length * 2));
+            }
+            System.arraycopy(signature, 0, signatures, ordinal * SIGNATURE_LENGTH, SIGNATURE_LENGTH);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bandKey(ordinal, band), key -> new Bucket()).add(ordinal);
+            }
+            indexed.add(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String resumeId) {
+        Integer ordinal = ordinals.find(resumeId);
+        if (ordinal == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeOrdinal(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} resumes most similar to the given one, most similar first; empty when the
+     * resume is unknown or has nothing to compare.
+     */
+    public List<Match> similar(String resumeId, int limit) {
+        Integer ordinal = ordinals.find(resumeId);
+        if (ordinal == null || limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<int[]> top = new PriorityQueue<>(Comparator.<int[]>comparingInt(m -> m[1])
+                .thenComparing(m -> -m[0]));
+        lock.readLock().lock();
+        try {
+            if (!indexed.contains(ordinal)) {
+                return List.of();
+            }
+            RoaringBitmap candidates = new RoaringBitmap();
+            for (int band = 0; band < BANDS; band++) {
+                Bucket bucket = buckets.get(bandKey(ordinal, band));
+                if (bucket != null) {
+                    candidates.addN(bucket.ordinals, 0, bucket.size);
+                }
+            }
+            candidates.remove(ordinal);
+            int base = ordinal * SIGNATURE_LENGTH;
+            IntIterator it = candidates.getIntIterator();
+            while (it.hasNext()) {
+                int candidate = it.next();
+                int other = candidate * SIGNATURE_LENGTH;
+                int agreeing = 0;
+                for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                    if (signatures[base + i] == signatures[other + i]) {
+                        agreeing++;
+                    }
+                }
+                top.add(new int[]{candidate, agreeing});
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<int[]> ranked = new ArrayList<>(top);
+        ranked.sort(Comparator.<int[]>comparingInt(m -> -m[1]).thenComparingInt(m -> m[0]));
+        return ranked.stream()
+                .map(m -> new Match(ordinals.idOf(m[0]), (double) m[1] / SIGNATURE_LENGTH))
+                .toList();
+    }
+
+    Set<String> features(Resume resume) {
+        Set<String> features = new LinkedHashSet<>();
+        if (resume.getSkills() != null) {
+            for (String skill : resume.getSkills()) {
+                if (skill == null || skill.isBlank()) {
+                    continue;
+                }
+                String canonical = taxonomy.canonicalName(skill);
+                String key = (canonical != null ? canonical : skill.strip()).toLowerCase(Locale.ROOT);
+                for (int copy = 0; copy < SKILL_WEIGHT; copy++) {
+                    features.add("skill:" + key + "#" + copy);
+                }
+            }
+        }
+        addWords(features, resume.getSummary());
+        if (resume.getExperiences() != null) {
+            for (Experience experience : resume.getExperiences()) {
+                addWords(features, experience.getPosition());
+                addWords(features, experience.getDescription());
+            }
+        }
+        return features;
+    }
+
+    private static void addWords(Set<String> features, String text) {
+        for (String token : SearchTokenizer.tokenize(text)) {
+            if (token.length() >= MIN_WORD_LENGTH && !STOP_WORDS.contains(token)) {
+                features.add(token);
+            }
+        }
+    }
+
+    static int[] signature(Set<String> features) {
+        if (features.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String feature : features) {
+            long hash = hash(feature);
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                int h = (int) (mix(hash ^ SEEDS[i]) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private long bandKey(int ordinal, int band) {
+        long key = band;
+        int start = ordinal * SIGNATURE_LENGTH + band * ROWS;
+        for (int row = 0; row < ROWS; row++) {
+            key = key * 0x9E3779B97F4A7C15L + signatures[start + row];
+        }
+        return mix(key);
+    }
+
+    private void removeOrdinal(int ordinal) {
+        if (!indexed.contains(ordinal)) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(ordinal, band);
+            Bucket bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(ordinal);
+                if (bucket.size == 0) {
+                    buckets.remove(key);
+                }
+            }
+        }
+        indexed.remove(ordinal);
+    }
+
+    // 64-bit FNV-1a over the UTF-16 code units
+    private static long hash(String feature) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < feature.length(); i++) {
+            hash ^= feature.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // The MurmurHash3 finalizer, so every seed gives an independent-looking permutation
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexed.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int bucketCount() {
+        lock.readLock().lock();
+        try {
+            return buckets.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rfp.search.similarity.documents", this, SimilarityIndex::size)
+                .description("Resumes with a MinHash signature in the similarity index")
+                .register(registry);
+        Gauge.builder("rfp.search.similarity.buckets", this, SimilarityIndex::bucketCount)
+                .description("Occupied locality-sensitive hashing buckets across all bands")
+                .register(registry);
+    }
+}
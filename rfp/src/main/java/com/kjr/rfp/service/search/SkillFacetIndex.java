@@ -0,0 +1,284 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.exception.InvalidCursorException;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.model.SkillFacet;
+import com.kjr.rfp.service.parser.SkillTaxonomy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Skill facets: one compressed bitmap of resume ordinals per skill. Boolean skill filters are
+ * bitmap intersections, unions and differences, and the skills that co-occur most with a result
+ * are counted with one intersection cardinality per skill, without materialising anything.
+ * <p>
+ * Skills are keyed by their canonical name from the {@link SkillTaxonomy}, ignoring case, so a
+ * query for "k8s" finds resumes that list Kubernetes.
+ */
+@Component
+public class SkillFacetIndex implements ResumeIndexer, MeterBinder {
+    private final ResumeOrdinals ordinals;
+    private final SkillTaxonomy taxonomy;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Facet> facets = new HashMap<>();
+    private final Map<Integer, Facet[]> documentFacets = new HashMap<>();
+    private final RoaringBitmap indexed = new RoaringBitmap();
+    private volatile boolean ready;
+
+    public SkillFacetIndex(ResumeOrdinals ordinals, SkillTaxonomy taxonomy) {
+        this.ordinals = ordinals;
+        this.taxonomy = taxonomy;
+    }
+
+    /** Matching resume ids in ordinal order, with the total match count and the top co-occurring skills. */
+    public record Result(List<String> ids, String nextCursor, long total, List<SkillFacet> facets) {
+    }
+
+    private static final class Facet {
+        private final String key;
+        private final String skill;
+        private final RoaringBitmap resumes = new RoaringBitmap();
+
+        private Facet(String key, String skill) {
+            this.key = key;
+            this.skill = skill;
+        }
+    }
+
+    @Override
+    public Set<String> indexedFields() {
+        return Set.of("skills");
+    }
+
+    @Override
+    public void index(Resume resume) {
+        if (resume.getId() == null) {
+            return;
+        }
+        Map<String, String> skills = new HashMap<>();
+        if (resume.getSkills() != null) {
+            for (String skill : resume.getSkills()) {
+                String name = canonicalName(skill);
+                if (name != null) {
+                    skills.putIfAbsent(name.toLowerCase(Locale.ROOT), name);
+                }
+            }
+        }
+
+        int ordinal = ordinals.ordinalOf(resume.getId());
+        lock.writeLock().lock();
+        try {
+            removeOrdinal(ordinal);
+            Facet[] own = new Facet[skills.size()];
+            int i = 0;
+            for (Map.Entry<String, String> skill : skills.entrySet()) {
+                Facet facet = facets.computeIfAbsent(skill.getKey(), key -> new Facet(key, skill.getValue()));
+                facet.resumes.add(ordinal);
+                own[i++] = facet;
+            }
+            documentFacets.put(ordinal, own);
+            indexed.add(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String resumeId) {
+        Integer ordinal = ordinals.find(resumeId);
+        if (ordinal == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeOrdinal(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRebuildComplete() {
+        lock.writeLock().lock();
+        try {
+            facets.values().forEach(facet -> facet.resumes.runOptimize());
+            indexed.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** The query with every skill replaced by its canonical name where the taxonomy knows it. */
+    public SkillQuery canonicalize(SkillQuery query) {
+        return new SkillQuery(query.all().stream().map(this::canonicalName).toList(),
+                query.any().stream().map(this::canonicalName).toList(),
+                query.none().stream().map(this::canonicalName).toList());
+    }
+
+    /**
+     * Up to {@code limit} resumes matching the query with ordinals after {@code cursor} (or from
+     * the first when it is {@code null}), and the {@code facetLimit} skills other than the required
+     * ones that the matching resumes list most often.
+     */
+    public Result search(SkillQuery query, String cursor, int limit, int facetLimit) {
+        RoaringBitmap matches;
+        List<SkillFacet> top;
+        lock.readLock().lock();
+        try {
+            matches = match(query);
+            top = topFacets(matches, query, facetLimit);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        PeekableIntIterator it = matches.getIntIterator();
+        if (cursor != null) {
+            it.advanceIfNeeded(parseCursor(cursor) + 1);
+        }
+        List<String> ids = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+        int last = -1;
+        while (it.hasNext() && ids.size() < limit) {
+            last = it.next();
+            ids.add(ordinals.idOf(last));
+        }
+        String nextCursor = it.hasNext() ? Integer.toString(last) : null;
+        return new Result(ids, nextCursor, matches.getLongCardinality(), top);
+    }
+
+    private RoaringBitmap match(SkillQuery query) {
+        RoaringBitmap result;
+        if (!query.all().isEmpty()) {
+            RoaringBitmap[] required = query.all().stream().map(this::bitmap).toArray(RoaringBitmap[]::new);
+            result = required.length == 1 ? required[0].clone() : FastAggregation.and(required);
+        } else {
+            result = indexed.clone();
+        }
+        if (!query.any().isEmpty()) {
+            result.and(FastAggregation.or(query.any().stream().map(this::bitmap).toArray(RoaringBitmap[]::new)));
+        }
+        for (String skill : query.none()) {
+            result.andNot(bitmap(skill));
+        }
+        return result;
+    }
+
+    private List<SkillFacet> topFacets(RoaringBitmap matches, SkillQuery query, int limit) {
+        if (limit <= 0 || matches.isEmpty()) {
+            return List.of();
+        }
+        Set<String> required = new LinkedHashSet<>();
+        query.all().forEach(skill -> required.add(key(skill)));
+
+        PriorityQueue<SkillFacet> heap = new PriorityQueue<>(Comparator.comparingLong(SkillFacet::count));
+        for (Map.Entry<String, Facet> entry : facets.entrySet()) {
+            Facet facet = entry.getValue();
+            // A skill listed on fewer resumes than the current k-th best cannot displace it
+            if (required.contains(entry.getKey())
+                    || (heap.size() == limit && facet.resumes.getCardinality() <= heap.peek().count())) {
+                continue;
+            }
+            int count = RoaringBitmap.andCardinality(matches, facet.resumes);
+            if (count > 0) {
+                heap.add(new SkillFacet(facet.skill, count));
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+        }
+        List<SkillFacet> top = new ArrayList<>(heap);
+        top.sort(Comparator.comparingLong(SkillFacet::count).reversed().thenComparing(SkillFacet::skill));
+        return top;
+    }
+
+    private RoaringBitmap bitmap(String skill) {
+        Facet facet = facets.get(key(skill));
+        return facet != null ? facet.resumes : new RoaringBitmap();
+    }
+
+    private String key(String skill) {
+        String name = canonicalName(skill);
+        return name != null ? name.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private String canonicalName(String skill) {
+        if (skill == null || skill.isBlank()) {
+            return null;
+        }
+        String canonical = taxonomy.canonicalName(skill);
+        return canonical != null ? canonical : skill.strip();
+    }
+
+    private static int parseCursor(String cursor) {
+        try {
+            return Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    private void removeOrdinal(int ordinal) {
+        Facet[] own = documentFacets.remove(ordinal);
+        if (own == null) {
+            return;
+        }
+        for (Facet facet : own) {
+            facet.resumes.remove(ordinal);
+            if (facet.resumes.isEmpty()) {
+                facets.remove(facet.key);
+            }
+        }
+        indexed.remove(ordinal);
+    }
+
+    public int skillCount() {
+        lock.readLock().lock();
+        try {
+            return facets.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return facets.values().stream().mapToLong(facet -> facet.resumes.getLongSizeInBytes()).sum()
+                    + indexed.getLongSizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rfp.search.facets.skills", this, SkillFacetIndex::skillCount)
+                .description("Distinct skills with a facet bitmap")
+                .register(registry);
+        Gauge.builder("rfp.search.facets.size", this, SkillFacetIndex::sizeInBytes)
+                .description("Serialized size of all skill facet bitmaps")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
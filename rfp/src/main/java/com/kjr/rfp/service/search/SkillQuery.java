@@ -0,0 +1,28 @@
+package com.kjr.rfp.service.search;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A boolean skill filter: resumes with every skill in {@code all}, at least one in {@code any}
+ * (when given) and none in {@code none}.
+ */
+public record SkillQuery(List<String> all, List<String> any, List<String> none) {
+
+    public SkillQuery {
+        all = clean(all);
+        any = clean(any);
+        none = clean(none);
+    }
+
+    public boolean isEmpty() {
+        return all.isEmpty() && any.isEmpty() && none.isEmpty();
+    }
+
+    private static List<String> clean(List<String> skills) {
+        if (skills == null) {
+            return List.of();
+        }
+        return skills.stream().filter(Objects::nonNull).map(String::strip).filter(s -> !s.isEmpty()).distinct().toList();
+    }
+}
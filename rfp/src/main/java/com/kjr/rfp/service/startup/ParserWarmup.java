@@ -0,0 +1,55 @@
+package com.kjr.rfp.service.startup;
+
+import com.kjr.rfp.config.StartupProperties;
+import com.kjr.rfp.service.parser.ResumeParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the sample resumes under {@code warmup/} once all singletons exist, so the first upload
+ * does not pay for loading PDFBox and POI, building PDFBox's font cache and compiling the field
+ * patterns. This happens inside the context refresh, before the web server starts and so before
+ * readiness; it also happens in a CDS training run that exits on refresh, which puts the parser
+ * classes into the archive. Lazy initialization never defers it.
+ */
+@Slf4j
+@Component
+public class ParserWarmup implements SmartInitializingSingleton {
+    static final List<String> SAMPLES = List.of("warmup/resume.pdf", "warmup/resume.docx");
+
+    private final ResumeParser parser;
+    private final StartupProperties properties;
+
+    public ParserWarmup(ResumeParser parser, StartupProperties properties) {
+        this.parser = parser;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isWarmUp()) {
+            return;
+        }
+        long start = System.nanoTime();
+        for (String sample : SAMPLES) {
+            ClassPathResource resource = new ClassPathResource(sample);
+            long sampleStart = System.nanoTime();
+            try (InputStream in = resource.getInputStream()) {
+                parser.parseResume(resource.getFilename(), in);
+                log.debug("Warm-up parse of {} took {} ms", sample,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sampleStart));
+            } catch (Exception e) {
+                // A cold parser is slower, not broken, so startup goes on
+                log.warn("Warm-up parse of {} failed", sample, e);
+            }
+        }
+        log.info("Parser warmed up with {} sample documents in {} ms", SAMPLES.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
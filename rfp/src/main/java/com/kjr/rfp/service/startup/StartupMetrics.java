@@ -0,0 +1,70 @@
+package com.kjr.rfp.service.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time from JVM start to the first request served and to the first upload parsed, the two delays
+ * a new instance adds after a scale-out. Actuator requests such as health probes do not count as
+ * the first request, and the warm-up parses do not count as the first parse. Both gauges read
+ * {@code NaN} until their event has happened; Spring Boot's {@code application.ready.time} covers
+ * the startup itself.
+ */
+@Slf4j
+@Component
+public class StartupMetrics implements MeterBinder {
+    private static final long NOT_YET = -1;
+
+    private final AtomicLong firstRequestMillis = new AtomicLong(NOT_YET);
+    private final AtomicLong firstParseMillis = new AtomicLong(NOT_YET);
+
+    @EventListener
+    public void requestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestMillis.get() == NOT_YET && !event.getRequestUrl().startsWith("/actuator")) {
+            long uptime = uptimeMillis();
+            if (firstRequestMillis.compareAndSet(NOT_YET, uptime)) {
+                log.info("First request ({} {}) served {} ms after JVM start, in {} ms", event.getMethod(),
+                        event.getRequestUrl(), uptime, event.getProcessingTimeMillis());
+            }
+        }
+    }
+
+    /** Records an upload parse; only the first one after startup is kept. */
+    public void parsed(String fileName, long parseNanos) {
+        if (firstParseMillis.get() == NOT_YET) {
+            long uptime = uptimeMillis();
+            if (firstParseMillis.compareAndSet(NOT_YET, uptime)) {
+                log.info("First upload ({}) parsed {} ms after JVM start, in {} ms", fileName, uptime,
+                        TimeUnit.NANOSECONDS.toMillis(parseNanos));
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("rfp.startup.first.request", firstRequestMillis, TimeUnit.MILLISECONDS, StartupMetrics::value)
+                .description("Time from JVM start until the first non-actuator request was served")
+                .register(registry);
+        TimeGauge.builder("rfp.startup.first.parse", firstParseMillis, TimeUnit.MILLISECONDS, StartupMetrics::value)
+                .description("Time from JVM start until the first uploaded document was parsed")
+                .register(registry);
+    }
+
+    private static double value(AtomicLong millis) {
+        long value = millis.get();
+        return value == NOT_YET ? Double.NaN : value;
+    }
+
+    private static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
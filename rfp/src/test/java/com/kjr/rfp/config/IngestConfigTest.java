@@ -0,0 +1,49 @@
+package com.kjr.rfp.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestConfigTest {
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+            .withUserConfiguration(IngestConfig.class, IngestProperties.class)
+            .withPropertyValues("rfp.ingest.store-threads=3", "rfp.ingest.upload-parse-threads=2");
+
+    @Test
+    void platformThreadsStoreOnAPoolAndParseOnTheRequestThread() {
+        runner.run(context -> {
+            assertThat(context.getBean("storeExecutor")).isInstanceOfSatisfying(ThreadPoolTaskExecutor.class,
+                    executor -> assertThat(executor.getMaxPoolSize()).isEqualTo(3));
+            assertThat(context.getBean("uploadParseExecutor")).isInstanceOf(SyncTaskExecutor.class);
+            assertThat(context.getBean("bulkParseExecutor")).isInstanceOf(ThreadPoolTaskExecutor.class);
+        });
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualThreadsStoreOnVirtualThreadsAndParseOnAPlatformPool() {
+        runner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            assertThat(context.getBean("storeExecutor")).isInstanceOf(SimpleAsyncTaskExecutor.class);
+            assertThat(context.getBean("uploadParseExecutor")).isInstanceOfSatisfying(ThreadPoolTaskExecutor.class,
+                    executor -> assertThat(executor.getMaxPoolSize()).isEqualTo(2));
+        });
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void virtualThreadSettingIsIgnoredBeforeJava21() {
+        runner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            assertThat(context.getBean("storeExecutor")).isInstanceOf(ThreadPoolTaskExecutor.class);
+            assertThat(context.getBean("uploadParseExecutor")).isInstanceOf(SyncTaskExecutor.class);
+        });
+    }
+}
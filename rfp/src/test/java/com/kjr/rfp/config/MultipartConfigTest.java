@@ -0,0 +1,68 @@
+package com.kjr.rfp.config;
+
+import jakarta.servlet.MultipartConfigElement;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockPart;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.MultipartResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultipartConfigTest {
+    private final MultipartProperties multipart = new MultipartProperties();
+    private final MultipartConfig config = new MultipartConfig();
+
+    MultipartConfigTest() {
+        multipart.setMaxFileSize(DataSize.ofBytes(16));
+        multipart.setMaxRequestSize(DataSize.ofBytes(16));
+    }
+
+    @Test
+    void containerAcceptsBulkSizedUploads() {
+        IngestProperties ingest = new IngestProperties();
+
+        MultipartConfigElement element = config.multipartConfigElement(multipart, ingest);
+
+        assertThat(element.getMaxFileSize()).isEqualTo(ingest.getMaxBulkFileSize().toBytes());
+        assertThat(element.getMaxRequestSize()).isEqualTo(ingest.getMaxBulkRequestSize().toBytes());
+    }
+
+    @Test
+    void singleUploadOverTheLimitIsRejectedBeforeItIsParsed() {
+        MockHttpServletRequest request = upload("/resumes/upload", 17);
+        request.setContent(new byte[17]);
+
+        assertThatThrownBy(() -> resolver().resolveMultipart(request)).isInstanceOf(MaxUploadSizeExceededException.class);
+    }
+
+    @Test
+    void singleUploadWithoutLengthIsCheckedAgainstItsParts() {
+        MockHttpServletRequest request = upload("/resumes/upload", 17);
+
+        assertThatThrownBy(() -> resolver().resolveMultipart(request)).isInstanceOf(MaxUploadSizeExceededException.class);
+    }
+
+    @Test
+    void bulkIngestionIsOnlyHeldToTheContainerLimits() {
+        MultipartHttpServletRequest resolved = resolver().resolveMultipart(upload("/resumes/batch", 17));
+
+        assertThat(resolved.getFile("files").getSize()).isEqualTo(17);
+        assertThat(resolver().resolveMultipart(upload("/resumes/upload", 16)).getFile("files")).isNotNull();
+    }
+
+    private MultipartResolver resolver() {
+        return config.multipartResolver(multipart);
+    }
+
+    private static MockHttpServletRequest upload(String path, int size) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType("multipart/form-data; boundary=rfp");
+        request.addPart(new MockPart("files", "resume.pdf", new byte[size]));
+        return request;
+    }
+}
@@ -0,0 +1,68 @@
+package com.kjr.rfp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kjr.rfp.exception.GlobalExceptionHandler;
+import com.kjr.rfp.repository.ResumeRepository;
+import com.kjr.rfp.service.FileStorageService;
+import com.kjr.rfp.service.impl.ResumeParserServiceImpl;
+import com.kjr.rfp.service.parser.ResumeParser;
+import com.kjr.rfp.service.parser.SkillTaxonomy;
+import com.kjr.rfp.service.search.ResumeOrdinals;
+import com.kjr.rfp.service.search.ResumeSearchIndex;
+import com.kjr.rfp.service.search.ResumeSummaryStore;
+import com.kjr.rfp.service.search.SimilarityIndex;
+import com.kjr.rfp.service.search.SkillFacetIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ResumeApiControllerTest {
+    private final ResumeOrdinals ordinals = new ResumeOrdinals();
+    private final ResumeSearchIndex searchIndex = new ResumeSearchIndex(ordinals);
+    private final SkillFacetIndex skillFacetIndex = new SkillFacetIndex(ordinals, SkillTaxonomy.standard());
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex.onRebuildComplete();
+        skillFacetIndex.onRebuildComplete();
+        ResumeParserServiceImpl service = new ResumeParserServiceImpl(mock(ResumeRepository.class),
+                mock(FileStorageService.class), searchIndex, skillFacetIndex, mock(ResumeSummaryStore.class),
+                mock(SimilarityIndex.class), mock(MongoTemplate.class), mock(ResumeParser.class),
+                new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new ResumeApiController(service, new ObjectMapper()))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void garbageCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/resumes/api/search").param("query", "java").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("garbage")));
+    }
+
+    @Test
+    void malformedIndexPositionIsABadRequest() throws Exception {
+        mockMvc.perform(get("/resumes/api/search").param("query", "java").param("cursor", "i:x:y"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void malformedSkillSearchCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/resumes/api/skills").param("all", "java").param("cursor", "i:abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("abc")));
+        mockMvc.perform(get("/resumes/api/skills").param("all", "java").param("cursor", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,74 @@
+package com.kjr.rfp.controller;
+
+import com.kjr.rfp.service.FileStorageService;
+import com.kjr.rfp.service.ResumeFileCache;
+import com.kjr.rfp.service.StorageCodec;
+import com.kjr.rfp.service.StoredFile;
+import com.kjr.rfp.service.ingest.ResumeIngestService;
+import com.kjr.rfp.service.parser.ResumeParserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ResumeDownloadTest {
+    private static final byte[] CONTENT = "%PDF-1.4 resume body".getBytes(StandardCharsets.US_ASCII);
+    private static final StoredFile FILE =
+            new StoredFile("f1", "application/pdf", CONTENT.length, Instant.parse("2024-01-01T00:00:00Z"), "abc123",
+                    StorageCodec.NONE);
+
+    private FileStorageService fileStorageService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = mock(FileStorageService.class);
+        ResumeFileCache resumeFileCache = mock(ResumeFileCache.class);
+        when(resumeFileCache.get("r1")).thenReturn(Optional.of(new ResumeFileCache.Entry("cv.pdf", FILE)));
+        when(fileStorageService.openLazily(any(), anyString())).thenReturn(new ByteArrayResource(CONTENT));
+        mockMvc = MockMvcBuilders.standaloneSetup(new ResumeController(mock(ResumeParserService.class),
+                fileStorageService, mock(ResumeIngestService.class), resumeFileCache)).build();
+    }
+
+    @Test
+    void fullDownloadCarriesValidators() throws Exception {
+        mockMvc.perform(get("/resumes/download/r1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc123\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void matchingEtagIsNotModifiedWithoutOpeningTheFile() throws Exception {
+        mockMvc.perform(get("/resumes/download/r1").header(HttpHeaders.IF_NONE_MATCH, "\"abc123\""))
+                .andExpect(status().isNotModified());
+
+        verify(fileStorageService, never()).openLazily(any(), anyString());
+    }
+
+    @Test
+    void rangeRequestReturnsPartialContent() throws Exception {
+        mockMvc.perform(get("/resumes/download/r1").header(HttpHeaders.RANGE, "bytes=0-7"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-7/" + CONTENT.length))
+                .andExpect(content().bytes("%PDF-1.4".getBytes(StandardCharsets.US_ASCII)));
+    }
+}
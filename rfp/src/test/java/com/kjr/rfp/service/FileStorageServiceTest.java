@@ -0,0 +1,170 @@
+package com.kjr.rfp.service;
+
+import com.kjr.rfp.config.StorageProperties;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import org.bson.BsonObjectId;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileStorageServiceTest {
+    private static final byte[] PDF = ("%PDF-1.4\n" + "BT /F1 12 Tf (Senior Java Developer) Tj ET\n".repeat(200))
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RTF = ("{\\rtf1\\ansi\n" + "\\par Senior Java Developer\n".repeat(200))
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final GridFsOperations gridFsOperations = mock(GridFsOperations.class);
+    private final GridFSBucket bucket = mock(GridFSBucket.class);
+    private final CapturingUploadStream upload = new CapturingUploadStream();
+    private final StorageProperties properties = new StorageProperties();
+    private final FileStorageService service = new FileStorageService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "gridFsOperations", gridFsOperations);
+        ReflectionTestUtils.setField(service, "gridFsBucket", bucket);
+        ReflectionTestUtils.setField(service, "properties", properties);
+        when(bucket.openUploadStream(any(String.class), any(GridFSUploadOptions.class))).thenReturn(upload);
+    }
+
+    @Test
+    void compressesContentAndRecordsCodecAndOriginalLength() throws Exception {
+        properties.setCodec(StorageCodec.GZIP);
+
+        String fileId = service.storeFile("resume.rtf", "application/rtf", new ByteArrayInputStream(RTF),
+                RTF.length, "abc123");
+
+        assertThat(fileId).isEqualTo(upload.id.toHexString());
+        assertThat(upload.closed).isTrue();
+        assertThat(upload.bytes.size()).isLessThan(RTF.length / 10);
+        try (InputStream in = StorageCodec.GZIP.decode(new ByteArrayInputStream(upload.bytes.toByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(RTF);
+        }
+        GridFSUploadOptions options = uploadOptions();
+        assertThat(options.getChunkSizeBytes()).isEqualTo(255 * 1024);
+        assertThat(options.getMetadata())
+                .containsEntry("_contentType", "application/rtf")
+                .containsEntry("sha256", "abc123")
+                .containsEntry(StorageCodec.METADATA_FIELD, "gzip")
+                .containsEntry(StorageCodec.ORIGINAL_LENGTH_FIELD, (long) RTF.length);
+    }
+
+    @Test
+    void storesContentUncompressedByDefault() {
+        service.storeFile("resume.rtf", "application/rtf", new ByteArrayInputStream(RTF), RTF.length, null);
+
+        assertThat(upload.bytes.toByteArray()).isEqualTo(RTF);
+        assertThat(uploadOptions().getMetadata()).doesNotContainKey(StorageCodec.METADATA_FIELD);
+    }
+
+    @Test
+    void pdfIsNeverCompressedSoRangesCanBeReadDirectly() {
+        properties.setCodec(StorageCodec.GZIP);
+
+        service.storeFile("resume.pdf", "application/pdf", new ByteArrayInputStream(PDF), PDF.length, null);
+
+        assertThat(upload.bytes.toByteArray()).isEqualTo(PDF);
+        assertThat(StorageCodec.of(uploadOptions().getMetadata())).isEqualTo(StorageCodec.NONE);
+    }
+
+    @Test
+    void storesAlreadyCompressedContentAsIs() {
+        properties.setCodec(StorageCodec.GZIP);
+        byte[] docx = {'P', 'K', 3, 4, 20, 0, 6, 0, 8, 0};
+
+        service.storeFile("resume.docx", "application/octet-stream", new ByteArrayInputStream(docx), docx.length, null);
+
+        assertThat(upload.bytes.toByteArray()).isEqualTo(docx);
+        assertThat(StorageCodec.of(uploadOptions().getMetadata())).isEqualTo(StorageCodec.NONE);
+    }
+
+    @Test
+    void truncatedContentIsAbortedInsteadOfStored() {
+        assertThatThrownBy(() -> service.storeFile("resume.pdf", "application/pdf",
+                new ByteArrayInputStream(PDF), PDF.length + 1, null)).hasMessageContaining("resume.pdf");
+
+        assertThat(upload.aborted).isTrue();
+        assertThat(upload.closed).isFalse();
+    }
+
+    @Test
+    void textOfAnotherExtractionVersionIsNotRead() {
+        GridFSFile text = new GridFSFile(new BsonObjectId(upload.id), "resume.pdf.txt", 12, 255 * 1024, new Date(),
+                new Document("textVersion", 0).append(StorageCodec.METADATA_FIELD, "gzip"));
+        when(gridFsOperations.findOne(any(Query.class))).thenReturn(text);
+
+        assertThat(service.readText(upload.id.toHexString(), 1)).isEmpty();
+        verify(bucket, never()).openDownloadStream(any(ObjectId.class));
+    }
+
+    private GridFSUploadOptions uploadOptions() {
+        ArgumentCaptor<GridFSUploadOptions> options = ArgumentCaptor.forClass(GridFSUploadOptions.class);
+        verify(bucket).openUploadStream(any(String.class), options.capture());
+        return options.getValue();
+    }
+
+    private static final class CapturingUploadStream extends GridFSUploadStream {
+        private final ObjectId id = new ObjectId();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private boolean closed;
+        private boolean aborted;
+
+        @Override
+        public ObjectId getObjectId() {
+            return id;
+        }
+
+        @Override
+        public BsonValue getId() {
+            return new BsonObjectId(id);
+        }
+
+        @Override
+        public void abort() {
+            aborted = true;
+        }
+
+        @Override
+        public void write(int b) {
+            bytes.write(b);
+        }
+
+        @Override
+        public void write(byte[] b) {
+            bytes.write(b, 0, b.length);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
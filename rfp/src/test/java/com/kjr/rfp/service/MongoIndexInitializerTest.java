@@ -0,0 +1,55 @@
+package com.kjr.rfp.service;
+
+import com.kjr.rfp.model.Resume;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MongoIndexInitializerTest {
+
+    @Test
+    void createsOnlyTheMissingDeclaredIndexes() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        IndexOperations indexOps = mock(IndexOperations.class);
+        MongoDatabase db = mock(MongoDatabase.class);
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        when(mongoTemplate.getCollectionName(Resume.class)).thenReturn("resumes");
+        when(mongoTemplate.indexOps(Resume.class)).thenReturn(indexOps);
+        when(mongoTemplate.getDb()).thenReturn(db);
+        when(indexOps.getIndexInfo()).thenReturn(List.of(
+                IndexInfo.indexInfoOf(new Document("key", new Document("_id", 1)).append("name", "_id_")),
+                IndexInfo.indexInfoOf(new Document("key", new Document("contentHash", 1)).append("name", "contentHash_1"))));
+        when(db.runCommand(any(Document.class))).thenReturn(new Document("queryPlanner",
+                new Document("winningPlan", new Document("stage", "FETCH")
+                        .append("inputStage", new Document("stage", "IXSCAN").append("indexName", "x")))));
+
+        new MongoIndexInitializer(mongoTemplate, true).ensureIndexes();
+
+        ArgumentCaptor<IndexDefinition> created = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, atLeastOnce()).createIndex(created.capture());
+        assertThat(created.getAllValues()).map(definition -> definition.getIndexKeys().keySet())
+                .containsExactlyInAnyOrder(Set.of("email"), Set.of("fileId"),
+                        Set.of("name", "summary", "skills"));
+        assertThat(created.getAllValues()).filteredOn(d -> d.getIndexKeys().containsKey("email"))
+                .singleElement().satisfies(d -> assertThat(d.getIndexKeys().get("email")).isEqualTo("hashed"));
+    }
+}
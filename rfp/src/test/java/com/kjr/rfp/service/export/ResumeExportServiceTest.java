@@ -0,0 +1,117 @@
+package com.kjr.rfp.service.export;
+
+import com.kjr.rfp.config.ExportProperties;
+import com.kjr.rfp.model.Resume;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumeExportServiceTest {
+
+    @Test
+    void idRangesAreContiguousAndOpenAtBothEnds() {
+        ObjectId first = new ObjectId(new Date(1_700_000_000_000L));
+        ObjectId last = new ObjectId(new Date(1_700_000_400_000L));
+
+        List<Bson> ranges = ResumeExportService.idRanges(first, last, 4);
+
+        assertThat(ranges).hasSize(4);
+        Document head = (Document) ((Document) ranges.get(0)).get("_id");
+        Document tail = (Document) ((Document) ranges.get(3)).get("_id");
+        assertThat(head).containsOnlyKeys("$lt");
+        assertThat(tail).containsOnlyKeys("$gte");
+        for (int i = 1; i < ranges.size(); i++) {
+            Document previous = (Document) ((Document) ranges.get(i - 1)).get("_id");
+            Document current = (Document) ((Document) ranges.get(i)).get("_id");
+            assertThat(current.get("$gte")).isEqualTo(previous.get("$lt"));
+        }
+        assertThat(((ObjectId) head.get("$lt")).getTimestamp()).isEqualTo(1_700_000_101);
+    }
+
+    @Test
+    void resumesCreatedInOneSecondStayInOneRange() {
+        ObjectId id = new ObjectId();
+
+        assertThat(ResumeExportService.idRanges(id, id, 8)).containsExactly(new Document());
+    }
+
+    @Test
+    void csvFlattensExperiencesAndQuotesWhereNeeded() {
+        BsonDocument resume = BsonDocument.parse("""
+                {"_id": {"$oid": "65a0f0f0f0f0f0f0f0f0f0f0"}, "name": "Doe, Jane", "email": "jane@example.com",
+                 "summary": "Says \\"hello\\"", "skills": ["Java", "Kubernetes"],
+                 "experiences": [{"company": "Acme", "position": "Engineer"}, {"company": "Globex", "position": "Lead"}],
+                 "parserVersion": 1}""");
+        StringBuilder out = new StringBuilder();
+
+        ExportFormat.CSV.append(resume, out);
+
+        assertThat(ExportFormat.CSV.header()).startsWith("_id,fileName,name,email,phone,summary,skills,experiences.company,");
+        assertThat(out.toString()).isEqualTo("65a0f0f0f0f0f0f0f0f0f0f0,,\"Doe, Jane\",jane@example.com,,"
+                + "\"Says \"\"hello\"\"\",Java; Kubernetes,Acme; Globex,Engineer; Lead,; ,; ,,,,,1\r\n");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportsRawDocumentsAsGzippedNdjson() throws Exception {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        MongoCollection<Document> documents = mock(MongoCollection.class);
+        MongoCollection<RawBsonDocument> collection = mock(MongoCollection.class);
+        FindIterable<RawBsonDocument> find = mock(FindIterable.class, RETURNS_SELF);
+        when(mongoTemplate.getCollectionName(Resume.class)).thenReturn("resumes");
+        when(mongoTemplate.getCollection("resumes")).thenReturn(documents);
+        when(documents.withDocumentClass(RawBsonDocument.class)).thenReturn(collection);
+        when(collection.find()).thenReturn(find);
+        when(collection.find(any(Bson.class))).thenReturn(find);
+        when(find.first()).thenReturn(null);
+        MongoCursor<RawBsonDocument> cursor = cursor(raw("Jane Doe"), raw("John Roe"));
+        when(find.cursor()).thenReturn(cursor);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ResumeExportService service = new ResumeExportService(mongoTemplate, new ExportProperties(), meterRegistry);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = service.export(ExportFormat.NDJSON, true, out);
+
+        assertThat(exported).isEqualTo(2);
+        String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertThat(ndjson.lines()).containsExactly("{\"name\": \"Jane Doe\"}", "{\"name\": \"John Roe\"}");
+        assertThat(meterRegistry.get("rfp.export.documents").tag("format", "ndjson").counter().count()).isEqualTo(2);
+    }
+
+    private static RawBsonDocument raw(String name) {
+        return new RawBsonDocument(new Document("name", name), new DocumentCodec());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCursor<RawBsonDocument> cursor(RawBsonDocument... documents) {
+        Iterator<RawBsonDocument> it = List.of(documents).iterator();
+        MongoCursor<RawBsonDocument> cursor = mock(MongoCursor.class);
+        when(cursor.hasNext()).thenAnswer(call -> it.hasNext());
+        when(cursor.next()).thenAnswer(call -> it.next());
+        return cursor;
+    }
+}
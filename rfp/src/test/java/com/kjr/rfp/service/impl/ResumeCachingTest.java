@@ -0,0 +1,202 @@
+package com.kjr.rfp.service.impl;
+
+import com.kjr.rfp.config.CacheConfig;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.repository.ResumeRepository;
+import com.kjr.rfp.service.FileStorageService;
+import com.kjr.rfp.service.ResumeCacheEvictor;
+import com.kjr.rfp.service.ResumeFileCache;
+import com.kjr.rfp.service.StoredFile;
+import com.kjr.rfp.service.parser.ResumeParserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(ResumeCachingTest.Config.class)
+class ResumeCachingTest {
+    private static final MongoTemplate MONGO_TEMPLATE = mock(MongoTemplate.class);
+    private static final FileStorageService FILE_STORAGE = mock(FileStorageService.class);
+
+    // Not a @Configuration, so the application's component scan does not pick it up
+    @EnableCaching
+    static class Config {
+        @Bean
+        ResumeRepository resumeRepository() {
+            return mock(ResumeRepository.class);
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.RESUMES, CacheConfig.RESUMES_BY_EMAIL, CacheConfig.RESUME_FILES);
+        }
+
+        // FileStorageService has @Autowired fields, so its mock is kept out of the context
+        @Bean
+        ResumeFileCache resumeFileCache() {
+            return new ResumeFileCache(MONGO_TEMPLATE, FILE_STORAGE);
+        }
+
+        @Bean
+        ResumeParserService resumeParserService(ResumeRepository resumeRepository) {
+            return new ResumeParserServiceImpl(resumeRepository, null, null, null, null, null, null, null,
+                    new SimpleMeterRegistry());
+        }
+
+        @Bean
+        ResumeCacheEvictor resumeCacheEvictor(CacheManager cacheManager) {
+            return new ResumeCacheEvictor(cacheManager);
+        }
+    }
+
+    @Autowired
+    private ResumeParserService service;
+    @Autowired
+    private ResumeRepository repository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ResumeCacheEvictor evictor;
+    @Autowired
+    private ResumeFileCache fileCache;
+    private final MongoTemplate mongoTemplate = MONGO_TEMPLATE;
+    private final FileStorageService fileStorageService = FILE_STORAGE;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        clearInvocations(repository);
+        reset(mongoTemplate, fileStorageService);
+    }
+
+    @Test
+    void repeatLookupsByIdDoNotReachTheRepository() {
+        when(repository.findById("r1")).thenReturn(Optional.of(resume("r1", "jane@example.com")));
+
+        assertThat(service.getResumeById("r1")).map(Resume::getEmail).contains("jane@example.com");
+        assertThat(service.getResumeById("r1")).isPresent();
+        assertThat(service.findById("r1")).isPresent();
+
+        verify(repository, times(1)).findById("r1");
+    }
+
+    @Test
+    void saveWritesThroughAndDropsTheOldEmail() {
+        when(repository.findByEmail("jane@example.com")).thenReturn(resume("r1", "jane@example.com"));
+        when(repository.findById("r1")).thenReturn(Optional.of(resume("r1", "jane@example.com")));
+        service.getResumeByEmail("jane@example.com");
+        service.getResumeById("r1");
+
+        Resume changed = resume("r1", "jane.doe@example.com");
+        when(repository.save(any(Resume.class))).thenAnswer(call -> {
+            evictor.onAfterSave(new AfterSaveEvent<>(changed, new Document(), "resumes"));
+            return changed;
+        });
+        service.saveResume(changed);
+        when(repository.findByEmail("jane@example.com")).thenReturn(null);
+
+        assertThat(service.getResumeById("r1")).map(Resume::getEmail).contains("jane.doe@example.com");
+        assertThat(service.getResumeByEmail("jane@example.com")).isEmpty();
+        verify(repository, times(1)).findById("r1");
+        verify(repository, times(2)).findByEmail("jane@example.com");
+    }
+
+    @Test
+    void resumeFoundByContentHashIsThenCachedById() {
+        when(repository.findFirstByContentHash("h1")).thenReturn(Optional.of(resume("r1", "jane@example.com")));
+
+        assertThat(service.findByContentHash("h1")).isPresent();
+        assertThat(service.findById("r1")).isPresent();
+
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void writesOutsideTheServiceEvictTheEntry() {
+        when(repository.findById("r1")).thenReturn(Optional.of(resume("r1", "jane@example.com")));
+        service.getResumeById("r1");
+
+        evictor.onAfterSave(new AfterSaveEvent<>(resume("r1", "jane@example.com"), new Document(), "resumes"));
+        service.getResumeById("r1");
+
+        verify(repository, times(2)).findById("r1");
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void downloadMetadataIsCachedUntilTheResumeIsWritten() {
+        Resume stored = resume("r1", "jane@example.com");
+        stored.setFileId("f1");
+        stored.setFileName("cv.pdf");
+        when(mongoTemplate.findOne(any(Query.class), eq(Resume.class))).thenReturn(stored);
+        when(fileStorageService.describeFile("f1")).thenReturn(Optional.of(
+                new StoredFile("f1", "application/pdf", 10, Instant.EPOCH, "abc", null)));
+
+        assertThat(fileCache.get("r1")).map(ResumeFileCache.Entry::fileName).contains("cv.pdf");
+        assertThat(fileCache.get("r1")).isPresent();
+        verify(fileStorageService, times(1)).describeFile("f1");
+
+        evictor.onAfterSave(new AfterSaveEvent<>(stored, new Document(), "resumes"));
+        fileCache.get("r1");
+        evictor.onAfterDelete(new AfterDeleteEvent<>(new Document("_id", "r1"), Resume.class, "resumes"));
+        fileCache.get("r1");
+
+        verify(fileStorageService, times(3)).describeFile("f1");
+    }
+
+    @Test
+    void deleteByAnotherQueryClearsEveryResumeCache() {
+        when(repository.findById("r1")).thenReturn(Optional.of(resume("r1", "jane@example.com")));
+        when(repository.findByEmail("jane@example.com")).thenReturn(resume("r1", "jane@example.com"));
+        service.getResumeById("r1");
+        service.getResumeByEmail("jane@example.com");
+
+        evictor.onAfterDelete(new AfterDeleteEvent<>(new Document("email", "jane@example.com"), Resume.class, "resumes"));
+        when(repository.findById("r1")).thenReturn(Optional.empty());
+        when(repository.findByEmail("jane@example.com")).thenReturn(null);
+
+        assertThat(service.getResumeById("r1")).isEmpty();
+        assertThat(service.getResumeByEmail("jane@example.com")).isEmpty();
+        verify(repository, times(2)).findById("r1");
+        verify(repository, times(2)).findByEmail("jane@example.com");
+    }
+
+    @Test
+    void missingResumeIsNotCached() {
+        assertThat(fileCache.get("gone")).isEmpty();
+        assertThat(fileCache.get("gone")).isEmpty();
+
+        verify(mongoTemplate, times(2)).findOne(any(Query.class), eq(Resume.class));
+    }
+
+    private static Resume resume(String id, String email) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setEmail(email);
+        return resume;
+    }
+}
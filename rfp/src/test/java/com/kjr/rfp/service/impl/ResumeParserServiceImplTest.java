@@ -0,0 +1,158 @@
+package com.kjr.rfp.service.impl;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.model.ResumePage;
+import com.kjr.rfp.model.ResumeSummary;
+import com.kjr.rfp.model.SkillSearchPage;
+import com.kjr.rfp.repository.ResumeRepository;
+import com.kjr.rfp.service.FileStorageService;
+import com.kjr.rfp.service.parser.ResumeParser;
+import com.kjr.rfp.service.search.ResumeSearchIndex;
+import com.kjr.rfp.service.search.ResumeSummaryStore;
+import com.kjr.rfp.service.search.SimilarityIndex;
+import com.kjr.rfp.service.search.SkillFacetIndex;
+import com.kjr.rfp.service.search.SkillQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeParserServiceImplTest {
+    private static final SkillQuery JAVA = new SkillQuery(List.of("java"), List.of(), List.of());
+
+    private final ResumeSearchIndex searchIndex = mock(ResumeSearchIndex.class);
+    private final SkillFacetIndex skillFacetIndex = mock(SkillFacetIndex.class);
+    private final ResumeSummaryStore summaryStore = mock(ResumeSummaryStore.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ResumeRepository repository = mock(ResumeRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResumeParserServiceImpl service = new ResumeParserServiceImpl(repository,
+            mock(FileStorageService.class), searchIndex, skillFacetIndex, summaryStore, mock(SimilarityIndex.class),
+            mongoTemplate, mock(ResumeParser.class), meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        when(skillFacetIndex.canonicalize(any())).thenAnswer(call -> call.getArgument(0));
+        when(mongoTemplate.find(any(Query.class), eq(ResumeSummary.class), any())).thenReturn(List.of(
+                new ResumeSummary("a", "Ann", null, List.of("Java")),
+                new ResumeSummary("b", "Bob", null, List.of("Java"))));
+    }
+
+    @Test
+    void searchLatencyAndResultCountAreRecordedPerAnsweringPath() {
+        for (String source : new String[]{"index", "mongo", "list", "facets", "mongo_facets", "similar"}) {
+            assertThat(meterRegistry.get("rfp.search").tag("source", source).timer().count()).isZero();
+        }
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search(any(), any(), anyInt())).thenReturn(List.of(new ResumeSearchIndex.Hit("a", 3, 7)));
+
+        service.searchResumes("java", null, 10);
+        service.searchResumes(null, null, 10);
+
+        assertThat(meterRegistry.get("rfp.search").tag("source", "index").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rfp.search").tag("source", "list").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rfp.search").tag("source", "mongo").timer().count()).isZero();
+        assertThat(meterRegistry.get("rfp.search.results").tag("source", "list").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void singleAndBatchSavesAreTimedSeparately() {
+        Resume resume = new Resume();
+        service.saveResume(resume);
+        service.saveResumes(List.of(resume, resume));
+
+        assertThat(meterRegistry.get("rfp.resume.save").tag("mode", "single").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rfp.resume.save").tag("mode", "batch").timer().count()).isEqualTo(1);
+        verify(repository).save(resume);
+    }
+
+    @Test
+    void skillCursorsCarryTheKindOfThePathThatIssuedThem() {
+        SkillSearchPage scanned = service.searchBySkills(JAVA, null, 1);
+        assertThat(scanned.nextCursor()).isEqualTo("k:a");
+
+        when(skillFacetIndex.isReady()).thenReturn(true);
+        when(skillFacetIndex.search(any(), any(), anyInt(), anyInt()))
+                .thenReturn(new SkillFacetIndex.Result(List.of("a"), "0", 2, List.of()));
+        SkillSearchPage indexed = service.searchBySkills(JAVA, "i:4", 1);
+
+        assertThat(indexed.nextCursor()).isEqualTo("i:0");
+        verify(skillFacetIndex).search(any(), eq("4"), eq(1), anyInt());
+    }
+
+    @Test
+    void skillCursorFromTheScanRestartsOnceTheIndexIsReady() {
+        when(skillFacetIndex.isReady()).thenReturn(true);
+        when(skillFacetIndex.search(any(), any(), anyInt(), anyInt()))
+                .thenReturn(new SkillFacetIndex.Result(List.of("a"), null, 1, List.of()));
+
+        service.searchBySkills(JAVA, "k:65f0c0ffee", 10);
+
+        verify(skillFacetIndex).search(any(), isNull(), eq(10), anyInt());
+    }
+
+    @Test
+    void indexCursorRestartsTheScanWhileTheIndexRebuilds() {
+        service.searchBySkills(JAVA, "i:42", 10);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(ResumeSummary.class), any());
+        assertThat(query.getValue().getQueryObject().toJson()).doesNotContain("$gt");
+    }
+
+    @Test
+    void textSearchCursorRestartsOnceTheIndexIsReady() {
+        ResumePage fallback = service.searchResumes("java", null, 1);
+        assertThat(fallback.nextCursor()).isEqualTo("o:1");
+
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search(any(), any(), anyInt())).thenReturn(List.of(
+                new ResumeSearchIndex.Hit("a", 3, 7), new ResumeSearchIndex.Hit("b", 2, 9)));
+        ResumePage indexed = service.searchResumes("java", fallback.nextCursor(), 1);
+
+        verify(searchIndex).search(eq("java"), isNull(), eq(2));
+        assertThat(indexed.nextCursor()).isEqualTo("i:3:7");
+    }
+
+    @Test
+    void indexCursorRestartsTheTextSearchWhileTheIndexRebuilds() {
+        service.searchResumes("java", "i:3:7", 10);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(ResumeSummary.class), any());
+        assertThat(query.getValue()).isInstanceOf(TextQuery.class);
+        assertThat(query.getValue().getSkip()).isZero();
+    }
+
+    @Test
+    void listingCursorsAreKeysetCursorsOnBothPaths() {
+        when(summaryStore.page(any(), anyInt())).thenReturn(new ResumePage(List.of(), "b"));
+
+        assertThat(service.searchResumes(null, null, 1).nextCursor()).isEqualTo("k:a");
+        when(summaryStore.isReady()).thenReturn(true);
+        assertThat(service.searchResumes(null, "k:a", 1).nextCursor()).isEqualTo("k:b");
+
+        verify(summaryStore).page("a", 1);
+    }
+
+    @Test
+    void untaggedCursorIsRejected() {
+        assertThatThrownBy(() -> service.searchBySkills(JAVA, "42", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,186 @@
+package com.kjr.rfp.service.ingest;
+
+import com.kjr.rfp.config.IngestProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.ResumeParserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkIngestServiceTest {
+    private final ResumeIngestService resumeIngestService = mock(ResumeIngestService.class);
+    private final ResumeParserService resumeParserService = mock(ResumeParserService.class);
+    private final IngestProperties properties = new IngestProperties();
+    private final BulkIngestService service = new BulkIngestService(resumeIngestService, resumeParserService,
+            Runnable::run, Runnable::run, properties);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(resumeIngestService.findDuplicate(any())).thenReturn(Optional.empty());
+        when(resumeIngestService.prepare(any())).thenAnswer(call -> {
+            IngestBuffer buffer = call.getArgument(0);
+            Resume resume = new Resume();
+            resume.setFileName(buffer.getFileName());
+            resume.setFileId("f-" + buffer.getFileName());
+            resume.setContentHash(buffer.sha256());
+            return resume;
+        });
+        properties.setMaxArchiveEntrySize(DataSize.ofBytes(64));
+    }
+
+    @Test
+    void archiveEntriesAreExpandedSkippingHiddenAndOversizedOnes() throws Exception {
+        byte[] archive = zip(
+                "resumes/", null,
+                "resumes/jane.txt", "Jane Doe",
+                "resumes/john.txt", "John Roe",
+                "__MACOSX/resumes/._jane.txt", "resource fork",
+                "resumes/.DS_Store", "finder",
+                "resumes/huge.txt", "x".repeat(65));
+
+        BulkIngestJob.Status status = service.submit(List.of(
+                new MockMultipartFile("files", "batch.zip", "application/zip", archive))).status();
+
+        ArgumentCaptor<IngestBuffer> prepared = ArgumentCaptor.forClass(IngestBuffer.class);
+        verify(resumeIngestService, times(2)).prepare(prepared.capture());
+        assertThat(prepared.getAllValues()).extracting(IngestBuffer::getFileName)
+                .containsExactly("jane.txt", "john.txt");
+        assertThat(status.state()).isEqualTo(BulkIngestJob.State.COMPLETED);
+        assertThat(status.submitted()).isEqualTo(3);
+        assertThat(status.succeeded()).isEqualTo(2);
+        assertThat(status.failed()).isEqualTo(1);
+        assertThat(status.errors()).extracting(BulkIngestJob.FileError::fileName).containsExactly("resumes/huge.txt");
+    }
+
+    @Test
+    void archiveEntriesAboveTheInMemoryThresholdAreSpooled() throws Exception {
+        properties.setInMemoryThreshold(DataSize.ofBytes(4));
+        List<String> contents = new ArrayList<>();
+        doAnswer(call -> {
+            IngestBuffer buffer = call.getArgument(0);
+            try (InputStream in = buffer.openStream()) {
+                contents.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            return new Resume();
+        }).when(resumeIngestService).prepare(any());
+        byte[] archive = zip("small.txt", "Ann", "large.txt", "Jane Doe", "huge.txt", "x".repeat(65));
+
+        BulkIngestJob.Status status = service.submit(List.of(
+                new MockMultipartFile("files", "batch.zip", "application/zip", archive))).status();
+
+        assertThat(contents).containsExactly("Ann", "Jane Doe");
+        assertThat(status.succeeded()).isEqualTo(2);
+        assertThat(status.errors()).extracting(BulkIngestJob.FileError::fileName).containsExactly("huge.txt");
+    }
+
+    @Test
+    void parsedResumesAreSavedInBatches() throws Exception {
+        properties.setBatchSize(2);
+
+        BulkIngestJob.Status status = service.submit(List.of(
+                file("a.txt", "Alice"), file("b.txt", "Bob"), file("c.txt", "Carol"))).status();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Resume>> batches = ArgumentCaptor.forClass(List.class);
+        verify(resumeParserService, times(2)).saveResumes(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(status.submitted()).isEqualTo(3);
+        assertThat(status.processed()).isEqualTo(3);
+        assertThat(status.succeeded()).isEqualTo(3);
+    }
+
+    @Test
+    void identicalDocumentsOfOneJobAreParsedOnce() throws Exception {
+        byte[] archive = zip("jane.txt", "Jane Doe", "copy/jane.txt", "Jane Doe");
+
+        BulkIngestJob.Status status = service.submit(List.of(
+                new MockMultipartFile("files", "batch.zip", "application/zip", archive),
+                file("jane-again.txt", "Jane Doe"))).status();
+
+        verify(resumeIngestService, times(1)).prepare(any());
+        assertThat(status.submitted()).isEqualTo(3);
+        assertThat(status.succeeded()).isEqualTo(1);
+        assertThat(status.duplicates()).isEqualTo(2);
+    }
+
+    @Test
+    void documentAlreadyStoredIsADuplicate() throws Exception {
+        when(resumeIngestService.findDuplicate(any())).thenReturn(Optional.of(new Resume()));
+
+        BulkIngestJob.Status status = service.submit(List.of(file("a.txt", "Alice"))).status();
+
+        verify(resumeIngestService, never()).prepare(any());
+        verify(resumeParserService, never()).saveResumes(any());
+        assertThat(status.duplicates()).isEqualTo(1);
+    }
+
+    @Test
+    void copyOfADocumentThatFailedToParseIsTriedAgain() throws Exception {
+        doThrow(new IOException("corrupt")).doReturn(new Resume()).when(resumeIngestService).prepare(any());
+
+        BulkIngestJob.Status status = service.submit(List.of(file("a.txt", "Alice"), file("b.txt", "Alice"))).status();
+
+        verify(resumeIngestService, times(2)).prepare(any());
+        assertThat(status.failed()).isEqualTo(1);
+        assertThat(status.succeeded()).isEqualTo(1);
+        assertThat(status.duplicates()).isZero();
+    }
+
+    @Test
+    void failedBatchDiscardsTheStoredFilesOfEveryResume() throws Exception {
+        when(resumeParserService.saveResumes(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        BulkIngestJob.Status status = service.submit(List.of(file("a.txt", "Alice"), file("b.txt", "Bob"))).status();
+
+        ArgumentCaptor<Resume> discarded = ArgumentCaptor.forClass(Resume.class);
+        verify(resumeIngestService, times(2)).discard(discarded.capture());
+        assertThat(discarded.getAllValues()).extracting(Resume::getFileId).containsExactly("f-a.txt", "f-b.txt");
+        assertThat(status.state()).isEqualTo(BulkIngestJob.State.COMPLETED);
+        assertThat(status.succeeded()).isZero();
+        assertThat(status.failed()).isEqualTo(2);
+        assertThat(status.errors()).extracting(BulkIngestJob.FileError::message).containsOnly("down");
+    }
+
+    private static MultipartFile file(String name, String content) {
+        return new MockMultipartFile("files", name, "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Pairs of entry name and content; a null content adds a directory entry
+    private static byte[] zip(String... entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(entries[i]));
+                if (entries[i + 1] != null) {
+                    zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                }
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
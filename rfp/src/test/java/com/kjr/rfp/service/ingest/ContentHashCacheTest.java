@@ -0,0 +1,92 @@
+package com.kjr.rfp.service.ingest;
+
+import com.kjr.rfp.config.IngestProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.ResumeParserService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContentHashCacheTest {
+    private final ResumeParserService resumeParserService = mock(ResumeParserService.class);
+    private final IngestProperties properties = new IngestProperties();
+
+    @Test
+    void unknownHashIsAMiss() {
+        ContentHashCache cache = new ContentHashCache(resumeParserService, properties);
+        when(resumeParserService.findByContentHash("h1")).thenReturn(Optional.empty());
+
+        assertThat(cache.lookup("h1")).isEmpty();
+
+        assertThat(cache.stats()).isEqualTo(new ContentHashCache.Stats(0, 0, 1, 0));
+    }
+
+    @Test
+    void storedHashIsRememberedAndThenServedThroughTheResumeCache() {
+        ContentHashCache cache = new ContentHashCache(resumeParserService, properties);
+        Resume resume = resume("r1");
+        when(resumeParserService.findByContentHash("h1")).thenReturn(Optional.of(resume));
+        when(resumeParserService.findById("r1")).thenReturn(Optional.of(resume));
+
+        assertThat(cache.lookup("h1")).contains(resume);
+        assertThat(cache.lookup("h1")).contains(resume);
+
+        verify(resumeParserService, times(1)).findByContentHash("h1");
+        verify(resumeParserService, times(1)).findById("r1");
+        assertThat(cache.stats()).isEqualTo(new ContentHashCache.Stats(1, 1, 0, 1));
+    }
+
+    @Test
+    void rememberedUploadIsAMemoryHit() {
+        ContentHashCache cache = new ContentHashCache(resumeParserService, properties);
+        when(resumeParserService.findById("r1")).thenReturn(Optional.of(resume("r1")));
+        cache.remember("h1", "r1");
+
+        assertThat(cache.lookup("h1")).map(Resume::getId).contains("r1");
+
+        verify(resumeParserService, never()).findByContentHash(any());
+        assertThat(cache.stats().memoryHits()).isEqualTo(1);
+    }
+
+    @Test
+    void deletedResumeIsForgottenAndLookedUpByHash() {
+        ContentHashCache cache = new ContentHashCache(resumeParserService, properties);
+        when(resumeParserService.findById("gone")).thenReturn(Optional.empty());
+        when(resumeParserService.findByContentHash("h1")).thenReturn(Optional.empty());
+        cache.remember("h1", "gone");
+
+        assertThat(cache.lookup("h1")).isEmpty();
+
+        assertThat(cache.stats()).isEqualTo(new ContentHashCache.Stats(0, 0, 1, 0));
+    }
+
+    @Test
+    void keepsOnlyTheMostRecentlyUsedHashes() {
+        properties.setDedupCacheSize(2);
+        ContentHashCache cache = new ContentHashCache(resumeParserService, properties);
+        when(resumeParserService.findById(any())).thenAnswer(call -> Optional.of(resume(call.getArgument(0))));
+        cache.remember("h1", "r1");
+        cache.remember("h2", "r2");
+        cache.lookup("h1");
+        cache.remember("h3", "r3");
+        when(resumeParserService.findByContentHash("h2")).thenReturn(Optional.empty());
+
+        assertThat(cache.lookup("h2")).isEmpty();
+        assertThat(cache.lookup("h1")).isPresent();
+        assertThat(cache.stats().cachedHashes()).isEqualTo(2);
+    }
+
+    private static Resume resume(String id) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        return resume;
+    }
+}
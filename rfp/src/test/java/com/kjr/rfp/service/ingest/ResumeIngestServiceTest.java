@@ -0,0 +1,194 @@
+package com.kjr.rfp.service.ingest;
+
+import com.kjr.rfp.config.IngestProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.FileStorageService;
+import com.kjr.rfp.service.parser.ParseTimeoutException;
+import com.kjr.rfp.service.parser.ResumeParser;
+import com.kjr.rfp.service.parser.ResumeParserService;
+import com.kjr.rfp.service.startup.StartupMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeIngestServiceTest {
+    private static final byte[] CONTENT = "%PDF-1.4".getBytes(StandardCharsets.US_ASCII);
+
+    private final ResumeParserService resumeParserService = mock(ResumeParserService.class);
+    private final ResumeParser parser = mock(ResumeParser.class);
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final ParseQuarantine quarantine = mock(ParseQuarantine.class);
+    private final ContentHashCache contentHashCache = mock(ContentHashCache.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResumeIngestService service = new ResumeIngestService(resumeParserService, parser,
+            fileStorageService, Runnable::run, Runnable::run, contentHashCache, quarantine,
+            new StartupMetrics(), new IngestProperties(), meterRegistry);
+
+    @Test
+    void uploadIsStoredParsedAndSavedWithItsFiles() throws Exception {
+        storesAs("f1", "t1");
+        parsesAs(new ResumeParser.Result(resume("Jane Doe"), "Jane Doe", null));
+        when(resumeParserService.saveResume(any())).thenAnswer(call -> {
+            Resume resume = call.getArgument(0);
+            resume.setId("r1");
+            return resume;
+        });
+
+        Resume saved = service.ingest(upload());
+
+        assertThat(saved.getFileId()).isEqualTo("f1");
+        assertThat(saved.getTextFileId()).isEqualTo("t1");
+        assertThat(saved.getContentHash()).isEqualTo(IngestBuffer.of("resume.pdf", "application/pdf", CONTENT).sha256());
+        verify(contentHashCache).remember(saved.getContentHash(), "r1");
+        assertThat(meterRegistry.get("rfp.ingest.upload").tag("outcome", "stored").timer().count()).isEqualTo(1);
+        assertThat(service.activeUploads()).isZero();
+    }
+
+    @Test
+    void uploadTimersAreRegisteredUpFrontAndRecordEachStage() throws Exception {
+        assertThat(meterRegistry.get("rfp.ingest.store").timer().count()).isZero();
+        assertThat(meterRegistry.get("rfp.ingest.upload").tag("outcome", "stored").timer().count()).isZero();
+        assertThat(meterRegistry.get("rfp.ingest.upload").tag("outcome", "duplicate").timer().count()).isZero();
+        storesAs("f1", "t1");
+        parsesAs(new ResumeParser.Result(resume("Jane Doe"), "Jane Doe", null));
+        when(resumeParserService.saveResume(any())).thenAnswer(call -> call.getArgument(0));
+
+        service.ingest(upload());
+
+        assertThat(meterRegistry.get("rfp.ingest.store").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rfp.ingest.upload").tag("outcome", "stored").timer().totalTime(
+                TimeUnit.NANOSECONDS)).isPositive();
+        assertThat(meterRegistry.get("rfp.ingest.upload").tag("outcome", "duplicate").timer().count()).isZero();
+    }
+
+    @Test
+    void duplicateUploadSkipsStorageAndParsing() throws Exception {
+        Resume existing = resume("Jane Doe");
+        existing.setId("r1");
+        when(contentHashCache.lookup(any())).thenReturn(Optional.of(existing));
+
+        assertThat(service.ingest(upload())).isSameAs(existing);
+
+        verify(fileStorageService, never()).storeFile(any(), any(), any(InputStream.class), anyLong(), any());
+        verify(parser, never()).parse(any(), anyLong(), any());
+        verify(resumeParserService, never()).saveResume(any());
+        assertThat(meterRegistry.get("rfp.ingest.upload").tag("outcome", "duplicate").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedSaveRemovesTheStoredOriginalAndText() throws Exception {
+        storesAs("f1", "t1");
+        parsesAs(new ResumeParser.Result(resume("Jane Doe"), "Jane Doe", null));
+        when(resumeParserService.saveResume(any())).thenThrow(new DuplicateKeyException("email"));
+
+        assertThatThrownBy(() -> service.ingest(upload())).isInstanceOf(DuplicateKeyException.class);
+
+        verify(fileStorageService).deleteFile("f1");
+        verify(fileStorageService).deleteFile("t1");
+        verify(contentHashCache, never()).remember(any(), any());
+        verify(quarantine, never()).release(any());
+    }
+
+    @Test
+    void failedSaveOfQuarantinedResumeReleasesItsEntry() throws Exception {
+        storesAs("f1", null);
+        ParseTimeoutException timeout = new ParseTimeoutException(Duration.ofMillis(100), null);
+        parsesAs(new ResumeParser.Result(resume("Jane Doe"), null, timeout));
+        when(resumeParserService.saveResume(any())).thenThrow(new IllegalStateException("Mongo is down"));
+
+        assertThatThrownBy(() -> service.ingest(upload())).isInstanceOf(IllegalStateException.class);
+
+        verify(fileStorageService).deleteFile("f1");
+        verify(quarantine).release(any());
+    }
+
+    @Test
+    void failedParseRemovesTheStoredOriginal() throws Exception {
+        storesAs("f1", "t1");
+        when(parser.parse(any(), anyLong(), any())).thenThrow(new IOException("Not a PDF"));
+
+        assertThatThrownBy(() -> service.ingest(upload())).isInstanceOf(IOException.class);
+
+        verify(fileStorageService).deleteFile("f1");
+        verify(fileStorageService, never()).storeText(any(), any(), anyInt());
+        verify(resumeParserService, never()).saveResume(any());
+    }
+
+    @Test
+    void slowDocumentKeepsItsContactFieldsAndIsQuarantined() throws Exception {
+        when(fileStorageService.storeFile(any(), any(), any(InputStream.class), anyLong(), any())).thenReturn("f1");
+        Resume contact = new Resume();
+        contact.setName("Jane Doe");
+        contact.setEmail("jane@example.com");
+        ParseTimeoutException timeout = new ParseTimeoutException(Duration.ofMillis(100), null);
+        when(parser.parse(eq("resume.pdf"), anyLong(), any())).thenReturn(new ResumeParser.Result(contact, null, timeout));
+
+        Resume resume = service.prepare(buffer());
+
+        assertThat(resume.getName()).isEqualTo("Jane Doe");
+        assertThat(resume.getFileId()).isEqualTo("f1");
+        assertThat(resume.getId()).isNotNull();
+        assertThat(resume.getTextFileId()).isNull();
+        verify(quarantine).add(eq(resume), anyLong(), eq(timeout));
+        verify(fileStorageService, never()).storeText(any(), any(), anyInt());
+    }
+
+    @Test
+    void documentWithinBudgetIsNotQuarantined() throws Exception {
+        when(fileStorageService.storeFile(any(), any(), any(InputStream.class), anyLong(), any())).thenReturn("f1");
+        when(fileStorageService.storeText(any(), any(), anyInt())).thenReturn("t1");
+        Resume parsed = new Resume();
+        parsed.setName("Jane Doe");
+        String text = "Jane Doe\nSenior Java Developer";
+        when(parser.parse(eq("resume.pdf"), anyLong(), any())).thenReturn(new ResumeParser.Result(parsed, text, null));
+
+        Resume resume = service.prepare(buffer());
+
+        assertThat(resume.getId()).isNull();
+        assertThat(resume.getTextFileId()).isEqualTo("t1");
+        verify(fileStorageService).storeText("resume.pdf.txt", text, ResumeParserService.TEXT_VERSION);
+        verify(quarantine, never()).add(any(), anyLong(), any());
+    }
+
+    private void storesAs(String fileId, String textFileId) throws Exception {
+        when(fileStorageService.storeFile(any(), any(), any(InputStream.class), anyLong(), any())).thenReturn(fileId);
+        when(fileStorageService.storeText(any(), any(), anyInt())).thenReturn(textFileId);
+    }
+
+    private void parsesAs(ResumeParser.Result result) throws Exception {
+        when(parser.parse(eq("resume.pdf"), anyLong(), any())).thenReturn(result);
+    }
+
+    private static Resume resume(String name) {
+        Resume resume = new Resume();
+        resume.setName(name);
+        return resume;
+    }
+
+    private static MockMultipartFile upload() {
+        return new MockMultipartFile("file", "resume.pdf", "application/pdf", CONTENT);
+    }
+
+    private static IngestBuffer buffer() {
+        return IngestBuffer.of("resume.pdf", "application/pdf", CONTENT);
+    }
+}
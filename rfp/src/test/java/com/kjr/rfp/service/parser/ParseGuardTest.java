@@ -0,0 +1,57 @@
+package com.kjr.rfp.service.parser;
+
+import com.kjr.rfp.config.ParserProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParseGuardTest {
+    private final ParserProperties properties = new ParserProperties();
+    private final ParseGuard guard = new ParseGuard(properties);
+
+    @AfterEach
+    void tearDown() {
+        guard.destroy();
+    }
+
+    @Test
+    void stopsCatastrophicBacktrackingAtTheBudget() {
+        // Polynomial of degree 12 in the number of a's when there is no x: hours on 60 characters
+        Pattern pathological = Pattern.compile("(.*a){12}x");
+        CharSequence text = new InterruptibleCharSequence("a".repeat(60));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> guard.call(Duration.ofMillis(100), () -> pathological.matcher(text).find()))
+                .isInstanceOf(ParseTimeoutException.class)
+                .hasCauseInstanceOf(ParseInterruptedException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @Test
+    void passesResultsAndOtherFailuresThrough() throws Exception {
+        assertThat(guard.call(Duration.ofSeconds(5), () -> "parsed")).isEqualTo("parsed");
+        assertThatThrownBy(() -> guard.call(Duration.ofSeconds(5), () -> {
+            throw new IOException("corrupt");
+        })).isInstanceOf(IOException.class).hasMessage("corrupt");
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @Test
+    void budgetGrowsWithDocumentSizeUpToTheMaximum() {
+        properties.setTimeout(Duration.ofSeconds(10));
+        properties.setTimeoutPerMegabyte(Duration.ofSeconds(2));
+        properties.setMaxTimeout(Duration.ofSeconds(30));
+
+        assertThat(guard.budget(100_000)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(guard.budget(3L << 20)).isEqualTo(Duration.ofSeconds(16));
+        assertThat(guard.budget(100L << 20)).isEqualTo(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,110 @@
+package com.kjr.rfp.service.parser;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.ResumeSections.Kind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeFieldExtractorTest {
+    private static final String RESUME = """
+            Jane Doe
+            jane.doe@example.com | +91 9876543210
+
+            Professional Summary
+            Backend engineer with eight years of experience.
+
+            Technical Skills:
+            Languages: Java, Python
+            Spring Boot; Docker
+
+            Work Experience
+            Acme Corp
+            Senior Engineer
+            2019 - 2024
+            Built payment services.
+            Led a team of five.
+
+            Globex
+            Engineer
+            2016 - 2019
+            Maintained billing.
+
+            Education
+            Bachelor of Technology in Computer Science 2016
+            State University
+            Computer Science
+            First class with distinction
+            """;
+
+    private final ResumeFieldExtractor extractor = new ResumeFieldExtractor();
+
+    @Test
+    void splitsSectionsInOnePass() {
+        ResumeSections sections = ResumeSections.of(RESUME);
+
+        assertThat(sections.header()).startsWith("Jane Doe").endsWith("9876543210");
+        assertThat(sections.section(Kind.SUMMARY)).isEqualTo("Backend engineer with eight years of experience.");
+        assertThat(sections.has(Kind.EXPERIENCE)).isTrue();
+        assertThat(sections.has(Kind.OTHER)).isFalse();
+    }
+
+    @Test
+    void chunkedFeedMatchesSinglePass() {
+        ResumeSectionScanner scanner = new ResumeSectionScanner();
+        for (int i = 0; i < RESUME.length(); i += 7) {
+            scanner.feed(RESUME.substring(i, Math.min(RESUME.length(), i + 7)));
+        }
+        ResumeSections chunked = scanner.finish();
+
+        for (Kind kind : Kind.values()) {
+            assertThat(chunked.section(kind)).isEqualTo(ResumeSections.of(RESUME).section(kind));
+        }
+    }
+
+    @Test
+    void extractsFieldsFromTheirSections() {
+        Resume resume = extractor.extract(ResumeSections.of(RESUME));
+
+        assertThat(resume.getName()).isEqualTo("Jane Doe");
+        assertThat(resume.getEmail()).isEqualTo("jane.doe@example.com");
+        assertThat(resume.getPhone()).isEqualTo("+91 9876543210");
+        assertThat(resume.getSkills()).containsExactly("Java", "Python", "Spring Boot", "Docker");
+        assertThat(resume.getExperiences()).hasSize(2);
+        assertThat(resume.getExperiences().get(0).getCompany()).isEqualTo("Acme Corp");
+        assertThat(resume.getExperiences().get(0).getDuration()).isEqualTo("2019 - 2024");
+        assertThat(resume.getExperiences().get(0).getDescription()).isEqualTo("Built payment services.\nLed a team of five.");
+        assertThat(resume.getEducations()).singleElement().satisfies(edu -> {
+            assertThat(edu.getDegree()).startsWith("Bachelor");
+            assertThat(edu.getYear()).isEqualTo("2016");
+            assertThat(edu.getFieldOfStudy()).isEqualTo("Computer Science");
+        });
+    }
+
+    @Test
+    void inlineHeadingAndKeywordFallback() {
+        Resume inline = extractor.extract(ResumeSections.of("John Smith\nSkills: Go, Rust, k8s\n"));
+        assertThat(inline.getSkills()).containsExactly("Go", "Rust", "Kubernetes");
+
+        Resume noSection = extractor.extract(ResumeSections.of("John Smith\nI write Java and Docker files.\n"));
+        assertThat(noSection.getSkills()).containsExactly("Java", "Docker");
+        assertThat(noSection.getExperiences()).isEmpty();
+    }
+
+    @Test
+    void everyFieldIsTimedAndContactParsesSkipTheRest() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ResumeFieldExtractor timed = new ResumeFieldExtractor(meterRegistry, SkillTaxonomy.standard());
+
+        timed.extract(ResumeSections.of(RESUME));
+        timed.extractContact(ResumeSections.of(RESUME));
+
+        for (String field : new String[]{"name", "email", "phone"}) {
+            assertThat(meterRegistry.get("rfp.parse.field").tag("field", field).timer().count()).isEqualTo(2);
+        }
+        for (String field : new String[]{"summary", "skills", "experiences", "educations"}) {
+            assertThat(meterRegistry.get("rfp.parse.field").tag("field", field).timer().count()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.kjr.rfp.service.parser;
+
+import com.kjr.rfp.config.ParserProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.extractor.TextExtractor;
+import com.kjr.rfp.service.parser.extractor.TextExtractors;
+import com.kjr.rfp.service.parser.extractor.TextSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeParserTest {
+    private final ParserProperties properties = new ParserProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ParseGuard parseGuard = new ParseGuard(properties);
+    private final ResumeParser parser = new ResumeParser(new ResumeFieldExtractor(),
+            TextExtractors.standard(properties, meterRegistry), parseGuard, properties, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        parseGuard.destroy();
+    }
+
+    @Test
+    void documentWithinBudgetKeepsItsText() throws Exception {
+        byte[] pdf = pdf(List.of("Jane Doe", "jane@example.com", "Skills", "Java, Kafka"));
+
+        ResumeParser.Result result = parser.parse("cv.pdf", pdf.length, () -> new ByteArrayInputStream(pdf));
+
+        assertThat(result.timedOut()).isFalse();
+        assertThat(result.resume().getEmail()).isEqualTo("jane@example.com");
+        assertThat(result.resume().getParserVersion()).isEqualTo(ResumeParserService.PARSER_VERSION);
+        assertThat(result.text()).contains("Java, Kafka");
+    }
+
+    @Test
+    void slowDocumentFallsBackToItsContactFields() throws Exception {
+        String contact = "Jane Doe\njane@example.com\n";
+        properties.setTimeout(Duration.ofMillis(100));
+        properties.setContactCharacters(contact.length());
+        // Writes the contact part at once but never finishes the full text
+        ResumeParser slow = parser(sink -> {
+            sink.append(contact);
+            if (!sink.isFull()) {
+                while (true) {
+                    ParseInterruptedException.throwIfInterrupted();
+                }
+            }
+        });
+
+        ResumeParser.Result result = slow.parse("cv.txt", 10, () -> new ByteArrayInputStream(new byte[10]));
+
+        assertThat(result.timedOut()).isTrue();
+        assertThat(result.timeout().getBudget()).isEqualTo(Duration.ofMillis(100));
+        assertThat(result.text()).isNull();
+        assertThat(result.resume().getEmail()).isEqualTo("jane@example.com");
+        assertThat(meterRegistry.get("rfp.parse.timeouts").tag("stage", "full").counter().count()).isEqualTo(1);
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @Test
+    void documentTooSlowEvenForContactFieldsIsUnknown() throws Exception {
+        properties.setTimeout(Duration.ofMillis(50));
+        properties.setContactTimeout(Duration.ofMillis(50));
+        ResumeParser stuck = parser(sink -> {
+            while (true) {
+                ParseInterruptedException.throwIfInterrupted();
+            }
+        });
+
+        ResumeParser.Result result = stuck.parse("cv.txt", 10, () -> new ByteArrayInputStream(new byte[10]));
+
+        assertThat(result.timedOut()).isTrue();
+        Resume resume = result.resume();
+        assertThat(resume.getName()).isEqualTo("Unknown");
+        assertThat(resume.getFileName()).isEqualTo("cv.txt");
+        assertThat(meterRegistry.get("rfp.parse.timeouts").tag("stage", "contact").counter().count()).isEqualTo(1);
+    }
+
+    private interface Body {
+        void write(TextSink sink) throws IOException;
+    }
+
+    // A parser whose only extractor is the fallback one, writing whatever the body writes
+    private ResumeParser parser(Body body) {
+        TextExtractor extractor = new TextExtractor() {
+            @Override
+            public String format() {
+                return "test";
+            }
+
+            @Override
+            public Set<String> mediaTypes() {
+                return Set.of();
+            }
+
+            @Override
+            public void extract(InputStream in, TextSink out) throws IOException {
+                body.write(out);
+            }
+        };
+        return new ResumeParser(new ResumeFieldExtractor(), new TextExtractors(List.of(extractor)), parseGuard,
+                properties, meterRegistry);
+    }
+
+    @Test
+    void sectionsSpanPageBoundaries() throws IOException {
+        byte[] pdf = pdf(List.of("Jane Doe", "Skills"), List.of("Java, Kafka", "Education"), List.of("BSc 2010"));
+
+        ResumeSections sections = parser.extractSections("cv.pdf", new ByteArrayInputStream(pdf));
+
+        assertThat(sections.section(ResumeSections.Kind.SKILLS)).isEqualTo("Java, Kafka");
+        assertThat(sections.section(ResumeSections.Kind.EDUCATION)).isEqualTo("BSc 2010");
+    }
+
+    @Test
+    void stopsAtPageCap() throws IOException {
+        properties.setMaxPages(2);
+        byte[] pdf = pdf(List.of("Page one"), List.of("Page two"), List.of("Page three"));
+
+        String text = parser.extractTextFromFile("cv.pdf", new ByteArrayInputStream(pdf));
+
+        assertThat(text).contains("Page one", "Page two").doesNotContain("Page three");
+        assertThat(meterRegistry.counter("rfp.parse.truncated", "limit", "pages").count()).isEqualTo(1);
+    }
+
+    @Test
+    void stopsAtCharacterCap() throws IOException {
+        properties.setMaxCharacters(12);
+        byte[] pdf = pdf(List.of("Jane Doe", "jane@example.com"), List.of("Page two"));
+
+        String text = parser.extractTextFromFile("cv.pdf", new ByteArrayInputStream(pdf));
+
+        assertThat(text).hasSize(12).startsWith("Jane Doe");
+        assertThat(meterRegistry.counter("rfp.parse.truncated", "limit", "characters").count()).isEqualTo(1);
+    }
+
+    @Test
+    void detectsFormatFromContentNotName() throws IOException {
+        byte[] pdf = pdf(List.of("Jane Doe", "Skills", "Java"));
+
+        String text = parser.extractTextFromFile("cv.docx", new ByteArrayInputStream(pdf));
+
+        assertThat(text).contains("Jane Doe");
+        assertThat(meterRegistry.timer("rfp.parse.extract", "format", "pdf").count()).isEqualTo(1);
+    }
+
+    @Test
+    void fallsBackToTikaForOtherFormats() throws IOException {
+        byte[] rtf = "{\\rtf1\\ansi Jane Doe\\par Skills\\par Java, Kafka\\par}".getBytes(StandardCharsets.US_ASCII);
+        byte[] txt = "Jane Doe\nSkills\nJava, Kafka\n".getBytes(StandardCharsets.UTF_8);
+
+        ResumeSections fromRtf = parser.extractSections("cv.rtf", new ByteArrayInputStream(rtf));
+        ResumeSections fromTxt = parser.extractSections("cv.txt", new ByteArrayInputStream(txt));
+
+        assertThat(fromRtf.section(ResumeSections.Kind.SKILLS)).isEqualTo("Java, Kafka");
+        assertThat(fromTxt.section(ResumeSections.Kind.SKILLS)).isEqualTo("Java, Kafka");
+        assertThat(meterRegistry.timer("rfp.parse.extract", "format", "tika").count()).isEqualTo(2);
+    }
+
+    @SafeVarargs
+    private static byte[] pdf(List<String>... pages) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (List<String> lines : pages) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+                    stream.beginText();
+                    stream.setFont(PDType1Font.HELVETICA, 11);
+                    stream.setLeading(14);
+                    stream.newLineAtOffset(50, 700);
+                    for (String line : lines) {
+                        stream.showText(line);
+                        stream.newLine();
+                    }
+                    stream.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
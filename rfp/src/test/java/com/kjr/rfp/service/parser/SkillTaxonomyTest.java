@@ -0,0 +1,55 @@
+package com.kjr.rfp.service.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SkillTaxonomyTest {
+    private final SkillTaxonomy taxonomy = SkillTaxonomy.standard();
+
+    @Test
+    void findsCanonicalSkillsInOrderOfFirstMention() {
+        String text = "Ran K8S clusters on amazon web services,\nwrote Spring  Boot services and more kubernetes operators.";
+
+        assertThat(taxonomy.find(text)).containsExactly("Kubernetes", "AWS", "Spring", "Spring Boot");
+    }
+
+    @Test
+    void onlyMatchesWholeWords() {
+        assertThat(taxonomy.find("JavaScript and ASP.NET on a scalable stack")).containsExactly("JavaScript", "ASP.NET");
+        assertThat(taxonomy.find("C++, C# and Node.js.")).containsExactly("C++", "C#", "Node.js");
+    }
+
+    @Test
+    void overlappingTermsAreAllReported() {
+        Map<String, List<String>> entries = new LinkedHashMap<>();
+        entries.put("she", List.of());
+        entries.put("he", List.of());
+        entries.put("hers", List.of("his"));
+        SkillTaxonomy small = new SkillTaxonomy(entries);
+
+        assertThat(small.find("ushers he his")).containsExactly("he", "hers");
+        assertThat(small.find("she hers")).containsExactly("she", "hers");
+    }
+
+    @Test
+    void canonicalNameIgnoresCaseAndSpacing() {
+        assertThat(taxonomy.canonicalName(" k8s ")).isEqualTo("Kubernetes");
+        assertThat(taxonomy.canonicalName("SPRING   boot")).isEqualTo("Spring Boot");
+        assertThat(taxonomy.canonicalName("Basket weaving")).isNull();
+    }
+
+    @Test
+    void rejectsATermClaimedByTwoSkills() {
+        Map<String, List<String>> entries = new LinkedHashMap<>();
+        entries.put("Kubernetes", List.of("kube"));
+        entries.put("Kubeflow", List.of("kube"));
+
+        assertThatThrownBy(() -> new SkillTaxonomy(entries)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,125 @@
+package com.kjr.rfp.service.parser.extractor;
+
+import com.kjr.rfp.config.ParserProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.tika.mime.MediaType;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextExtractorsTest {
+    private static final byte[] PDF = "%PDF-1.7\n%âã".getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte[] ZIP = {'P', 'K', 3, 4, 20, 0, 0, 0};
+    private static final byte[] RTF = "{\\rtf1\\ansi Jane Doe\\par}".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DOCX = zip("[Content_Types].xml", "<Types><Override PartName=\"/word/document.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml\"/></Types>",
+            "_rels/.rels", "<Relationships/>", "word/document.xml", "<w:document/>");
+    private static final byte[] XLSX = zip("[Content_Types].xml", "<Types><Override PartName=\"/xl/workbook.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/></Types>",
+            "xl/workbook.xml", "<workbook/>");
+
+    private final TextExtractors extractors =
+            TextExtractors.standard(new ParserProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void pdfIsRecognisedByItsMagicBytesWhateverItsName() throws IOException {
+        assertThat(formatOf(PDF, "resume.doc")).isEqualTo("pdf");
+        assertThat(formatOf(PDF, "resume.txt")).isEqualTo("pdf");
+        assertThat(formatOf(PDF, null)).isEqualTo("pdf");
+    }
+
+    @Test
+    void docxIsRecognisedFromItsContainerWhateverItsName() throws IOException {
+        assertThat(formatOf(DOCX, "resume.docx")).isEqualTo("docx");
+        assertThat(formatOf(DOCX, "resume")).isEqualTo("docx");
+        assertThat(formatOf(DOCX, "cv.bin")).isEqualTo("docx");
+        assertThat(formatOf(DOCX, null)).isEqualTo("docx");
+    }
+
+    @Test
+    void otherZipContainersAreNotDocxEvenWhenNamedSo() throws IOException {
+        assertThat(formatOf(ZIP, "resume.DOCX")).isEqualTo("tika");
+        assertThat(formatOf(XLSX, "resume.docx")).isEqualTo("tika");
+    }
+
+    @Test
+    void otherFormatsMisnamedAsPdfOrDocxGoToTheFallback() throws IOException {
+        assertThat(formatOf(RTF, "resume.pdf")).isEqualTo("tika");
+        assertThat(formatOf("Jane Doe\nJava".getBytes(StandardCharsets.UTF_8), "resume.docx")).isEqualTo("tika");
+        assertThat(extractors.detect(stream(RTF), "resume.pdf").getBaseType().toString()).isEqualTo("application/rtf");
+    }
+
+    @Test
+    void detectionLeavesTheStreamAtItsStart() throws IOException {
+        for (byte[] content : List.of(PDF, ZIP, DOCX, RTF)) {
+            InputStream in = stream(content);
+            extractors.detect(in, "resume.docx");
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void registeredExtractorTakesOverItsMediaTypes() throws IOException {
+        TextExtractors custom = new TextExtractors(List.of(new TikaTextExtractor(),
+                new StubExtractor("rtf", "application/rtf")));
+
+        assertThat(custom.forType(custom.detect(stream(RTF), "resume.pdf")).format()).isEqualTo("rtf");
+        assertThat(custom.forType(MediaType.parse("application/rtf; charset=US-ASCII")).format()).isEqualTo("rtf");
+        assertThat(custom.forType(MediaType.TEXT_PLAIN).format()).isEqualTo("tika");
+    }
+
+    @Test
+    void exactlyOneFallbackMustBeRegistered() {
+        assertThatThrownBy(() -> new TextExtractors(List.of(new StubExtractor("rtf", "application/rtf"))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new TextExtractors(List.of(new TikaTextExtractor(), new StubExtractor("other"))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private String formatOf(byte[] content, String fileName) throws IOException {
+        return extractors.forType(extractors.detect(stream(content), fileName)).format();
+    }
+
+    private static InputStream stream(byte[] content) {
+        return new BufferedInputStream(new ByteArrayInputStream(content));
+    }
+
+    // Pairs of entry name and content
+    private static byte[] zip(String... entries) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(entries[i]));
+                zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private record StubExtractor(String format, Set<String> mediaTypes) implements TextExtractor {
+
+        StubExtractor(String format, String... mediaTypes) {
+            this(format, Set.of(mediaTypes));
+        }
+
+        @Override
+        public void extract(InputStream in, TextSink out) {
+        }
+    }
+}
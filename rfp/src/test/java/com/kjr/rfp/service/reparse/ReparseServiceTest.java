@@ -0,0 +1,221 @@
+package com.kjr.rfp.service.reparse;
+
+import com.kjr.rfp.config.ParserProperties;
+import com.kjr.rfp.config.ReparseProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.FileStorageService;
+import com.kjr.rfp.service.ResumeCacheEvictor;
+import com.kjr.rfp.service.ingest.ResumeIngestService;
+import com.kjr.rfp.service.parser.ParseGuard;
+import com.kjr.rfp.service.parser.ResumeParserService;
+import com.kjr.rfp.service.parser.ResumeSections;
+import com.kjr.rfp.service.search.ResumeIndexer;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReparseServiceTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final ResumeParserService parser = mock(ResumeParserService.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final ResumeIndexer indexer = mock(ResumeIndexer.class);
+    private final ResumeCacheEvictor cacheEvictor = mock(ResumeCacheEvictor.class);
+    private final ReparseProperties properties = new ReparseProperties();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Resume.class)).thenReturn(bulk);
+        when(mongoTemplate.save(any(ReparseCheckpoint.class))).thenAnswer(call -> call.getArgument(0));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ReparseLease.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        // The text of "a" is current, the text of "c" was extracted by an older version
+        when(fileStorageService.readText("t1", ResumeParserService.TEXT_VERSION)).thenReturn(Optional.of("Jane Doe"));
+        when(fileStorageService.readText("t3", ResumeParserService.TEXT_VERSION)).thenReturn(Optional.empty());
+        Resource third = file();
+        when(fileStorageService.getFileResource("f3")).thenReturn(third);
+        when(parser.extractSections(any(), any(InputStream.class))).thenReturn(ResumeSections.of("Jane Doe"));
+        when(fileStorageService.storeText(any(), any(), anyInt())).thenReturn("t3-new");
+        when(parser.parseSections(any(), any(ResumeSections.class))).thenAnswer(call -> {
+            Resume parsed = new Resume();
+            parsed.setName("Jane Doe");
+            parsed.setParserVersion(ResumeParserService.PARSER_VERSION);
+            return parsed;
+        });
+        properties.setBatchSize(2);
+        properties.setMaxDocumentsPerSecond(1000);
+    }
+
+    @Test
+    void reparsesStaleResumesInBulkAndCheckpointsAfterEachBatch() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(Resume.class)))
+                .thenReturn(Stream.of(stale("a", "f1", "t1"), stale("b", "missing", null), stale("c", "f3", "t3")));
+        when(bulk.execute()).thenReturn(matched(1));
+
+        ReparseService service = service();
+        service.run();
+
+        ArgumentCaptor<Query> filters = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Resume> written = ArgumentCaptor.forClass(Resume.class);
+        verify(bulk, times(2)).replaceOne(filters.capture(), written.capture());
+        verify(bulk, times(2)).execute();
+        assertThat(written.getAllValues()).extracting(Resume::getId, Resume::getFileId, Resume::getTextFileId, Resume::getName)
+                .containsExactly(tuple("a", "f1", "t1", "Jane Doe"),
+                        tuple("c", "f3", "t3-new", "Jane Doe"));
+        // Only replaced while the version that was read is still stored
+        assertThat(filters.getValue().getQueryObject().toJson())
+                .contains("\"_id\": \"c\"").contains("\"parserVersion\": " + (ResumeParserService.PARSER_VERSION - 1));
+        verify(fileStorageService, never()).getFileResource("f1");
+        verify(fileStorageService).deleteFile("t3");
+
+        ArgumentCaptor<ReparseFailure> failure = ArgumentCaptor.forClass(ReparseFailure.class);
+        verify(mongoTemplate).save(failure.capture());
+        assertThat(failure.getValue().getId()).isEqualTo("b");
+        assertThat(failure.getValue().getParserVersion()).isEqualTo(ResumeParserService.PARSER_VERSION);
+        assertThat(failure.getValue().getReason()).contains("missing");
+
+        ReparseService.Status status = service.status();
+        assertThat(status.reparsed()).isEqualTo(2);
+        assertThat(status.failed()).isEqualTo(1);
+        assertThat(status.lastId()).isEqualTo("c");
+        // One checkpoint per batch and one when the run completes
+        verify(mongoTemplate, times(3)).save(any(ReparseCheckpoint.class));
+    }
+
+    @Test
+    void resumeDeletedDuringTheRunIsNotWrittenBackAndLosesItsNewText() throws Exception {
+        properties.setBatchSize(10);
+        when(mongoTemplate.stream(any(Query.class), eq(Resume.class)))
+                .thenReturn(Stream.of(stale("a", "f1", "t1"), stale("c", "f3", "t3")));
+        // "c" was deleted after it was read: only "a" matches
+        when(bulk.execute()).thenReturn(matched(1));
+        Resume stillThere = stale("a", "f1", "t1");
+        when(mongoTemplate.find(any(Query.class), eq(Resume.class))).thenReturn(List.of(stillThere));
+
+        ReparseService service = service();
+        service.run();
+
+        verify(indexer).index(stillThere);
+        verify(indexer).remove("c");
+        verify(indexer, never()).remove("a");
+        verify(cacheEvictor, times(2)).evict(any(Resume.class));
+        verify(fileStorageService).deleteFile("t3-new");
+        verify(fileStorageService, never()).deleteFile("t3");
+        assertThat(service.status().reparsed()).isEqualTo(1);
+        assertThat(service.status().failed()).isZero();
+    }
+
+    @Test
+    void recordedFailuresAreSkippedByLaterRuns() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(Resume.class)))
+                .thenReturn(Stream.of(stale("a", "f1", "t1"), stale("b", "missing", null)));
+        ReparseFailure failure = new ReparseFailure();
+        failure.setId("b");
+        failure.setParserVersion(ResumeParserService.PARSER_VERSION);
+        when(mongoTemplate.find(any(Query.class), eq(ReparseFailure.class))).thenReturn(List.of(failure));
+        when(bulk.execute()).thenReturn(matched(1));
+
+        ReparseService service = service();
+        service.run();
+
+        verify(fileStorageService, never()).getFileResource("missing");
+        verify(mongoTemplate, never()).save(any(ReparseFailure.class));
+        assertThat(service.status().reparsed()).isEqualTo(1);
+        assertThat(service.status().failed()).isZero();
+        // Entries of older parser versions are dropped
+        verify(mongoTemplate).remove(any(Query.class), eq(ReparseFailure.class));
+    }
+
+    @Test
+    void leaseHeldByAnotherInstanceKeepsTheRunFromStarting() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(ReparseLease.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        ReparseService service = service();
+
+        assertThat(service.start()).isFalse();
+        assertThat(service.status().state()).isEqualTo(ReparseService.State.IDLE);
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(Resume.class));
+    }
+
+    @Test
+    void leaseIsTakenWhenFreeOrExpired() {
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+
+        assertThat(service().acquireLease()).isTrue();
+
+        verify(mongoTemplate).upsert(filter.capture(), any(Update.class), eq(ReparseLease.class));
+        assertThat(filter.getValue().getQueryObject()).containsEntry("_id", ReparseService.CHECKPOINT_ID);
+        assertThat(filter.getValue().getQueryObject().get("$or").toString()).contains("owner").contains("expiresAt");
+    }
+
+    @Test
+    void runStopsWithoutACheckpointOnceTheLeaseIsTakenOver() {
+        when(mongoTemplate.stream(any(Query.class), eq(Resume.class))).thenReturn(Stream.of(stale("a", "f1", "t1")));
+        when(bulk.execute()).thenReturn(matched(1));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ReparseLease.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertThatThrownBy(() -> service().run()).isInstanceOf(IllegalStateException.class);
+        verify(mongoTemplate, never()).save(any(ReparseCheckpoint.class));
+    }
+
+    @Test
+    void staleQueryContinuesAfterTheCheckpoint() {
+        Query query = ReparseService.staleQuery("abc");
+
+        assertThat(query.getQueryObject().toJson()).contains("parserVersion").contains("\"$gt\": \"abc\"");
+        assertThat(query.getSortObject().toJson()).isEqualTo("{\"_id\": 1}");
+        assertThat(query.getFieldsObject()).containsKey("parserVersion");
+    }
+
+    private ReparseService service() {
+        return new ReparseService(mongoTemplate, fileStorageService, parser, mock(ResumeIngestService.class),
+                new ParseGuard(new ParserProperties()), List.of(indexer), cacheEvictor, properties);
+    }
+
+    private static BulkWriteResult matched(int count) {
+        return BulkWriteResult.acknowledged(0, count, 0, count, List.of(), List.of());
+    }
+
+    private static Resume stale(String id, String fileId, String textFileId) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setFileId(fileId);
+        resume.setTextFileId(textFileId);
+        resume.setParserVersion(ResumeParserService.PARSER_VERSION - 1);
+        return resume;
+    }
+
+    private static Resource file() throws Exception {
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream()).thenAnswer(call -> new ByteArrayInputStream(new byte[0]));
+        return resource;
+    }
+}
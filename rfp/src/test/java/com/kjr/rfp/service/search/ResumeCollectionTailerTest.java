@@ -0,0 +1,89 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.config.SearchProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.ResumeCacheEvictor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeCollectionTailerTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ResumeCacheEvictor cacheEvictor = mock(ResumeCacheEvictor.class);
+    private final ResumeOrdinals ordinals = new ResumeOrdinals();
+    private final ResumeSearchIndex searchIndex = new ResumeSearchIndex(ordinals);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResumeCollectionTailer tailer = new ResumeCollectionTailer(mongoTemplate, List.of(searchIndex),
+            ordinals, cacheEvictor, new SearchProperties(), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        tailer.destroy();
+    }
+
+    @Test
+    void indexesResumesInsertedElsewhereAndEvictsTheirCacheEntries() {
+        Resume local = resume("65f000000000000000000001", "Alice Smith", "alice@example.com");
+        searchIndex.index(local);
+        Resume inserted = resume("65f000000000000000000002", "Bob Jones", "bob@example.com");
+        when(mongoTemplate.stream(any(Query.class), eq(Resume.class))).thenReturn(Stream.of(local, inserted));
+
+        assertThat(tailer.poll()).isEqualTo(1);
+
+        assertThat(searchIndex.search("bob", 10)).containsExactly(inserted.getId());
+        verify(cacheEvictor).evict(inserted);
+        verify(cacheEvictor, never()).evict(local);
+        assertThat(meterRegistry.get("rfp.search.tailed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void readsOnlyRecentIdsAndTheIndexedFields() {
+        when(mongoTemplate.stream(any(Query.class), eq(Resume.class))).thenReturn(Stream.empty());
+
+        tailer.poll();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(Resume.class));
+        assertThat(query.getValue().getQueryObject().get("_id", Document.class)).containsKey("$gte");
+        assertThat(query.getValue().getFieldsObject()).containsKeys("email", "name", "skills");
+    }
+
+    @Test
+    void failedPollIsRetriedFromTheSamePoint() {
+        when(mongoTemplate.stream(any(Query.class), eq(Resume.class)))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(Stream.empty());
+
+        assertThat(tailer.poll()).isZero();
+        tailer.poll();
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).stream(queries.capture(), eq(Resume.class));
+        assertThat(queries.getAllValues().get(1).getQueryObject())
+                .isEqualTo(queries.getAllValues().get(0).getQueryObject());
+    }
+
+    private static Resume resume(String id, String name, String email) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setName(name);
+        resume.setEmail(email);
+        return resume;
+    }
+}
@@ -0,0 +1,83 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.model.Resume;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumeIndexSynchronizerTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ResumeSearchIndex searchIndex = new ResumeSearchIndex(new ResumeOrdinals());
+    private final ResumeIndexSynchronizer synchronizer = new ResumeIndexSynchronizer(mongoTemplate, List.of(searchIndex));
+
+    @Test
+    void savesAndDeletesDuringTheRebuildWinOverTheCursorSnapshot() {
+        // The cursor read "1" and "2" before "1" was saved again and "2" was deleted
+        Resume staleFirst = resume("1", "Cobol");
+        Resume second = resume("2", "Java");
+        Resume third = resume("3", "Java");
+        Iterator<Resume> cursor = List.of(staleFirst, second, third).iterator();
+        Iterator<Resume> interleaved = new Iterator<>() {
+            private boolean changed;
+
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public Resume next() {
+                if (!changed) {
+                    changed = true;
+                    synchronizer.onAfterSave(new AfterSaveEvent<>(resume("1", "Java"), new Document(), "resumes"));
+                    synchronizer.onAfterDelete(new AfterDeleteEvent<>(new Document("_id", "2"), Resume.class, "resumes"));
+                }
+                return cursor.next();
+            }
+        };
+        when(mongoTemplate.stream(any(Query.class), eq(Resume.class)))
+                .thenReturn(StreamSupport.stream(Spliterators.spliteratorUnknownSize(interleaved, 0), false));
+
+        synchronizer.rebuild();
+
+        assertThat(searchIndex.isReady()).isTrue();
+        assertThat(searchIndex.search("java", null, 10)).extracting(ResumeSearchIndex.Hit::id)
+                .containsExactlyInAnyOrder("1", "3");
+        assertThat(searchIndex.search("cobol", null, 10)).isEmpty();
+    }
+
+    @Test
+    void eventsAfterTheRebuildAreNotTracked() {
+        when(mongoTemplate.stream(any(Query.class), eq(Resume.class))).thenReturn(Stream.of(resume("1", "Java")));
+        synchronizer.rebuild();
+
+        synchronizer.onAfterDelete(new AfterDeleteEvent<>(new Document("_id", "1"), Resume.class, "resumes"));
+        when(mongoTemplate.stream(any(Query.class), eq(Resume.class))).thenReturn(Stream.of(resume("1", "Java")));
+        synchronizer.rebuild();
+
+        assertThat(searchIndex.search("java", null, 10)).extracting(ResumeSearchIndex.Hit::id).containsExactly("1");
+    }
+
+    private static Resume resume(String id, String skill) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setName("Candidate " + id);
+        resume.setSkills(List.of(skill));
+        return resume;
+    }
+}
@@ -0,0 +1,75 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.model.Resume;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeSearchIndexTest {
+    private ResumeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ResumeSearchIndex(new ResumeOrdinals());
+        index.index(resume("1", "Alice Smith", "alice@example.com", List.of("Java", "Spring"), "Backend engineer"));
+        index.index(resume("2", "Bob Jones", "bob@example.com", List.of("JavaScript", "React"), "Frontend developer who knows Java"));
+        index.index(resume("3", "Carol Java", "carol@example.com", List.of("C++", "Python"), "Systems programmer"));
+    }
+
+    @Test
+    void ranksFieldWeightedMatchesFirst() {
+        assertThat(index.search("java", 10)).containsExactly("3", "1", "2");
+    }
+
+    @Test
+    void intersectsAllQueryTokens() {
+        assertThat(index.search("java spring", 10)).containsExactly("1");
+        assertThat(index.search("java kotlin", 10)).isEmpty();
+    }
+
+    @Test
+    void matchesPrefixesAndSymbolTerms() {
+        assertThat(index.search("reac", 10)).containsExactly("2");
+        assertThat(index.search("C++", 10)).containsExactly("3");
+        assertThat(index.search("bob@example.com", 10)).containsExactly("2");
+    }
+
+    @Test
+    void reindexReplacesOldTerms() {
+        index.index(resume("1", "Alice Smith", "alice@example.com", List.of("Go"), "Backend engineer"));
+
+        assertThat(index.search("spring", 10)).isEmpty();
+        assertThat(index.search("go", 10)).containsExactly("1");
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void removeDropsDocument() {
+        index.remove("3");
+
+        assertThat(index.search("java", 10)).containsExactly("1", "2");
+        assertThat(index.search("python", 10)).isEmpty();
+    }
+
+    @Test
+    void cursorContinuesAfterLastHit() {
+        List<ResumeSearchIndex.Hit> first = index.search("java", null, 2);
+        assertThat(first).extracting(ResumeSearchIndex.Hit::id).containsExactly("3", "1");
+
+        ResumeSearchIndex.Hit after = ResumeSearchIndex.Hit.parseCursor(first.get(1).cursor());
+        assertThat(index.search("java", after, 2)).extracting(ResumeSearchIndex.Hit::id).containsExactly("2");
+    }
+
+    private static Resume resume(String id, String name, String email, List<String> skills, String summary) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setName(name);
+        resume.setEmail(email);
+        resume.setSkills(skills);
+        resume.setSummary(summary);
+        return resume;
+    }
+}
@@ -0,0 +1,79 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.model.ResumePage;
+import com.kjr.rfp.model.ResumeSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeSummaryStoreTest {
+    private ResumeSummaryStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ResumeSummaryStore(new ResumeOrdinals());
+        store.index(resume("b", "Bob Smith", "bob@example.com", "Java", "Docker"));
+        store.index(resume("a", "Ana Lópes", null, "Java"));
+        store.index(resume("c", "Chen Li", "chen@example.com"));
+    }
+
+    @Test
+    void returnsSummariesInTheRequestedOrder() {
+        List<ResumeSummary> summaries = store.get(List.of("c", "missing", "b", "a"));
+
+        assertThat(summaries).containsExactly(
+                new ResumeSummary("c", "Chen Li", "chen@example.com", List.of()),
+                new ResumeSummary("b", "Bob Smith", "bob@example.com", List.of("Java", "Docker")),
+                new ResumeSummary("a", "Ana Lópes", null, List.of("Java")));
+        // Skills decode to the one dictionary entry
+        assertThat(summaries.get(1).getSkills().get(0)).isSameAs(summaries.get(2).getSkills().get(0));
+    }
+
+    @Test
+    void pagesInIdOrder() {
+        ResumePage first = store.page(null, 2);
+        ResumePage second = store.page(first.nextCursor(), 2);
+
+        assertThat(first.items()).extracting(ResumeSummary::getId).containsExactly("a", "b");
+        assertThat(second.items()).extracting(ResumeSummary::getId).containsExactly("c");
+        assertThat(second.nextCursor()).isNull();
+        assertThat(store.stream()).extracting(ResumeSummary::getId).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void reindexReplacesAndRemoveDrops() {
+        store.index(resume("b", "Robert Smith", "bob@example.com", "Kotlin"));
+        store.remove("c");
+
+        assertThat(store.get(List.of("a", "b", "c"))).extracting(ResumeSummary::getName)
+                .containsExactly("Ana Lópes", "Robert Smith");
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void compactsSpaceFromReplacedRecords() {
+        String name = "x".repeat(1000);
+        for (int i = 0; i < 5000; i++) {
+            store.index(resume("b", name + i, "bob@example.com", "Java"));
+        }
+
+        assertThat(store.get(List.of("b"))).singleElement()
+                .satisfies(s -> assertThat(s.getName()).isEqualTo(name + 4999));
+        assertThat(store.page(null, 10).items()).hasSize(3);
+        assertThat(store.offHeapBytes()).isLessThanOrEqualTo(3L * ResumeSummaryStore.SLAB_SIZE);
+    }
+
+    private static Resume resume(String id, String name, String email, String... skills) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setName(name);
+        resume.setEmail(email);
+        resume.setSkills(List.of(skills));
+        resume.setSummary("Not part of the summary view");
+        return resume;
+    }
+}
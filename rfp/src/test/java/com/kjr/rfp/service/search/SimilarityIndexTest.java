@@ -0,0 +1,87 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.model.Experience;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.SkillTaxonomy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimilarityIndexTest {
+    private SimilarityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SimilarityIndex(new ResumeOrdinals(), SkillTaxonomy.standard());
+        index.index(resume("1", "Backend developer building Spring Boot microservices on Kubernetes",
+                "Java", "Spring", "Kubernetes", "Docker"));
+        index.index(resume("2", "Backend developer building Spring Boot microservices on AWS",
+                "Java", "Spring", "k8s", "Docker", "AWS"));
+        index.index(resume("3", "Frontend engineer crafting React interfaces and design systems",
+                "JavaScript", "React", "CSS"));
+        index.index(resume("4", "Data scientist training machine learning models with pandas",
+                "Python", "Pandas", "TensorFlow"));
+    }
+
+    @Test
+    void ranksOverlappingResumesFirst() {
+        List<SimilarityIndex.Match> similar = index.similar("1", 10);
+
+        assertThat(similar).isNotEmpty();
+        assertThat(similar.get(0).id()).isEqualTo("2");
+        assertThat(similar.get(0).similarity()).isGreaterThan(0.5);
+        assertThat(similar).extracting(SimilarityIndex.Match::id).doesNotContain("1", "4");
+    }
+
+    @Test
+    void estimatesJaccardSimilarityOfTheFeatures() {
+        Resume a = resume("a", "kafka streaming pipelines", "Java");
+        Resume b = resume("b", "kafka streaming dashboards", "Java");
+        int[] first = SimilarityIndex.signature(index.features(a));
+        int[] second = SimilarityIndex.signature(index.features(b));
+
+        // Three skill copies and three words each, five of them shared: Jaccard 5 / 7
+        int agreeing = 0;
+        for (int i = 0; i < SimilarityIndex.SIGNATURE_LENGTH; i++) {
+            agreeing += first[i] == second[i] ? 1 : 0;
+        }
+        assertThat((double) agreeing / SimilarityIndex.SIGNATURE_LENGTH).isBetween(0.5, 0.9);
+    }
+
+    @Test
+    void reindexAndRemoveUpdateTheBuckets() {
+        index.index(resume("2", "Data scientist training machine learning models with pandas",
+                "Python", "Pandas", "TensorFlow"));
+
+        assertThat(index.similar("4", 10)).extracting(SimilarityIndex.Match::id).containsExactly("2");
+        assertThat(index.similar("1", 10)).extracting(SimilarityIndex.Match::id).doesNotContain("2");
+
+        index.remove("2");
+
+        assertThat(index.similar("4", 10)).isEmpty();
+        assertThat(index.similar("2", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void unknownOrEmptyResumesHaveNoMatches() {
+        index.index(resume("5", null));
+
+        assertThat(index.similar("5", 10)).isEmpty();
+        assertThat(index.similar("missing", 10)).isEmpty();
+    }
+
+    private static Resume resume(String id, String summary, String... skills) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setSummary(summary);
+        resume.setSkills(List.of(skills));
+        Experience experience = new Experience();
+        experience.setPosition(summary != null ? summary.split(" ")[0] : null);
+        resume.setExperiences(List.of(experience));
+        return resume;
+    }
+}
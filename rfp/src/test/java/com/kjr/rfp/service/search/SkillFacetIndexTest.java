@@ -0,0 +1,76 @@
+package com.kjr.rfp.service.search;
+
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.model.SkillFacet;
+import com.kjr.rfp.service.parser.SkillTaxonomy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillFacetIndexTest {
+    private SkillFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SkillFacetIndex(new ResumeOrdinals(), SkillTaxonomy.standard());
+        index.index(resume("1", "Java", "Kubernetes", "Docker"));
+        index.index(resume("2", "Java", "k8s", "PHP"));
+        index.index(resume("3", "Java", "Docker", "AWS"));
+        index.index(resume("4", "Python", "Kubernetes", "AWS"));
+    }
+
+    @Test
+    void combinesAllAnyAndNone() {
+        assertThat(index.search(query(List.of("java", "kubernetes"), List.of(), List.of("PHP")), null, 10, 0).ids())
+                .containsExactly("1");
+        assertThat(index.search(query(List.of("Java"), List.of("AWS", "K8S"), List.of()), null, 10, 0).ids())
+                .containsExactly("1", "2", "3");
+        assertThat(index.search(query(List.of(), List.of(), List.of("Java")), null, 10, 0).ids())
+                .containsExactly("4");
+        assertThat(index.search(query(List.of("Java", "Cobol"), List.of(), List.of()), null, 10, 0).total())
+                .isZero();
+    }
+
+    @Test
+    void countsCoOccurringSkillsExceptRequiredOnes() {
+        SkillFacetIndex.Result result = index.search(query(List.of("Java"), List.of(), List.of()), null, 10, 2);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.facets()).containsExactly(new SkillFacet("Docker", 2), new SkillFacet("Kubernetes", 2));
+    }
+
+    @Test
+    void pagesInOrdinalOrder() {
+        SkillQuery java = query(List.of("Java"), List.of(), List.of());
+        SkillFacetIndex.Result first = index.search(java, null, 2, 0);
+        SkillFacetIndex.Result second = index.search(java, first.nextCursor(), 2, 0);
+
+        assertThat(first.ids()).containsExactly("1", "2");
+        assertThat(second.ids()).containsExactly("3");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void reindexAndRemoveUpdateTheBitmaps() {
+        index.index(resume("1", "Golang"));
+        index.remove("3");
+
+        assertThat(index.search(query(List.of("Java"), List.of(), List.of()), null, 10, 0).ids()).containsExactly("2");
+        assertThat(index.search(query(List.of(), List.of("golang", "Docker"), List.of()), null, 10, 0).ids())
+                .containsExactly("1");
+    }
+
+    private static SkillQuery query(List<String> all, List<String> any, List<String> none) {
+        return new SkillQuery(all, any, none);
+    }
+
+    private static Resume resume(String id, String... skills) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setSkills(List.of(skills));
+        return resume;
+    }
+}
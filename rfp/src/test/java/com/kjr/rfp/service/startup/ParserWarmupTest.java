@@ -0,0 +1,55 @@
+package com.kjr.rfp.service.startup;
+
+import com.kjr.rfp.config.ParserProperties;
+import com.kjr.rfp.config.StartupProperties;
+import com.kjr.rfp.model.Resume;
+import com.kjr.rfp.service.parser.ParseGuard;
+import com.kjr.rfp.service.parser.ResumeFieldExtractor;
+import com.kjr.rfp.service.parser.ResumeParser;
+import com.kjr.rfp.service.parser.extractor.TextExtractors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ParserWarmupTest {
+
+    @Test
+    void samplesGoThroughTheRealExtractors() throws Exception {
+        ParserProperties properties = new ParserProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ResumeParser parser = new ResumeParser(new ResumeFieldExtractor(),
+                TextExtractors.standard(properties, meterRegistry), new ParseGuard(properties), properties,
+                meterRegistry);
+
+        for (String sample : ParserWarmup.SAMPLES) {
+            ClassPathResource resource = new ClassPathResource(sample);
+            try (InputStream in = resource.getInputStream()) {
+                Resume resume = parser.parseResume(resource.getFilename(), in);
+
+                assertThat(resume.getEmail()).as(sample).isEqualTo("jane.doe@example.com");
+                assertThat(resume.getSkills()).as(sample).contains("Java", "MongoDB");
+            }
+        }
+        assertThat(meterRegistry.get("rfp.parse.extract").tag("format", "pdf").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rfp.parse.extract").tag("format", "docx").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledWarmUpParsesNothing() throws Exception {
+        ResumeParser parser = mock(ResumeParser.class);
+        StartupProperties properties = new StartupProperties();
+        properties.setWarmUp(false);
+
+        new ParserWarmup(parser, properties).afterSingletonsInstantiated();
+
+        verify(parser, never()).parseResume(any(), any(InputStream.class));
+    }
+}